@@ -18,6 +18,7 @@ import org.jboss.forge.maven.MavenCoreFacet;
 import org.jboss.forge.parser.java.util.Assert;
 import org.jboss.forge.project.Project;
 import org.jboss.forge.project.dependencies.Dependency;
+import org.jboss.forge.project.dependencies.DependencyResolver;
 import org.jboss.forge.project.services.ProjectFactory;
 import org.jboss.forge.project.services.ResourceFactory;
 import org.jboss.forge.resources.DirectoryResource;
@@ -51,16 +52,18 @@ public class MavenPlugin implements Plugin
    private final ProjectFactory factory;
    private final ResourceFactory resources;
    private final BeanManager manager;
+   private final DependencyResolver resolver;
 
    @Inject
    public MavenPlugin(final Shell shell, final Project project, final ProjectFactory factory,
-            final ResourceFactory resources, BeanManager manager)
+            final ResourceFactory resources, BeanManager manager, final DependencyResolver resolver)
    {
       this.shell = shell;
       this.project = project;
       this.factory = factory;
       this.resources = resources;
       this.manager = manager;
+      this.resolver = resolver;
    }
 
    @Command("set-groupid")
@@ -254,7 +257,7 @@ public class MavenPlugin implements Plugin
    @Command("update")
    public void updateDependencies()
    {
-      if(!new VersionUpdater(project, shell, this.factory, manager).update()) {
+      if(!new VersionUpdater(project, shell, this.factory, manager, resolver).update()) {
          shell.println("No nothing to update");
       }
    }
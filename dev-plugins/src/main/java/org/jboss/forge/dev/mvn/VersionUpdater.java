@@ -10,7 +10,9 @@ package org.jboss.forge.dev.mvn;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import javax.enterprise.inject.spi.BeanManager;
@@ -19,9 +21,15 @@ import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Profile;
 import org.jboss.forge.maven.MavenCoreFacet;
+import org.jboss.forge.maven.PomTransaction;
 import org.jboss.forge.maven.dependencies.MavenDependencyAdapter;
 import org.jboss.forge.project.Project;
 import org.jboss.forge.project.dependencies.DependencyBuilder;
+import org.jboss.forge.project.dependencies.DependencyQuery;
+import org.jboss.forge.project.dependencies.DependencyQueryBuilder;
+import org.jboss.forge.project.dependencies.DependencyRepository;
+import org.jboss.forge.project.dependencies.DependencyResolver;
+import org.jboss.forge.project.dependencies.NonSnapshotDependencyFilter;
 import org.jboss.forge.project.dependencies.events.UpdatedDependency;
 import org.jboss.forge.project.dependencies.events.UpdatingDependency;
 import org.jboss.forge.project.facets.DependencyFacet;
@@ -39,20 +47,77 @@ public class VersionUpdater
    private Shell shell;
    private ProjectFactory projectFactory;
    private BeanManager manager;
+   private DependencyResolver resolver;
 
-   public VersionUpdater(Project project, Shell shell, ProjectFactory projectFactory, BeanManager manager)
+   private Map<String, List<org.jboss.forge.project.dependencies.Dependency>> availableVersions = new HashMap<String, List<org.jboss.forge.project.dependencies.Dependency>>();
+
+   public VersionUpdater(Project project, Shell shell, ProjectFactory projectFactory, BeanManager manager,
+            DependencyResolver resolver)
    {
       this.project = project;
       this.shell = shell;
       this.projectFactory = projectFactory;
       this.manager = manager;
+      this.resolver = resolver;
    }
 
    public boolean update()
    {
+      prefetchVersions(project);
       return update(project);
    }
 
+   /**
+    * Resolve the newer versions of every dependency in the project and its modules in one batch, before prompting for
+    * any of them.
+    */
+   private void prefetchVersions(Project root)
+   {
+      List<DependencyQuery> queries = new ArrayList<DependencyQuery>();
+      collectQueries(root, queries);
+
+      List<List<org.jboss.forge.project.dependencies.Dependency>> results = resolver.resolveVersions(queries);
+      for (int i = 0; i < queries.size(); i++)
+      {
+         availableVersions.put(getKey(queries.get(i)), results.get(i));
+      }
+   }
+
+   private void collectQueries(Project currentProject, List<DependencyQuery> queries)
+   {
+      DependencyFacet depFacet = currentProject.getFacet(DependencyFacet.class);
+      Model pom = currentProject.getFacet(MavenCoreFacet.class).getPOM();
+
+      List<Dependency> dependencies = new ArrayList<Dependency>(pom.getDependencies());
+      if (pom.getDependencyManagement() != null)
+      {
+         dependencies.addAll(pom.getDependencyManagement().getDependencies());
+      }
+      for (Profile profile : pom.getProfiles())
+      {
+         dependencies.addAll(profile.getDependencies());
+         if (profile.getDependencyManagement() != null)
+         {
+            dependencies.addAll(profile.getDependencyManagement().getDependencies());
+         }
+      }
+
+      for (Dependency dependency : dependencies)
+      {
+         if (dependency.getVersion() != null && !dependency.getVersion().equals(""))
+         {
+            queries.add(createQuery(depFacet,
+                     depFacet.resolveProperties(new MavenDependencyAdapter(dependency))));
+         }
+      }
+
+      for (String module : pom.getModules())
+      {
+         collectQueries(projectFactory.findProject(currentProject.getProjectRoot().getChildDirectory(module)),
+                  queries);
+      }
+   }
+
    private Properties[] append(Properties[] parent, Properties... children)
    {
       List<Properties> result = new ArrayList<Properties>();
@@ -68,6 +133,21 @@ public class VersionUpdater
    }
 
    public boolean update(Project currentProject, Properties... parentProperties)
+   {
+      PomTransaction transaction = currentProject.getFacet(MavenCoreFacet.class).beginTransaction();
+      try
+      {
+         boolean updated = updateProject(currentProject, parentProperties);
+         transaction.commit();
+         return updated;
+      }
+      finally
+      {
+         transaction.rollback();
+      }
+   }
+
+   private boolean updateProject(Project currentProject, Properties... parentProperties)
    {
       boolean updated = false;
       MavenCoreFacet mavenFacet = currentProject.getFacet(MavenCoreFacet.class);
@@ -220,10 +300,12 @@ public class VersionUpdater
          org.jboss.forge.project.dependencies.Dependency resolved = facet.resolveProperties(
                   new MavenDependencyAdapter(dependency));
 
-         org.jboss.forge.project.dependencies.Dependency query = DependencyBuilder.create(resolved)
-                  .setVersion("(" + resolved.getVersion() + ",)");
-
-         List<org.jboss.forge.project.dependencies.Dependency> foundVersions = facet.resolveAvailableVersions(query);
+         DependencyQuery query = createQuery(facet, resolved);
+         List<org.jboss.forge.project.dependencies.Dependency> foundVersions = availableVersions.get(getKey(query));
+         if (foundVersions == null)
+         {
+            foundVersions = resolver.resolveVersions(query);
+         }
          if (foundVersions == null || foundVersions.size() == 0)
          {
             return null;
@@ -268,6 +350,36 @@ public class VersionUpdater
       }
    }
 
+   /**
+    * Query for the versions newer than the given one, in the same way as
+    * {@link DependencyFacet#resolveAvailableVersions(org.jboss.forge.project.dependencies.Dependency)}
+    */
+   private DependencyQuery createQuery(DependencyFacet facet, org.jboss.forge.project.dependencies.Dependency resolved)
+   {
+      org.jboss.forge.project.dependencies.Dependency query = DependencyBuilder.create(resolved)
+               .setVersion("(" + resolved.getVersion() + ",)");
+
+      DependencyQueryBuilder result = DependencyQueryBuilder.create(query).setRepositories(facet.getRepositories());
+      if (!query.getVersion().contains("SNAPSHOT"))
+      {
+         result.setFilter(new NonSnapshotDependencyFilter());
+      }
+      return result;
+   }
+
+   private String getKey(DependencyQuery query)
+   {
+      org.jboss.forge.project.dependencies.Dependency dependency = query.getDependency();
+      StringBuilder key = new StringBuilder();
+      key.append(dependency.getGroupId()).append(':').append(dependency.getArtifactId()).append(':')
+               .append(dependency.getVersion());
+      for (DependencyRepository repository : query.getDependencyRepositories())
+      {
+         key.append(' ').append(repository.getUrl());
+      }
+      return key.toString();
+   }
+
    private boolean isExpression(String value)
    {
       return value != null && value.startsWith("${");
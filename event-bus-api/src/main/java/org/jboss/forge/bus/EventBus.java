@@ -27,7 +27,7 @@ import org.jboss.forge.bus.spi.EventBusGroomer;
 import org.jboss.forge.bus.util.Annotations;
 
 /**
- * Simple bus for postponing event firing.
+ * Simple bus for postponing event firing. Events may be queued and fired from any thread.
  * 
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
  */
@@ -41,19 +41,42 @@ public class EventBus
    @Inject
    private ObserverCaptureExtension extension;
 
-   private final Map<Object, Annotation[]> map = new HashMap<Object, Annotation[]>();
+   private final Object lock = new Object();
+   private Map<Object, Annotation[]> map = new HashMap<Object, Annotation[]>();
    private List<Object> events = new ArrayList<Object>();
 
-   boolean firing = false;
+   /*
+    * Events raised by observers while their thread is firing the queue are dropped. Other threads (background jobs,
+    * the upstream commands of a pipeline) keep queueing while the queue is being fired.
+    */
+   private final ThreadLocal<Boolean> firing = new ThreadLocal<Boolean>()
+   {
+      @Override
+      protected Boolean initialValue()
+      {
+         return false;
+      }
+   };
+
+   /*
+    * Observers are only ever notified by one thread at a time.
+    */
+   private final Object fireLock = new Object();
 
-   private ArrayList<EventBusGroomer> groomers;
+   private volatile List<EventBusGroomer> groomers;
 
    @SuppressWarnings("unused")
    private void observeAll(@Observes @Any final Object event)
    {
-      if (handles(event) && !hasQueued(event))
+      if (handles(event))
       {
-         enqueue(event);
+         synchronized (lock)
+         {
+            if (!map.containsKey(event))
+            {
+               enqueue(event);
+            }
+         }
       }
    }
 
@@ -62,11 +85,7 @@ public class EventBus
     */
    public void enqueue(final Object event)
    {
-      if (!firing)
-      {
-         events.add(event);
-         map.put(event, new Annotation[] {});
-      }
+      enqueue(event, new Annotation[] {});
    }
 
    /**
@@ -74,71 +93,98 @@ public class EventBus
     */
    public void enqueue(final Object event, final Annotation[] qualifiers)
    {
-      if (!firing)
+      if (!firing.get())
       {
-         events.add(event);
-         map.put(event, qualifiers);
+         synchronized (lock)
+         {
+            events.add(event);
+            map.put(event, qualifiers);
+         }
       }
    }
 
    /**
-    * Fire all queued events.
+    * Fire all queued events. The queue is taken as a whole, so events queued by other threads while it is being fired
+    * wait for the next call.
     */
    public void fireAll()
    {
-      firing = true;
-      List<Exception> thrown = new ArrayList<Exception>();
-
-      if (groomers == null)
+      synchronized (fireLock)
       {
-         groomers = new ArrayList<EventBusGroomer>();
-         ServiceLoader<EventBusGroomer> services = ServiceLoader.load(EventBusGroomer.class);
-         for (EventBusGroomer groomer : services) {
-            groomers.add(groomer);
+         List<Object> queued;
+         Map<Object, Annotation[]> qualifiers;
+         synchronized (lock)
+         {
+            if (events.isEmpty())
+            {
+               return;
+            }
+            queued = events;
+            qualifiers = map;
+            events = new ArrayList<Object>();
+            map = new HashMap<Object, Annotation[]>();
          }
-      }
 
-      for (EventBusGroomer groomer : groomers) {
-         events = groomer.groom(events);
-      }
-
-      try
-      {
-         for (Object event : events)
+         firing.set(true);
+         List<Exception> thrown = new ArrayList<Exception>();
+         try
          {
-            if (map.containsKey(event))
+            for (EventBusGroomer groomer : getGroomers())
+            {
+               queued = groomer.groom(queued);
+            }
+
+            for (Object event : queued)
             {
-               try
+               if (qualifiers.containsKey(event))
                {
-                  Annotation[] value = map.get(event);
-                  fireSingle(event, value);
+                  try
+                  {
+                     Annotation[] value = qualifiers.get(event);
+                     fireSingle(event, value);
+                  }
+                  catch (Exception e1)
+                  {
+                     thrown.add(e1);
+                  }
                }
-               catch (Exception e1)
+               else
                {
-                  thrown.add(e1);
+                  throw new IllegalStateException("Queued event was not found in event Map");
                }
             }
-            else
-            {
-               throw new IllegalStateException("Queued event was not found in event Map");
-            }
          }
+         finally
+         {
+            firing.set(false);
+         }
+
+         // Squelch these for now
+         // if (!thrown.isEmpty())
+         // throw new EventBusQueuedException(thrown);
       }
-      finally
+   }
+
+   private List<EventBusGroomer> getGroomers()
+   {
+      if (groomers == null)
       {
-         firing = false;
-         map.clear();
-         events.clear();
+         List<EventBusGroomer> loaded = new ArrayList<EventBusGroomer>();
+         ServiceLoader<EventBusGroomer> services = ServiceLoader.load(EventBusGroomer.class);
+         for (EventBusGroomer groomer : services) {
+            loaded.add(groomer);
+         }
+         groomers = loaded;
       }
-
-      // Squelch these for now
-      // if (!thrown.isEmpty())
-      // throw new EventBusQueuedException(thrown);
+      return groomers;
    }
 
    public boolean hasQueued(final Object event)
    {
-      return map.containsKey(event);
+      synchronized (lock)
+      {
+         return map.containsKey(event);
+      }
    }
 
    public void fireSingle(final Object event)
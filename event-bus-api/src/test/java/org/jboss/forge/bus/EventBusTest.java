@@ -9,6 +9,8 @@ package org.jboss.forge.bus;
 import static org.junit.Assert.assertEquals;
 
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.enterprise.util.AnnotationLiteral;
 import javax.inject.Inject;
@@ -65,4 +67,36 @@ public class EventBusTest
       assertEquals(3, observer.getCount());
       assertEquals(1, observer.getCountSpecial());
    }
+
+   @Test
+   public void testEventsQueuedFromSeveralThreads() throws Exception
+   {
+      List<Thread> threads = new ArrayList<Thread>();
+      for (int i = 0; i < 4; i++)
+      {
+         threads.add(new Thread()
+         {
+            @Override
+            public void run()
+            {
+               for (int j = 0; j < 250; j++)
+               {
+                  bus.enqueue(new MockEvent());
+               }
+            }
+         });
+      }
+      for (Thread thread : threads)
+      {
+         thread.start();
+      }
+      for (Thread thread : threads)
+      {
+         thread.join();
+      }
+
+      int before = observer.getCount();
+      bus.fireAll();
+      assertEquals(before + 1000, observer.getCount());
+   }
 }
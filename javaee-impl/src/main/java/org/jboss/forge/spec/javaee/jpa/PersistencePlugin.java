@@ -13,6 +13,8 @@ import javax.enterprise.event.Event;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
 
+import org.jboss.forge.maven.MavenCoreFacet;
+import org.jboss.forge.maven.PomTransaction;
 import org.jboss.forge.project.Project;
 import org.jboss.forge.project.dependencies.Dependency;
 import org.jboss.forge.project.dependencies.DependencyBuilder;
@@ -241,9 +243,18 @@ public class PersistencePlugin implements Plugin
             }
          }
 
-         for (Dependency dependency : dependencies)
+         PomTransaction transaction = project.getFacet(MavenCoreFacet.class).beginTransaction();
+         try
          {
-            installer.install(project, dependency);
+            for (Dependency dependency : dependencies)
+            {
+               installer.install(project, dependency);
+            }
+            transaction.commit();
+         }
+         finally
+         {
+            transaction.rollback();
          }
       }
    }
@@ -42,6 +42,19 @@ public interface MavenCoreFacet extends Facet
     */
    public void setPOM(Model pom);
 
+   /**
+    * Return a number that changes whenever the {@link Model} returned by {@link #getPOM()} changes, whether through
+    * {@link #setPOM(Model)}, within a {@link PomTransaction}, or by an edit of the POM file outside of Forge.
+    */
+   public long getPOMRevision();
+
+   /**
+    * Begin a {@link PomTransaction}. Until it is committed or rolled back, {@link #getPOM()} and
+    * {@link #setPOM(Model)} operate on a single in-memory {@link Model} which is written to the POM file only once, on
+    * commit.
+    */
+   public PomTransaction beginTransaction();
+
    /**
     * Ask Maven to process this project's POM and return the resulting metadata. Do not build dependency hierarchy past
     * the immediate POM.
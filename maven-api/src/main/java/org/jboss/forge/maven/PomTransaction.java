@@ -0,0 +1,58 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven;
+
+import org.apache.maven.model.Model;
+
+/**
+ * A batch of edits to a project's Maven POM, obtained from {@link MavenCoreFacet#beginTransaction()}.
+ * <p>
+ * While a transaction is active, {@link MavenCoreFacet#getPOM()} and {@link MavenCoreFacet#setPOM(Model)} operate on a
+ * single in-memory {@link Model} instead of the POM file. On {@link #commit()} the accumulated changes are written to
+ * disk once, a single resource event is fired, and the cached project building results are invalidated once.
+ * <p>
+ * Operations that require Maven to build the project, such as looking up effective or managed dependencies, continue to
+ * see the POM as it was before the transaction began. {@link MavenCoreFacet#resolveProperties(String)} also sees
+ * properties set within the transaction.
+ * <p>
+ * Transactions may be nested; only the outermost {@link #commit()} writes the POM. Typical usage:
+ *
+ * <pre>
+ * PomTransaction transaction = maven.beginTransaction();
+ * try
+ * {
+ *    // ... any number of POM or DependencyFacet mutations
+ *    transaction.commit();
+ * }
+ * finally
+ * {
+ *    transaction.rollback();
+ * }
+ * </pre>
+ *
+ */
+public interface PomTransaction
+{
+   /**
+    * Write all changes made during this transaction to the POM file. If this is a nested transaction, the changes are
+    * written when the outermost transaction commits.
+    *
+    * @throws IllegalStateException if this transaction has already been committed or rolled back
+    */
+   public void commit();
+
+   /**
+    * Discard all changes made during this transaction, including those of the enclosing transaction if this
+    * transaction is nested. Does nothing if this transaction has already been committed or rolled back.
+    */
+   public void rollback();
+
+   /**
+    * Return true if this transaction has neither been committed nor rolled back.
+    */
+   public boolean isActive();
+}
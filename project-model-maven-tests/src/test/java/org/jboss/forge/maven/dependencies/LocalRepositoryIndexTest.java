@@ -0,0 +1,198 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.dependencies;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LocalRepositoryIndexTest
+{
+   private File repository;
+   private File indexFile;
+
+   @Before
+   public void setUp() throws IOException
+   {
+      repository = File.createTempFile("repository", "");
+      repository.delete();
+      repository.mkdirs();
+      indexFile = new File(repository.getParentFile(), repository.getName() + ".idx");
+
+      install("org.example", "example-api", "1.0", "pom", "jar");
+      install("org.example", "example-api", "1.10", "pom", "jar");
+      install("org.example", "example-api", "1.2", "pom");
+      install("org.example", "example-impl", "1.0", "pom", "war");
+      install("org.example.tools", "example-tool", "2.0-SNAPSHOT", "pom");
+      touch("org/example/example-api/1.0/example-api-1.0-sources.jar");
+      touch("org/example/example-api/1.0/example-api-1.0.jar.sha1");
+      touch("org/example/example-api/maven-metadata-local.xml");
+      touch("org/example/tools/example-tool/2.0-SNAPSHOT/example-tool-2.0-20120315.101010-3.jar");
+   }
+
+   @After
+   public void tearDown()
+   {
+      delete(repository);
+      indexFile.delete();
+   }
+
+   @Test
+   public void testQueries() throws Exception
+   {
+      LocalRepositoryIndex index = load(new LocalRepositoryIndex(repository, indexFile));
+
+      assertEquals(Arrays.asList("org.example", "org.example.tools"), index.getGroupIds("org.ex"));
+      assertEquals(Arrays.asList("org.example.tools"), index.getGroupIds("org.example.t"));
+      assertEquals(Arrays.asList("example-api", "example-impl"), index.getArtifactIds("org.example", ""));
+      assertEquals(Arrays.asList("example-impl"), index.getArtifactIds("org.example", "example-i"));
+      assertEquals(Arrays.asList("1.0", "1.2", "1.10"), index.getVersions("org.example", "example-api"));
+      assertEquals(Arrays.asList("1.2", "1.10"), index.getVersions("org.example", "example-api", "[1.1,)"));
+      assertEquals(Arrays.asList("1.0"), index.getVersions("org.example", "example-api", "1.0"));
+      assertTrue(index.getVersions("org.example", "missing").isEmpty());
+
+      assertEquals(Arrays.asList("jar", "pom"), index.getPackagingTypes("org.example", "example-api", "1.0"));
+      assertEquals(Arrays.asList("jar", "pom"),
+               index.getPackagingTypes("org.example.tools", "example-tool", "2.0-SNAPSHOT"));
+
+      assertNotNull(index.getFile("org.example", "example-impl", "1.0", "war"));
+      assertNull(index.getFile("org.example", "example-impl", "1.0", "jar"));
+   }
+
+   @Test
+   public void testIndexIsReadFromIndexFile() throws Exception
+   {
+      new LocalRepositoryIndex(repository, indexFile).refresh();
+      assertTrue(indexFile.isFile());
+
+      delete(new File(repository, "org/example/example-impl"));
+      LocalRepositoryIndex index = load(new LocalRepositoryIndex(repository, indexFile));
+      assertEquals(Arrays.asList("example-api", "example-impl"), index.getArtifactIds("org.example", ""));
+
+      index.refresh();
+      assertEquals(Arrays.asList("example-api"), index.getArtifactIds("org.example", ""));
+   }
+
+   @Test
+   public void testRefreshPicksUpChanges() throws Exception
+   {
+      LocalRepositoryIndex index = load(new LocalRepositoryIndex(repository, indexFile));
+      assertEquals(3, index.getVersions("org.example", "example-api").size());
+
+      install("org.example", "example-api", "2.0", "pom");
+      install("org.other", "other", "1.0", "jar");
+      delete(new File(repository, "org/example/example-api/1.2"));
+      assertTrue(index.getGroupIds("org.o").isEmpty());
+
+      index.refresh();
+      assertEquals(Arrays.asList("1.0", "1.10", "2.0"), index.getVersions("org.example", "example-api"));
+      assertEquals(Arrays.asList("org.other"), index.getGroupIds("org.o"));
+   }
+
+   @Test
+   public void testVersionsInstalledSinceLastScan() throws Exception
+   {
+      File artifact = new File(repository, "org/example/example-api");
+      age(artifact);
+      new LocalRepositoryIndex(repository, indexFile).refresh();
+
+      LocalRepositoryIndex index = load(new LocalRepositoryIndex(repository, indexFile));
+      assertEquals(Arrays.asList("1.0", "1.2", "1.10"), index.getVersions("org.example", "example-api"));
+
+      install("org.example", "example-api", "2.0-SNAPSHOT", "pom", "jar");
+      assertEquals(Arrays.asList("1.0", "1.2", "1.10", "2.0-SNAPSHOT"),
+               index.getVersions("org.example", "example-api"));
+      assertEquals(Arrays.asList("jar", "pom"),
+               index.getPackagingTypes("org.example", "example-api", "2.0-SNAPSHOT"));
+   }
+
+   @Test
+   public void testMissingRepository() throws Exception
+   {
+      delete(repository);
+      LocalRepositoryIndex index = load(new LocalRepositoryIndex(repository, indexFile));
+      assertTrue(index.getGroupIds("").isEmpty());
+   }
+
+   @Test
+   public void testFirstLookupDoesNotWaitForScan() throws Exception
+   {
+      LocalRepositoryIndex index = new LocalRepositoryIndex(repository, indexFile);
+      assertFalse(index.isReady());
+      assertTrue(index.getGroupIds("").isEmpty());
+      assertEquals(Arrays.asList("1.0", "1.2", "1.10"), index.getVersions("org.example", "example-api"));
+
+      load(index);
+      assertEquals(Arrays.asList("org.example", "org.example.tools"), index.getGroupIds(""));
+   }
+
+   private LocalRepositoryIndex load(final LocalRepositoryIndex index) throws InterruptedException
+   {
+      index.loadInBackground();
+      long deadline = System.currentTimeMillis() + 10000;
+      while (!index.isReady())
+      {
+         assertTrue("index was not loaded in time", System.currentTimeMillis() < deadline);
+         Thread.sleep(10);
+      }
+      return index;
+   }
+
+   private void install(final String groupId, final String artifactId, final String version,
+            final String... extensions) throws IOException
+   {
+      for (String extension : extensions)
+      {
+         touch(groupId.replace('.', '/') + "/" + artifactId + "/" + version + "/" + artifactId + "-" + version + "."
+                  + extension);
+      }
+   }
+
+   private void touch(final String path) throws IOException
+   {
+      File file = new File(repository, path);
+      file.getParentFile().mkdirs();
+      file.createNewFile();
+   }
+
+   private void age(final File directory)
+   {
+      long past = System.currentTimeMillis() - 60 * 60 * 1000;
+      File[] children = directory.listFiles();
+      if (children != null)
+      {
+         for (File child : children)
+         {
+            age(child);
+         }
+      }
+      directory.setLastModified(past);
+   }
+
+   private void delete(final File file)
+   {
+      File[] children = file.listFiles();
+      if (children != null)
+      {
+         for (File child : children)
+         {
+            delete(child);
+         }
+      }
+      file.delete();
+   }
+}
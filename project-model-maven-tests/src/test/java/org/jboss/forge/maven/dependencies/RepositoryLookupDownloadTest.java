@@ -0,0 +1,286 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.dependencies;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.ForgeEnvironment;
+import org.jboss.forge.maven.facets.MavenContainer;
+import org.jboss.forge.maven.util.ProjectModelTest;
+import org.jboss.forge.project.dependencies.DependencyBuilder;
+import org.jboss.forge.project.dependencies.DependencyRepository;
+import org.jboss.forge.project.dependencies.DependencyRepositoryImpl;
+import org.jboss.forge.project.dependencies.DependencyResolver;
+import org.jboss.forge.project.dependencies.events.ArtifactTransferred;
+import org.jboss.forge.project.dependencies.events.UnresolvedArtifact;
+import org.jboss.forge.resources.DependencyResource;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Resolves artifacts from an HTTP repository served from a temporary directory, which delays every artifact download
+ * so that concurrent downloads overlap.
+ */
+@RunWith(Arquillian.class)
+public class RepositoryLookupDownloadTest extends ProjectModelTest
+{
+   private static final String GROUP_ID = "org.jboss.forge.test.download";
+
+   private static final List<ArtifactTransferred> transfers = new CopyOnWriteArrayList<ArtifactTransferred>();
+   private static final List<UnresolvedArtifact> failures = new CopyOnWriteArrayList<UnresolvedArtifact>();
+
+   @Deployment
+   public static JavaArchive createTestArchive()
+   {
+      return ProjectModelTest.createTestArchive()
+               .addAsManifestResource(
+                        "META-INF/services/org.jboss.forge.project.dependencies.DependencyResolverProvider");
+   }
+
+   @Inject
+   private DependencyResolver resolver;
+
+   @Inject
+   private ForgeEnvironment environment;
+
+   @Inject
+   private MavenContainer container;
+
+   private HttpServer server;
+   private File remote;
+   private DependencyRepository repository;
+   private String artifactId;
+   private final AtomicInteger concurrent = new AtomicInteger();
+   private final AtomicInteger maxConcurrent = new AtomicInteger();
+
+   public static class EventCollector
+   {
+      public void transferred(@Observes final ArtifactTransferred event)
+      {
+         transfers.add(event);
+      }
+
+      public void unresolved(@Observes final UnresolvedArtifact event)
+      {
+         failures.add(event);
+      }
+   }
+
+   @Before
+   public void startRepository() throws IOException
+   {
+      remote = File.createTempFile("remote", "");
+      remote.delete();
+      remote.mkdirs();
+      artifactId = "example" + System.nanoTime();
+      transfers.clear();
+      failures.clear();
+
+      server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+      server.setExecutor(Executors.newCachedThreadPool());
+      server.createContext("/", new HttpHandler()
+      {
+         @Override
+         public void handle(final HttpExchange exchange) throws IOException
+         {
+            serve(exchange);
+         }
+      });
+      server.start();
+      repository = new DependencyRepositoryImpl("download-test", "http://127.0.0.1:" + server.getAddress().getPort()
+               + "/");
+   }
+
+   @After
+   public void stopRepository()
+   {
+      server.stop(0);
+      environment.removeProperty(RepositoryLookup.PROP_DOWNLOAD_THREADS);
+      delete(remote);
+      delete(new File(container.getSettings().getLocalRepository(), GROUP_ID.replace('.', '/')));
+   }
+
+   @Test
+   public void testArtifactsAreDownloadedConcurrently() throws Exception
+   {
+      environment.setProperty(RepositoryLookup.PROP_DOWNLOAD_THREADS, "4");
+      publish("1.0", "1.1", "1.2", "1.3");
+
+      List<DependencyResource> artifacts = resolver.resolveArtifacts(
+               DependencyBuilder.create(GROUP_ID + ":" + artifactId), repository);
+
+      assertEquals(4, artifacts.size());
+      for (int i = 0; i < 4; i++)
+      {
+         assertEquals("1." + i, artifacts.get(i).getDependency().getVersion());
+         assertTrue(artifacts.get(i).getUnderlyingResourceObject().isFile());
+      }
+      assertTrue("Downloads did not overlap", maxConcurrent.get() > 1);
+      assertEquals(4, countDownloadedJars());
+      assertTrue(failures.isEmpty());
+   }
+
+   @Test
+   public void testMissingArtifactsAreReported() throws Exception
+   {
+      publish("1.0", "2.0");
+      new File(getArtifactDirectory(), "2.0/" + artifactId + "-2.0.jar").delete();
+
+      List<DependencyResource> artifacts = resolver.resolveArtifacts(
+               DependencyBuilder.create(GROUP_ID + ":" + artifactId), repository);
+
+      assertEquals(1, artifacts.size());
+      assertEquals("1.0", artifacts.get(0).getDependency().getVersion());
+      assertEquals(1, failures.size());
+      assertEquals("2.0", failures.get(0).getDependency().getVersion());
+      assertEquals(repository.getUrl(), failures.get(0).getRepositories().get(0));
+      assertTrue(!failures.get(0).getCauses().isEmpty());
+   }
+
+   private int countDownloadedJars()
+   {
+      int count = 0;
+      for (ArtifactTransferred transfer : transfers)
+      {
+         if (transfer.isSuccessful() && transfer.getResourceName().endsWith(".jar"))
+         {
+            count++;
+         }
+      }
+      return count;
+   }
+
+   private void serve(final HttpExchange exchange) throws IOException
+   {
+      File file = new File(remote, exchange.getRequestURI().getPath());
+      try
+      {
+         if (!file.isFile())
+         {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+         }
+
+         if (file.getName().endsWith(".jar"))
+         {
+            int current = concurrent.incrementAndGet();
+            synchronized (maxConcurrent)
+            {
+               maxConcurrent.set(Math.max(current, maxConcurrent.get()));
+            }
+            try
+            {
+               Thread.sleep(300);
+            }
+            catch (InterruptedException e)
+            {
+               Thread.currentThread().interrupt();
+            }
+            finally
+            {
+               concurrent.decrementAndGet();
+            }
+         }
+
+         exchange.sendResponseHeaders(200, file.length());
+         OutputStream out = exchange.getResponseBody();
+         InputStream in = new FileInputStream(file);
+         try
+         {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1)
+            {
+               out.write(buffer, 0, read);
+            }
+         }
+         finally
+         {
+            in.close();
+            out.close();
+         }
+      }
+      finally
+      {
+         exchange.close();
+      }
+   }
+
+   private void publish(final String... versions) throws IOException
+   {
+      StringBuilder xml = new StringBuilder("<metadata><groupId>" + GROUP_ID + "</groupId><artifactId>" + artifactId
+               + "</artifactId><versioning><versions>");
+      for (String version : versions)
+      {
+         xml.append("<version>").append(version).append("</version>");
+         String base = version + "/" + artifactId + "-" + version;
+         write(new File(getArtifactDirectory(), base + ".pom"),
+                  "<project><modelVersion>4.0.0</modelVersion><groupId>" + GROUP_ID + "</groupId><artifactId>"
+                           + artifactId + "</artifactId><version>" + version + "</version></project>");
+         write(new File(getArtifactDirectory(), base + ".jar"), "jar " + version);
+      }
+      xml.append("</versions></versioning></metadata>");
+      write(new File(getArtifactDirectory(), "maven-metadata.xml"), xml.toString());
+   }
+
+   private File getArtifactDirectory()
+   {
+      return new File(remote, GROUP_ID.replace('.', '/') + "/" + artifactId);
+   }
+
+   private void write(final File file, final String contents) throws IOException
+   {
+      file.getParentFile().mkdirs();
+      FileWriter writer = new FileWriter(file);
+      try
+      {
+         writer.write(contents);
+      }
+      finally
+      {
+         writer.close();
+      }
+   }
+
+   private void delete(final File file)
+   {
+      File[] children = file.listFiles();
+      if (children != null)
+      {
+         for (File child : children)
+         {
+            delete(child);
+         }
+      }
+      file.delete();
+   }
+}
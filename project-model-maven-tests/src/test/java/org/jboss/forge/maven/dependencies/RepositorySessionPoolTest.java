@@ -0,0 +1,192 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.dependencies;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.ForgeEnvironment;
+import org.jboss.forge.maven.facets.MavenContainer;
+import org.jboss.forge.maven.util.ProjectModelTest;
+import org.jboss.forge.project.dependencies.Dependency;
+import org.jboss.forge.project.dependencies.DependencyBuilder;
+import org.jboss.forge.project.dependencies.DependencyQueryBuilder;
+import org.jboss.forge.project.dependencies.DependencyRepository;
+import org.jboss.forge.project.dependencies.DependencyRepositoryImpl;
+import org.jboss.forge.project.dependencies.DependencyResolver;
+import org.jboss.forge.project.dependencies.events.RefreshDependencyMetadata;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Resolves against a file:// repository created for each test, so that its contents can be changed between lookups.
+ */
+@RunWith(Arquillian.class)
+public class RepositorySessionPoolTest extends ProjectModelTest
+{
+   private static final String GROUP_ID = "org.jboss.forge.test.pool";
+
+   @Deployment
+   public static JavaArchive createTestArchive()
+   {
+      return ProjectModelTest.createTestArchive()
+               .addAsManifestResource(
+                        "META-INF/services/org.jboss.forge.project.dependencies.DependencyResolverProvider");
+   }
+
+   @Inject
+   private DependencyResolver resolver;
+
+   @Inject
+   private Event<RefreshDependencyMetadata> refresh;
+
+   @Inject
+   private ForgeEnvironment environment;
+
+   @Inject
+   private MavenContainer container;
+
+   private File remote;
+   private DependencyRepository repository;
+   private String artifactId;
+
+   @Before
+   public void setUpRepository() throws IOException
+   {
+      remote = File.createTempFile("remote", "");
+      remote.delete();
+      remote.mkdirs();
+      repository = new DependencyRepositoryImpl("pool-test", remote.toURI().toString());
+      artifactId = "example" + System.nanoTime();
+   }
+
+   @After
+   public void tearDownRepository()
+   {
+      environment.removeProperty(RepositorySessionPool.PROP_VERSION_RANGE_TTL);
+      refresh.fire(new RefreshDependencyMetadata());
+      delete(remote);
+      delete(new File(container.getSettings().getLocalRepository(), GROUP_ID.replace('.', '/')));
+   }
+
+   @Test
+   public void testVersionsAreCachedUntilRefresh() throws Exception
+   {
+      writeMetadata("1.0", "1.1");
+      assertEquals(2, resolveVersions().size());
+
+      writeMetadata("1.0", "1.1", "1.2");
+      assertEquals(2, resolveVersions().size());
+
+      refresh.fire(new RefreshDependencyMetadata());
+      assertEquals(3, resolveVersions().size());
+   }
+
+   @Test
+   public void testZeroTTLDisablesCache() throws Exception
+   {
+      environment.setProperty(RepositorySessionPool.PROP_VERSION_RANGE_TTL, "0");
+
+      writeMetadata("1.0");
+      assertEquals(1, resolveVersions().size());
+
+      writeMetadata("1.0", "2.0");
+      assertEquals(2, resolveVersions().size());
+   }
+
+   @Test
+   public void testDescriptorsAreCachedUntilRefresh() throws Exception
+   {
+      writePom("1.0", "junit");
+      Dependency query = DependencyBuilder.create(GROUP_ID + ":" + artifactId + ":1.0");
+      assertEquals(1, resolver.resolveDependencyMetadata(query, repository).getDependencies().size());
+
+      writePom("1.0", "junit", "hamcrest");
+      delete(new File(container.getSettings().getLocalRepository(), GROUP_ID.replace('.', '/')));
+      assertEquals(1, resolver.resolveDependencyMetadata(query, repository).getDependencies().size());
+
+      refresh.fire(new RefreshDependencyMetadata());
+      assertEquals(2, resolver.resolveDependencyMetadata(query, repository).getDependencies().size());
+   }
+
+   private List<Dependency> resolveVersions()
+   {
+      Dependency query = DependencyBuilder.create(GROUP_ID + ":" + artifactId);
+      return resolver.resolveVersions(DependencyQueryBuilder.create(query).setRepositories(repository));
+   }
+
+   private void writeMetadata(final String... versions) throws IOException
+   {
+      StringBuilder xml = new StringBuilder("<metadata><groupId>" + GROUP_ID + "</groupId><artifactId>" + artifactId
+               + "</artifactId><versioning><versions>");
+      for (String version : versions)
+      {
+         xml.append("<version>").append(version).append("</version>");
+         writePom(version);
+      }
+      xml.append("</versions></versioning></metadata>");
+      write(new File(getArtifactDirectory(), "maven-metadata.xml"), xml.toString());
+   }
+
+   private void writePom(final String version, final String... dependencies) throws IOException
+   {
+      StringBuilder xml = new StringBuilder("<project><modelVersion>4.0.0</modelVersion><groupId>" + GROUP_ID
+               + "</groupId><artifactId>" + artifactId + "</artifactId><version>" + version
+               + "</version><dependencies>");
+      for (String dependency : dependencies)
+      {
+         xml.append("<dependency><groupId>org.example</groupId><artifactId>").append(dependency)
+                  .append("</artifactId><version>1.0</version></dependency>");
+      }
+      xml.append("</dependencies></project>");
+      write(new File(getArtifactDirectory(), version + "/" + artifactId + "-" + version + ".pom"), xml.toString());
+   }
+
+   private File getArtifactDirectory()
+   {
+      return new File(remote, GROUP_ID.replace('.', '/') + "/" + artifactId);
+   }
+
+   private void write(final File file, final String contents) throws IOException
+   {
+      file.getParentFile().mkdirs();
+      FileWriter writer = new FileWriter(file);
+      try
+      {
+         writer.write(contents);
+      }
+      finally
+      {
+         writer.close();
+      }
+   }
+
+   private void delete(final File file)
+   {
+      File[] children = file.listFiles();
+      if (children != null)
+      {
+         for (File child : children)
+         {
+            delete(child);
+         }
+      }
+      file.delete();
+   }
+}
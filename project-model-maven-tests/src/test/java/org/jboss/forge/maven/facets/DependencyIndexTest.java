@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.facets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.forge.project.dependencies.Dependency;
+import org.jboss.forge.project.dependencies.DependencyBuilder;
+import org.junit.Test;
+
+public class DependencyIndexTest
+{
+   private final Dependency api = DependencyBuilder.create("org.example:example-api:1.0");
+   private final Dependency apiTests = DependencyBuilder.create("org.example:example-api:1.0").setClassifier("tests");
+   private final Dependency apiAgain = DependencyBuilder.create("org.example:example-api:2.0:test");
+   private final Dependency impl = DependencyBuilder.create("org.example:example-impl:1.0");
+
+   private final DependencyIndex index = new DependencyIndex(Arrays.asList(api, apiTests, apiAgain, impl));
+
+   @Test
+   public void testLookupMatchesAreEquivalent()
+   {
+      List<Dependency> queries = new ArrayList<Dependency>();
+      queries.add(DependencyBuilder.create("org.example:example-api"));
+      queries.add(DependencyBuilder.create("org.example:example-api").setClassifier("tests"));
+      queries.add(DependencyBuilder.create("org.example:example-api").setClassifier(""));
+      queries.add(DependencyBuilder.create("org.example:example-impl:3.0"));
+      queries.add(DependencyBuilder.create("org.example:missing"));
+      queries.add(DependencyBuilder.create("org.example.example-api:"));
+
+      for (Dependency query : queries)
+      {
+         List<Dependency> expected = new ArrayList<Dependency>();
+         for (Dependency dependency : Arrays.asList(api, apiTests, apiAgain, impl))
+         {
+            if (DependencyBuilder.areEquivalent(dependency, query))
+            {
+               expected.add(dependency);
+            }
+         }
+
+         assertEquals(query.toString(), !expected.isEmpty(), index.contains(query));
+         List<Dependency> actual = index.getAll(query);
+         assertEquals(query.toString(), expected.size(), actual.size());
+         for (int i = 0; i < expected.size(); i++)
+         {
+            assertEquals(expected.get(i).getVersion(), actual.get(i).getVersion());
+         }
+      }
+   }
+
+   @Test
+   public void testFirstEquivalentIsReturned()
+   {
+      Dependency result = index.get(DependencyBuilder.create("org.example:example-api"));
+      assertEquals("1.0", result.getVersion());
+      assertNull(index.get(DependencyBuilder.create("org.example:missing")));
+      assertTrue(index.contains(DependencyBuilder.create("org.example:example-impl")));
+      assertFalse(index.contains(DependencyBuilder.create("org.example:example-impl").setClassifier("tests")));
+   }
+
+   @Test
+   public void testCopiesAreReturned()
+   {
+      Dependency result = index.get(impl);
+      assertNotSame(impl, result);
+      ((DependencyBuilder) result).setVersion("9.9");
+      assertEquals("1.0", index.get(impl).getVersion());
+
+      List<Dependency> all = index.getDependencies();
+      assertEquals(4, all.size());
+      assertEquals(4, index.size());
+      assertNotSame(api, all.get(0));
+      assertEquals("org.example:example-impl", all.get(3).getGroupId() + ":" + all.get(3).getArtifactId());
+   }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.facets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.building.ModelProblem;
+import org.apache.maven.project.DependencyResolutionResult;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuildingResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sonatype.aether.graph.DependencyNode;
+import org.sonatype.aether.graph.Exclusion;
+import org.sonatype.aether.util.artifact.DefaultArtifact;
+
+/**
+ * Test case for {@link EffectiveModelCache}
+ */
+public class EffectiveModelCacheTest
+{
+   private File directory;
+   private File pomFile;
+   private File settingsFile;
+   private File entry;
+
+   @Before
+   public void before() throws IOException
+   {
+      directory = File.createTempFile("effective", "");
+      directory.delete();
+      directory.mkdirs();
+      pomFile = new File(directory, "pom.xml");
+      settingsFile = new File(directory, "settings.xml");
+      entry = new File(directory, "cache/entry.xml");
+      write(pomFile, "<project/>");
+      write(settingsFile, "<settings/>");
+   }
+
+   @After
+   public void after()
+   {
+      delete(directory);
+   }
+
+   @Test
+   public void testStoredResultIsRestored() throws Exception
+   {
+      new EffectiveModelCache(entry).store(createResult(), inputs());
+
+      ProjectBuildingResult restored = new EffectiveModelCache(entry).load(pomFile);
+      assertNotNull(restored);
+      assertEquals(pomFile, restored.getPomFile());
+      assertEquals("1.0", restored.getProject().getVersion());
+      Dependency managed = restored.getProject().getDependencyManagement().getDependencies().get(0);
+      assertEquals("managed", managed.getArtifactId());
+      assertEquals("2.0", managed.getVersion());
+
+      List<org.sonatype.aether.graph.Dependency> dependencies = restored.getDependencyResolutionResult()
+               .getDependencies();
+      assertEquals(2, dependencies.size());
+      assertEquals("org.example:first:jar:1.0", dependencies.get(0).getArtifact().toString());
+      assertEquals("compile", dependencies.get(0).getScope());
+      assertEquals(1, dependencies.get(0).getExclusions().size());
+      assertEquals("org.example:second:jar:tests:1.1", dependencies.get(1).getArtifact().toString());
+      assertEquals("test", dependencies.get(1).getScope());
+      assertTrue(dependencies.get(1).isOptional());
+   }
+
+   @Test
+   public void testModifiedInputInvalidatesEntry() throws Exception
+   {
+      EffectiveModelCache cache = new EffectiveModelCache(entry);
+      cache.store(createResult(), inputs());
+      write(pomFile, "<project><version>2.0</version></project>");
+      assertNull(cache.load(pomFile));
+   }
+
+   @Test
+   public void testCreatedInputInvalidatesEntry() throws Exception
+   {
+      File bom = new File(directory, "bom.pom");
+      Set<File> inputs = inputs();
+      inputs.add(bom);
+
+      EffectiveModelCache cache = new EffectiveModelCache(entry);
+      cache.store(createResult(), inputs);
+      assertNotNull(cache.load(pomFile));
+
+      write(bom, "<project/>");
+      assertNull(cache.load(pomFile));
+   }
+
+   @Test
+   public void testDeletedInputInvalidatesEntry() throws Exception
+   {
+      EffectiveModelCache cache = new EffectiveModelCache(entry);
+      cache.store(createResult(), inputs());
+      settingsFile.delete();
+      assertNull(cache.load(pomFile));
+   }
+
+   @Test
+   public void testInvalidate() throws Exception
+   {
+      EffectiveModelCache cache = new EffectiveModelCache(entry);
+      cache.store(createResult(), inputs());
+      cache.invalidate();
+      assertNull(cache.load(pomFile));
+   }
+
+   @Test
+   public void testInputFilesIncludeParentsAndImportedBoms() throws Exception
+   {
+      File repository = new File(directory, "repository");
+
+      Model parentModel = new Model();
+      parentModel.setGroupId("org.example");
+      parentModel.setArtifactId("parent");
+      parentModel.setVersion("3.0");
+      Dependency bom = new Dependency();
+      bom.setGroupId("org.example");
+      bom.setArtifactId("bom");
+      bom.setVersion("${bom.version}");
+      bom.setType("pom");
+      bom.setScope("import");
+      parentModel.setDependencyManagement(new DependencyManagement());
+      parentModel.getDependencyManagement().addDependency(bom);
+      MavenProject parent = new MavenProject(parentModel);
+      parent.setOriginalModel(parentModel);
+
+      MavenProject project = new MavenProject(createModel());
+      project.getProperties().setProperty("bom.version", "4.0");
+      project.setFile(pomFile);
+      project.setParent(parent);
+
+      Set<File> inputs = EffectiveModelCache.getInputFiles(project, repository);
+      assertEquals(Arrays.asList(pomFile,
+               new File(repository, "org/example/parent/3.0/parent-3.0.pom"),
+               new File(repository, "org/example/bom/4.0/bom-4.0.pom")),
+               Arrays.asList(inputs.toArray()));
+   }
+
+   private Set<File> inputs()
+   {
+      return new LinkedHashSet<File>(Arrays.asList(pomFile, settingsFile));
+   }
+
+   private Model createModel()
+   {
+      Model model = new Model();
+      model.setModelVersion("4.0.0");
+      model.setGroupId("org.example");
+      model.setArtifactId("example");
+      model.setVersion("1.0");
+      return model;
+   }
+
+   private ProjectBuildingResult createResult()
+   {
+      Model model = createModel();
+      Dependency managed = new Dependency();
+      managed.setGroupId("org.example");
+      managed.setArtifactId("managed");
+      managed.setVersion("2.0");
+      model.setDependencyManagement(new DependencyManagement());
+      model.getDependencyManagement().addDependency(managed);
+
+      final MavenProject project = new MavenProject(model);
+      project.setFile(pomFile);
+
+      final List<org.sonatype.aether.graph.Dependency> dependencies = Arrays.asList(
+               new org.sonatype.aether.graph.Dependency(new DefaultArtifact("org.example:first:1.0"), "compile",
+                        false, Arrays.asList(new Exclusion("org.example", "excluded", "", "jar"))),
+               new org.sonatype.aether.graph.Dependency(new DefaultArtifact("org.example:second:jar:tests:1.1"),
+                        "test", true));
+
+      return new ProjectBuildingResult()
+      {
+         @Override
+         public String getProjectId()
+         {
+            return project.getId();
+         }
+
+         @Override
+         public File getPomFile()
+         {
+            return pomFile;
+         }
+
+         @Override
+         public MavenProject getProject()
+         {
+            return project;
+         }
+
+         @Override
+         public List<ModelProblem> getProblems()
+         {
+            return Collections.emptyList();
+         }
+
+         @Override
+         public DependencyResolutionResult getDependencyResolutionResult()
+         {
+            return new DependencyResolutionResult()
+            {
+               @Override
+               public DependencyNode getDependencyGraph()
+               {
+                  return null;
+               }
+
+               @Override
+               public List<org.sonatype.aether.graph.Dependency> getDependencies()
+               {
+                  return dependencies;
+               }
+
+               @Override
+               public List<org.sonatype.aether.graph.Dependency> getResolvedDependencies()
+               {
+                  return dependencies;
+               }
+
+               @Override
+               public List<org.sonatype.aether.graph.Dependency> getUnresolvedDependencies()
+               {
+                  return Collections.emptyList();
+               }
+
+               @Override
+               public List<Exception> getCollectionErrors()
+               {
+                  return Collections.emptyList();
+               }
+
+               @Override
+               public List<Exception> getResolutionErrors(final org.sonatype.aether.graph.Dependency dependency)
+               {
+                  return Collections.emptyList();
+               }
+            };
+         }
+      };
+   }
+
+   private void write(final File file, final String contents) throws IOException
+   {
+      FileWriter writer = new FileWriter(file);
+      try
+      {
+         writer.write(contents);
+      }
+      finally
+      {
+         writer.close();
+      }
+   }
+
+   private void delete(final File file)
+   {
+      File[] children = file.listFiles();
+      if (children != null)
+      {
+         for (File child : children)
+         {
+            delete(child);
+         }
+      }
+      file.delete();
+   }
+}
@@ -10,6 +10,10 @@ package org.jboss.forge.maven.facets;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import javax.inject.Singleton;
 
 import org.jboss.arquillian.junit.Arquillian;
@@ -18,7 +22,10 @@ import org.jboss.forge.parser.java.JavaClass;
 import org.jboss.forge.parser.java.JavaSource;
 import org.jboss.forge.project.Project;
 import org.jboss.forge.project.facets.JavaSourceFacet;
+import org.jboss.forge.resources.DirectoryResource;
+import org.jboss.forge.resources.FileResource;
 import org.jboss.forge.resources.java.JavaResource;
+import org.jboss.forge.resources.java.JavaResourceVisitor;
 import org.jboss.forge.test.AbstractShellTest;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -82,4 +89,28 @@ public class JavaSourceFacetTest extends AbstractShellTest
       assertEquals(parsed.getPackage(), clazz.getPackage());
       assertEquals(parsed, clazz);
    }
+
+   @Test
+   public void testVisitJavaSources() throws Exception
+   {
+      Project project = initializeJavaProject();
+      JavaSourceFacet java = project.getFacet(JavaSourceFacet.class);
+      DirectoryResource sources = java.getSourceFolder();
+      ((FileResource<?>) sources.getChildDirectory("com").getChildDirectory("test").getChild("B.java"))
+               .setContents("package com.test; public class B {}");
+      ((FileResource<?>) sources.getChildDirectory("com").getChild("A.java"))
+               .setContents("package com; public class A {}");
+      ((FileResource<?>) sources.getChildDirectory("com").getChild("notes.txt")).setContents("not java");
+
+      final List<String> visited = new ArrayList<String>();
+      java.visitJavaSources(new JavaResourceVisitor()
+      {
+         @Override
+         public void visit(final JavaResource javaResource)
+         {
+            visited.add(javaResource.getName());
+         }
+      });
+      assertEquals(Arrays.asList("A.java", "B.java"), visited);
+   }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.facets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import javax.inject.Inject;
+
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.settings.Settings;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.maven.util.ProjectModelTest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class MavenContainerTest extends ProjectModelTest
+{
+   @Inject
+   private MavenContainer container;
+
+   @Test
+   public void testSettingsAreCopies() throws Exception
+   {
+      Settings first = container.getSettings();
+      first.setLocalRepository("/changed");
+
+      Settings second = container.getSettings();
+      assertNotSame(first, second);
+      assertFalse("/changed".equals(second.getLocalRepository()));
+   }
+
+   @Test
+   public void testRequestsAreIndependentCopies() throws Exception
+   {
+      ProjectBuildingRequest first = container.getBuildingRequest(true);
+      int repositories = first.getRemoteRepositories().size();
+      first.setResolveDependencies(true);
+      first.getRemoteRepositories().clear();
+
+      ProjectBuildingRequest second = container.getBuildingRequest(true);
+      assertNotSame(first, second);
+      assertNotSame(first.getRepositorySession(), second.getRepositorySession());
+      assertFalse(second.isResolveDependencies());
+      assertEquals(repositories, second.getRemoteRepositories().size());
+   }
+
+   @Test
+   public void testOfflineFlag() throws Exception
+   {
+      assertTrue(container.getBuildingRequest(true).getRepositorySession().isOffline());
+      assertFalse(container.getBuildingRequest(false).getRepositorySession().isOffline());
+   }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.facets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test case for {@link MavenModelCache}
+ */
+public class MavenModelCacheTest
+{
+   private File pomFile;
+   private MavenModelCache cache;
+
+   @Before
+   public void before() throws IOException
+   {
+      pomFile = File.createTempFile("pom", ".xml");
+      write(createModel("1.0"));
+      cache = new MavenModelCache(pomFile);
+   }
+
+   @After
+   public void after()
+   {
+      pomFile.delete();
+   }
+
+   @Test
+   public void testRepeatedReadsParseOnce() throws Exception
+   {
+      for (int i = 0; i < 20; i++)
+      {
+         assertEquals("1.0", cache.getModel().getVersion());
+      }
+      assertEquals(1, cache.getParseCount());
+      assertEquals(19, cache.getHitCount());
+   }
+
+   @Test
+   public void testReturnedModelIsACopy() throws Exception
+   {
+      Model first = cache.getModel();
+      first.setVersion("2.0");
+      first.addDependency(new Dependency());
+
+      Model second = cache.getModel();
+      assertNotSame(first, second);
+      assertEquals("1.0", second.getVersion());
+      assertEquals(0, second.getDependencies().size());
+      assertEquals(pomFile, second.getPomFile());
+   }
+
+   @Test
+   public void testWriteThroughDoesNotReparse() throws Exception
+   {
+      Model pom = cache.getModel();
+      pom.setVersion("2.0");
+      write(pom);
+      cache.setModel(pom);
+      pom.setVersion("3.0");
+
+      assertEquals("2.0", cache.getModel().getVersion());
+      assertEquals(1, cache.getParseCount());
+   }
+
+   @Test
+   public void testExternalEditIsDetected() throws Exception
+   {
+      assertEquals("1.0", cache.getModel().getVersion());
+
+      write(createModel("2.0"));
+      assertEquals("2.0", cache.getModel().getVersion());
+      assertEquals(2, cache.getParseCount());
+   }
+
+   @Test
+   public void testInvalidate() throws Exception
+   {
+      cache.getModel();
+      cache.invalidate();
+      cache.getModel();
+      assertEquals(2, cache.getParseCount());
+   }
+
+   /**
+    * Simulates the reads performed by a typical dependency command and reports how many parses were skipped.
+    */
+   @Test
+   public void testParsesSkippedPerCommand() throws Exception
+   {
+      int reads = 0;
+      for (int command = 0; command < 10; command++)
+      {
+         Model pom = cache.getModel();
+         reads++;
+         for (int lookup = 0; lookup < 5; lookup++)
+         {
+            cache.getModel();
+            reads++;
+         }
+         Dependency dependency = new Dependency();
+         dependency.setGroupId("org.example");
+         dependency.setArtifactId("artifact-" + command);
+         dependency.setVersion("1.0");
+         pom.addDependency(dependency);
+         write(pom);
+         cache.setModel(pom);
+      }
+
+      assertEquals(10, cache.getModel().getDependencies().size());
+      reads++;
+      assertEquals(1, cache.getParseCount());
+      assertEquals(reads - 1, cache.getHitCount());
+   }
+
+   private Model createModel(final String version)
+   {
+      Model model = new Model();
+      model.setModelVersion("4.0.0");
+      model.setGroupId("org.example");
+      model.setArtifactId("example");
+      model.setVersion(version);
+      return model;
+   }
+
+   private void write(final Model model) throws IOException
+   {
+      FileWriter writer = new FileWriter(pomFile);
+      try
+      {
+         new MavenXpp3Writer().write(writer, model);
+      }
+      finally
+      {
+         writer.close();
+      }
+   }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.maven.facets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.FileReader;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.maven.MavenCoreFacet;
+import org.jboss.forge.maven.PomTransaction;
+import org.jboss.forge.maven.util.ProjectModelTest;
+import org.jboss.forge.project.ProjectModelException;
+import org.jboss.forge.project.dependencies.DependencyBuilder;
+import org.jboss.forge.project.facets.DependencyFacet;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class PomTransactionTest extends ProjectModelTest
+{
+   @Deployment
+   public static JavaArchive createTestArchive()
+   {
+      return ProjectModelTest.createTestArchive()
+               .addAsManifestResource(
+                        "META-INF/services/org.jboss.forge.project.dependencies.DependencyResolverProvider");
+   }
+
+   @Test
+   public void testChangesAreWrittenOnCommit() throws Exception
+   {
+      MavenCoreFacet maven = getProject().getFacet(MavenCoreFacet.class);
+      DependencyFacet deps = getProject().getFacet(DependencyFacet.class);
+
+      PomTransaction transaction = maven.beginTransaction();
+      try
+      {
+         for (int i = 0; i < 20; i++)
+         {
+            deps.addDirectDependency(DependencyBuilder.create("org.example:batch-" + i + ":1.0"));
+         }
+         deps.setProperty("batch.version", "1.0");
+
+         assertEquals(20, maven.getPOM().getDependencies().size());
+         assertEquals(0, readPOMFile(maven).getDependencies().size());
+         transaction.commit();
+      }
+      finally
+      {
+         transaction.rollback();
+      }
+
+      assertFalse(transaction.isActive());
+      Model written = readPOMFile(maven);
+      assertEquals(20, written.getDependencies().size());
+      assertEquals("1.0", written.getProperties().getProperty("batch.version"));
+   }
+
+   @Test
+   public void testRollbackDiscardsChanges() throws Exception
+   {
+      MavenCoreFacet maven = getProject().getFacet(MavenCoreFacet.class);
+      DependencyFacet deps = getProject().getFacet(DependencyFacet.class);
+      DependencyBuilder dependency = DependencyBuilder.create("org.example:rolled-back:1.0");
+
+      PomTransaction transaction = maven.beginTransaction();
+      deps.addDirectDependency(dependency);
+      assertTrue(deps.hasDirectDependency(dependency));
+      transaction.rollback();
+
+      assertFalse(deps.hasDirectDependency(dependency));
+      assertEquals(0, readPOMFile(maven).getDependencies().size());
+   }
+
+   @Test
+   public void testNestedTransactionsWriteOnOutermostCommit() throws Exception
+   {
+      MavenCoreFacet maven = getProject().getFacet(MavenCoreFacet.class);
+      DependencyFacet deps = getProject().getFacet(DependencyFacet.class);
+
+      PomTransaction outer = maven.beginTransaction();
+      PomTransaction inner = maven.beginTransaction();
+      deps.addDirectDependency(DependencyBuilder.create("org.example:nested:1.0"));
+      inner.commit();
+      assertEquals(0, readPOMFile(maven).getDependencies().size());
+
+      outer.commit();
+      assertEquals(1, readPOMFile(maven).getDependencies().size());
+   }
+
+   @Test
+   public void testNestedRollbackAbortsOuterCommit() throws Exception
+   {
+      MavenCoreFacet maven = getProject().getFacet(MavenCoreFacet.class);
+      DependencyFacet deps = getProject().getFacet(DependencyFacet.class);
+
+      PomTransaction outer = maven.beginTransaction();
+      PomTransaction inner = maven.beginTransaction();
+      deps.addDirectDependency(DependencyBuilder.create("org.example:nested:1.0"));
+      inner.rollback();
+
+      try
+      {
+         outer.commit();
+         fail("Commit should fail after a nested rollback");
+      }
+      catch (ProjectModelException e)
+      {
+         // expected
+      }
+      assertEquals(0, readPOMFile(maven).getDependencies().size());
+      assertEquals(0, maven.getPOM().getDependencies().size());
+   }
+
+   @Test(expected = IllegalStateException.class)
+   public void testCommitTwiceFails() throws Exception
+   {
+      PomTransaction transaction = getProject().getFacet(MavenCoreFacet.class).beginTransaction();
+      transaction.commit();
+      transaction.commit();
+   }
+
+   private Model readPOMFile(final MavenCoreFacet maven) throws Exception
+   {
+      FileReader reader = new FileReader(maven.getPOMFile().getUnderlyingResourceObject());
+      try
+      {
+         return new MavenXpp3Reader().read(reader);
+      }
+      finally
+      {
+         reader.close();
+      }
+   }
+}
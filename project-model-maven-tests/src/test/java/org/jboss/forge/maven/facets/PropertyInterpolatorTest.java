@@ -0,0 +1,66 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.facets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Properties;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class PropertyInterpolatorTest
+{
+   private PropertyInterpolator interpolator;
+
+   @Before
+   public void setUp()
+   {
+      Properties properties = new Properties();
+      properties.setProperty("version.forge", "1.0.0");
+      properties.setProperty("group", "org.jboss.forge");
+      properties.setProperty("coordinates", "${group}:forge-api:${version.forge}");
+      properties.setProperty("nested", "[${coordinates}]");
+      properties.setProperty("special", "a$1\\b");
+      properties.setProperty("cycle.a", "${cycle.b}");
+      properties.setProperty("cycle.b", "${cycle.a}");
+      interpolator = new PropertyInterpolator(properties);
+   }
+
+   @Test
+   public void testValuesWithoutReferencesAreReturnedAsIs()
+   {
+      String value = "plain";
+      assertSame(value, interpolator.interpolate(value));
+      assertNull(interpolator.interpolate(null));
+   }
+
+   @Test
+   public void testReferencesAreReplaced()
+   {
+      assertEquals("1.0.0", interpolator.interpolate("${version.forge}"));
+      assertEquals("org.jboss.forge-1.0.0.jar", interpolator.interpolate("${group}-${version.forge}.jar"));
+      assertEquals("a$1\\b", interpolator.interpolate("${special}"));
+   }
+
+   @Test
+   public void testNestedReferencesAreReplaced()
+   {
+      assertEquals("[org.jboss.forge:forge-api:1.0.0]", interpolator.interpolate("${nested}"));
+      assertEquals("org.jboss.forge:forge-api:1.0.0", interpolator.interpolate("${coordinates}"));
+   }
+
+   @Test
+   public void testUnresolvableReferencesAreKept()
+   {
+      assertEquals("${unknown}-1.0.0", interpolator.interpolate("${unknown}-${version.forge}"));
+      assertEquals("${cycle.b}", interpolator.interpolate("${cycle.b}"));
+      assertEquals("1.0.0 ${unterminated", interpolator.interpolate("${version.forge} ${unterminated"));
+   }
+}
@@ -0,0 +1,854 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.dependencies;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+import org.jboss.forge.project.ProjectModelException;
+import org.sonatype.aether.util.version.GenericVersionScheme;
+import org.sonatype.aether.version.InvalidVersionSpecificationException;
+import org.sonatype.aether.version.Version;
+import org.sonatype.aether.version.VersionConstraint;
+import org.sonatype.aether.version.VersionScheme;
+
+/**
+ * An index of the artifacts installed in a local Maven repository, answering group, artifact and version queries
+ * without walking the repository.
+ * <p>
+ * The index is a tree of the repository's directories. Each node records the directory's modification time, its
+ * sub-directories and the artifact files it contains. It is built once with a parallel directory walk and stored in a
+ * binary index file. Later scans only list directories whose modification time has changed; all others are re-used
+ * from the previous tree. A scan runs in the background when the index is older than {@link #REFRESH_INTERVAL}, or
+ * immediately when {@link #refresh()} is called. Queries never wait for a scan; the first one, or
+ * {@link #loadInBackground()}, starts loading the index. Version queries first compare the modification times of the
+ * artifact's directories with the index, so versions installed since the last scan are never missed.
+ */
+public class LocalRepositoryIndex
+{
+   public static final long REFRESH_INTERVAL = 60 * 1000;
+
+   private static final int MAGIC = 0x46524c49;
+   private static final int FORMAT_VERSION = 1;
+
+   /**
+    * Directory modification times closer than this to the start of a scan are not trusted, since a file created later
+    * in the same clock tick would not change them.
+    */
+   private static final long MODIFICATION_GRANULARITY = 2000;
+
+   private static final Pattern SNAPSHOT_TIMESTAMP = Pattern.compile("\\d{8}\\.\\d{6}-\\d+");
+   private static final String[] IGNORED_SUFFIXES = { ".sha1", ".md5", ".asc", ".lastUpdated", ".part" };
+
+   private static final VersionScheme versionScheme = new GenericVersionScheme();
+
+   private final File repository;
+   private final File indexFile;
+   private final Object scanLock = new Object();
+   private final AtomicBoolean refreshing = new AtomicBoolean();
+
+   private static final Snapshot EMPTY = new Snapshot(new Node(""), 0);
+
+   private volatile Snapshot snapshot;
+
+   public LocalRepositoryIndex(final File repository, final File indexFile)
+   {
+      this.repository = repository;
+      this.indexFile = indexFile;
+   }
+
+   public File getRepository()
+   {
+      return repository;
+   }
+
+   /**
+    * Return the installed group IDs starting with the given prefix, in alphabetical order.
+    */
+   public List<String> getGroupIds(final String prefix)
+   {
+      return new ArrayList<String>(subMap(getSnapshot().groups, prefix).keySet());
+   }
+
+   /**
+    * Return the installed artifact IDs of the given group starting with the given prefix, in alphabetical order.
+    */
+   public List<String> getArtifactIds(final String groupId, final String prefix)
+   {
+      SortedMap<String, SortedMap<Version, String[]>> artifacts = getSnapshot().groups.get(groupId);
+      if (artifacts == null)
+      {
+         return Collections.emptyList();
+      }
+      return new ArrayList<String>(subMap(artifacts, prefix).keySet());
+   }
+
+   /**
+    * Return the installed versions of the given artifact, oldest first.
+    */
+   public List<String> getVersions(final String groupId, final String artifactId)
+   {
+      List<String> result = new ArrayList<String>();
+      for (Version version : getVersionMap(groupId, artifactId).keySet())
+      {
+         result.add(version.toString());
+      }
+      return result;
+   }
+
+   /**
+    * Return the installed versions of the given artifact that match the given version or version range, oldest first.
+    * A null or empty version matches every installed version.
+    */
+   public List<String> getVersions(final String groupId, final String artifactId, final String version)
+   {
+      if (version == null || version.trim().isEmpty())
+      {
+         return getVersions(groupId, artifactId);
+      }
+
+      VersionConstraint constraint;
+      try
+      {
+         String spec = version.trim();
+         constraint = versionScheme.parseVersionConstraint(spec.matches("(\\(|\\[).*?(\\)|\\])") ? spec : "["
+                  + spec + "]");
+      }
+      catch (InvalidVersionSpecificationException e)
+      {
+         throw new ProjectModelException("Invalid version [" + version + "]", e);
+      }
+
+      List<String> result = new ArrayList<String>();
+      for (Version candidate : getVersionMap(groupId, artifactId).keySet())
+      {
+         if (constraint.containsVersion(candidate))
+         {
+            result.add(candidate.toString());
+         }
+      }
+      return result;
+   }
+
+   /**
+    * Return the file extensions of the main (unclassified) artifacts installed for the given version, such as "pom"
+    * and "jar".
+    */
+   public List<String> getPackagingTypes(final String groupId, final String artifactId, final String version)
+   {
+      for (Map.Entry<Version, String[]> entry : getVersionMap(groupId, artifactId).entrySet())
+      {
+         if (entry.getKey().toString().equals(version))
+         {
+            return Arrays.asList(entry.getValue());
+         }
+      }
+      return Collections.emptyList();
+   }
+
+   /**
+    * Return the main artifact file of the given version and packaging type, or null if it is not installed.
+    */
+   public File getFile(final String groupId, final String artifactId, final String version, final String packaging)
+   {
+      if (groupId == null || artifactId == null || version == null || packaging == null
+               || !getPackagingTypes(groupId, artifactId, version).contains(packaging))
+      {
+         return null;
+      }
+
+      File file = new File(repository, groupId.replace('.', File.separatorChar) + File.separator + artifactId
+               + File.separator + version + File.separator + artifactId + "-" + version + "." + packaging);
+      return file.isFile() ? file : null;
+   }
+
+   /**
+    * Bring the index up to date with the repository, blocking until the scan has finished.
+    */
+   public void refresh()
+   {
+      synchronized (scanLock)
+      {
+         Snapshot current = snapshot;
+         if (current == null)
+         {
+            current = read();
+         }
+         snapshot = scan(current == null ? null : current.root);
+         write(snapshot);
+      }
+   }
+
+   /**
+    * Start loading the index on a background thread, if it has not been loaded yet. Until it is loaded, group and
+    * artifact queries return nothing, and version queries list the artifact's directory directly.
+    */
+   public void loadInBackground()
+   {
+      if (snapshot == null)
+      {
+         inBackground(true);
+      }
+   }
+
+   /**
+    * Return true once the index has been read from the index file or built by a first scan.
+    */
+   public boolean isReady()
+   {
+      return snapshot != null;
+   }
+
+   private void load()
+   {
+      synchronized (scanLock)
+      {
+         if (snapshot == null)
+         {
+            Snapshot current = read();
+            if (current == null)
+            {
+               current = scan(null);
+               write(current);
+            }
+            snapshot = current;
+         }
+      }
+   }
+
+   /*
+    * Never blocks on a scan: a missing snapshot is loaded, and an old one refreshed, in the background.
+    */
+   private Snapshot getSnapshot()
+   {
+      Snapshot current = snapshot;
+      if (current == null)
+      {
+         inBackground(true);
+         return EMPTY;
+      }
+
+      if (System.currentTimeMillis() - current.scanned > REFRESH_INTERVAL)
+      {
+         inBackground(false);
+      }
+      return current;
+   }
+
+   private void refreshInBackground()
+   {
+      inBackground(snapshot == null);
+   }
+
+   private void inBackground(final boolean initial)
+   {
+      if (refreshing.compareAndSet(false, true))
+      {
+         Thread thread = new Thread("Forge local repository index")
+         {
+            @Override
+            public void run()
+            {
+               try
+               {
+                  if (initial)
+                  {
+                     load();
+                  }
+                  else
+                  {
+                     refresh();
+                  }
+               }
+               catch (RuntimeException e)
+               {
+                  // keep answering from the previous snapshot
+               }
+               finally
+               {
+                  refreshing.set(false);
+               }
+            }
+         };
+         thread.setDaemon(true);
+         thread.start();
+      }
+   }
+
+   /**
+    * Return the installed versions of an artifact. The snapshot is trusted only while the modification times of the
+    * artifact's directory and of its version directories are unchanged; otherwise the artifact is listed again, and a
+    * background refresh brings the rest of the index up to date.
+    */
+   private SortedMap<Version, String[]> getVersionMap(final String groupId, final String artifactId)
+   {
+      Snapshot current = getSnapshot();
+      File directory = new File(repository, groupId.replace('.', File.separatorChar) + File.separator + artifactId);
+      Node node = current.find(groupId, artifactId);
+      if (isCurrent(directory, node))
+      {
+         SortedMap<String, SortedMap<Version, String[]>> artifacts = current.groups.get(groupId);
+         if (artifacts != null && artifacts.containsKey(artifactId))
+         {
+            return artifacts.get(artifactId);
+         }
+         return new TreeMap<Version, String[]>();
+      }
+
+      refreshInBackground();
+      return list(directory, artifactId);
+   }
+
+   private static boolean isCurrent(final File directory, final Node node)
+   {
+      if (node == null)
+      {
+         return !directory.exists();
+      }
+      if (node.modified == 0 || node.modified != directory.lastModified())
+      {
+         return false;
+      }
+      for (Node child : node.children)
+      {
+         if (child.modified == 0 || child.modified != new File(directory, child.name).lastModified())
+         {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private static SortedMap<Version, String[]> list(final File directory, final String artifactId)
+   {
+      SortedMap<Version, String[]> result = new TreeMap<Version, String[]>();
+      File[] versions = directory.listFiles();
+      if (versions == null)
+      {
+         return result;
+      }
+
+      for (File versionDirectory : versions)
+      {
+         String version = versionDirectory.getName();
+         if (version.startsWith(".") || !versionDirectory.isDirectory())
+         {
+            continue;
+         }
+         List<String> files = new ArrayList<String>();
+         String[] names = versionDirectory.list();
+         if (names != null)
+         {
+            for (String name : names)
+            {
+               if (isArtifactFile(name, artifactId, version) && new File(versionDirectory, name).isFile())
+               {
+                  files.add(name);
+               }
+            }
+         }
+         if (files.isEmpty())
+         {
+            continue;
+         }
+         Collections.sort(files);
+         try
+         {
+            result.put(versionScheme.parseVersion(version),
+                     getPackagingTypes(artifactId, version, files.toArray(new String[files.size()])));
+         }
+         catch (InvalidVersionSpecificationException e)
+         {
+            // not a version directory
+         }
+      }
+      return result;
+   }
+
+   private static <T> SortedMap<String, T> subMap(final SortedMap<String, T> map, final String prefix)
+   {
+      if (prefix == null || prefix.isEmpty())
+      {
+         return map;
+      }
+      return map.subMap(prefix, prefix + Character.MAX_VALUE);
+   }
+
+   /*
+    * Scanning
+    */
+   private Snapshot scan(final Node previous)
+   {
+      final long started = System.currentTimeMillis();
+      final Node root = new Node(repository.getName());
+
+      if (repository.isDirectory())
+      {
+         int threads = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors() * 2));
+         ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory()
+         {
+            @Override
+            public Thread newThread(final Runnable r)
+            {
+               Thread thread = new Thread(r, "Forge local repository scanner");
+               thread.setDaemon(true);
+               return thread;
+            }
+         });
+
+         try
+         {
+            new Walk(executor, started).run(repository, root, previous, "");
+         }
+         finally
+         {
+            executor.shutdownNow();
+         }
+      }
+      else
+      {
+         root.children = new Node[0];
+         root.files = new String[0];
+      }
+      return new Snapshot(root, started);
+   }
+
+   /**
+    * Lists one directory per task, submitting a task for each of its sub-directories. The walk is complete when no
+    * tasks are pending.
+    */
+   private class Walk
+   {
+      private final ExecutorService executor;
+      private final long started;
+      private final AtomicInteger pending = new AtomicInteger();
+      private final AtomicReference<RuntimeException> failure = new AtomicReference<RuntimeException>();
+
+      public Walk(final ExecutorService executor, final long started)
+      {
+         this.executor = executor;
+         this.started = started;
+      }
+
+      public void run(final File directory, final Node node, final Node previous, final String parentName)
+      {
+         submit(directory, node, previous, parentName);
+         synchronized (pending)
+         {
+            while (pending.get() > 0)
+            {
+               try
+               {
+                  pending.wait();
+               }
+               catch (InterruptedException e)
+               {
+                  Thread.currentThread().interrupt();
+                  throw new ProjectModelException("Interrupted while indexing local repository [" + repository
+                           + "]", e);
+               }
+            }
+         }
+         if (failure.get() != null)
+         {
+            throw failure.get();
+         }
+      }
+
+      private void submit(final File directory, final Node node, final Node previous, final String parentName)
+      {
+         pending.incrementAndGet();
+         executor.execute(new Runnable()
+         {
+            @Override
+            public void run()
+            {
+               try
+               {
+                  visit(directory, node, previous, parentName);
+               }
+               catch (RuntimeException e)
+               {
+                  failure.compareAndSet(null, e);
+               }
+               finally
+               {
+                  if (pending.decrementAndGet() == 0)
+                  {
+                     synchronized (pending)
+                     {
+                        pending.notifyAll();
+                     }
+                  }
+               }
+            }
+         });
+      }
+
+      private void visit(final File directory, final Node node, final Node previous, final String parentName)
+      {
+         long modified = directory.lastModified();
+         node.modified = started - modified < MODIFICATION_GRANULARITY ? 0 : modified;
+
+         String[] directories;
+         if (previous != null && modified != 0 && previous.modified == modified)
+         {
+            directories = new String[previous.children.length];
+            for (int i = 0; i < directories.length; i++)
+            {
+               directories[i] = previous.children[i].name;
+            }
+            node.files = previous.files;
+         }
+         else
+         {
+            List<String> dirs = new ArrayList<String>();
+            List<String> files = new ArrayList<String>();
+            File[] entries = directory.listFiles();
+            if (entries != null)
+            {
+               for (File entry : entries)
+               {
+                  String name = entry.getName();
+                  if (name.startsWith("."))
+                  {
+                     continue;
+                  }
+                  if (entry.isDirectory())
+                  {
+                     dirs.add(name);
+                  }
+                  else if (isArtifactFile(name, parentName, node.name))
+                  {
+                     files.add(name);
+                  }
+               }
+            }
+            directories = dirs.toArray(new String[dirs.size()]);
+            Arrays.sort(directories);
+            node.files = files.toArray(new String[files.size()]);
+            Arrays.sort(node.files);
+         }
+
+         Node[] children = new Node[directories.length];
+         for (int i = 0; i < directories.length; i++)
+         {
+            children[i] = new Node(directories[i]);
+         }
+         node.children = children;
+
+         for (Node child : children)
+         {
+            submit(new File(directory, child.name), child, previous == null ? null : previous.getChild(child.name),
+                     node.name);
+         }
+      }
+   }
+
+   /**
+    * Artifact files in a version directory are named <code>artifactId-version[-classifier].extension</code>, where
+    * the version of a SNAPSHOT may be replaced by a timestamp.
+    */
+   private static boolean isArtifactFile(final String name, final String artifactId, final String version)
+   {
+      String base = version.endsWith("-SNAPSHOT") ? version.substring(0, version.length() - "SNAPSHOT".length())
+               : version;
+      if (artifactId.isEmpty() || !name.startsWith(artifactId + "-" + base))
+      {
+         return false;
+      }
+      for (String suffix : IGNORED_SUFFIXES)
+      {
+         if (name.endsWith(suffix))
+         {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private static String[] getPackagingTypes(final String artifactId, final String version, final String[] files)
+   {
+      String snapshotBase = version.endsWith("-SNAPSHOT") ? version.substring(0,
+               version.length() - "SNAPSHOT".length()) : null;
+
+      List<String> result = new ArrayList<String>();
+      for (String file : files)
+      {
+         String rest = file.substring(artifactId.length() + 1);
+         String extension = null;
+         if (rest.startsWith(version + "."))
+         {
+            extension = rest.substring(version.length() + 1);
+         }
+         else if (snapshotBase != null && rest.startsWith(snapshotBase))
+         {
+            String timestamped = rest.substring(snapshotBase.length());
+            int dot = timestamped.indexOf('.', timestamped.indexOf('-'));
+            if (dot > 0 && SNAPSHOT_TIMESTAMP.matcher(timestamped.substring(0, dot)).matches())
+            {
+               extension = timestamped.substring(dot + 1);
+            }
+         }
+         if (extension != null && !extension.isEmpty() && !result.contains(extension))
+         {
+            result.add(extension);
+         }
+      }
+      return result.toArray(new String[result.size()]);
+   }
+
+   /*
+    * Persistence
+    */
+   private Snapshot read()
+   {
+      if (indexFile == null || !indexFile.isFile())
+      {
+         return null;
+      }
+
+      try
+      {
+         DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)));
+         try
+         {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION
+                     || !repository.getAbsolutePath().equals(in.readUTF()))
+            {
+               return null;
+            }
+            long scanned = in.readLong();
+            return new Snapshot(readNode(in), scanned);
+         }
+         finally
+         {
+            in.close();
+         }
+      }
+      catch (IOException e)
+      {
+         return null;
+      }
+   }
+
+   private Node readNode(final DataInputStream in) throws IOException
+   {
+      Node node = new Node(in.readUTF());
+      node.modified = in.readLong();
+      node.files = new String[in.readInt()];
+      for (int i = 0; i < node.files.length; i++)
+      {
+         node.files[i] = in.readUTF();
+      }
+      node.children = new Node[in.readInt()];
+      for (int i = 0; i < node.children.length; i++)
+      {
+         node.children[i] = readNode(in);
+      }
+      return node;
+   }
+
+   private void write(final Snapshot snapshot)
+   {
+      if (indexFile == null)
+      {
+         return;
+      }
+
+      try
+      {
+         indexFile.getParentFile().mkdirs();
+         File temp = new File(indexFile.getParentFile(), indexFile.getName() + ".tmp");
+         DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+         try
+         {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(repository.getAbsolutePath());
+            out.writeLong(snapshot.scanned);
+            writeNode(out, snapshot.root);
+         }
+         finally
+         {
+            out.close();
+         }
+
+         if (!temp.renameTo(indexFile))
+         {
+            indexFile.delete();
+            if (!temp.renameTo(indexFile))
+            {
+               temp.delete();
+            }
+         }
+      }
+      catch (IOException e)
+      {
+         // the index is rebuilt by the next session
+      }
+   }
+
+   private void writeNode(final DataOutputStream out, final Node node) throws IOException
+   {
+      out.writeUTF(node.name);
+      out.writeLong(node.modified);
+      out.writeInt(node.files.length);
+      for (String file : node.files)
+      {
+         out.writeUTF(file);
+      }
+      out.writeInt(node.children.length);
+      for (Node child : node.children)
+      {
+         writeNode(out, child);
+      }
+   }
+
+   /**
+    * A directory of the repository. Fields are written by a single scan task and published to other threads by the
+    * completion of the walk.
+    */
+   private static class Node
+   {
+      private final String name;
+      private long modified;
+      private Node[] children;
+      private String[] files;
+
+      public Node(final String name)
+      {
+         this.name = name;
+         this.children = new Node[0];
+         this.files = new String[0];
+      }
+
+      public Node getChild(final String name)
+      {
+         int low = 0;
+         int high = children.length - 1;
+         while (low <= high)
+         {
+            int mid = (low + high) >>> 1;
+            int cmp = children[mid].name.compareTo(name);
+            if (cmp < 0)
+               low = mid + 1;
+            else if (cmp > 0)
+               high = mid - 1;
+            else
+               return children[mid];
+         }
+         return null;
+      }
+   }
+
+   /**
+    * An immutable directory tree together with the coordinates derived from it. A directory holding files named after
+    * its parent directory is taken to be a version directory: <code>group/path/artifactId/version/</code>.
+    */
+   private static class Snapshot
+   {
+      private final Node root;
+      private final long scanned;
+      private final SortedMap<String, SortedMap<String, SortedMap<Version, String[]>>> groups = new TreeMap<String, SortedMap<String, SortedMap<Version, String[]>>>();
+
+      public Snapshot(final Node root, final long scanned)
+      {
+         this.root = root;
+         this.scanned = scanned;
+         for (Node child : root.children)
+         {
+            collect(child, new ArrayList<String>());
+         }
+      }
+
+      public Node find(final String groupId, final String artifactId)
+      {
+         Node node = root;
+         for (String segment : groupId.split("\\."))
+         {
+            node = node.getChild(segment);
+            if (node == null)
+            {
+               return null;
+            }
+         }
+         return node.getChild(artifactId);
+      }
+
+      private void collect(final Node node, final List<String> path)
+      {
+         if (node.files.length > 0 && path.size() >= 2)
+         {
+            addVersion(path, node);
+         }
+
+         path.add(node.name);
+         for (Node child : node.children)
+         {
+            collect(child, path);
+         }
+         path.remove(path.size() - 1);
+      }
+
+      private void addVersion(final List<String> path, final Node node)
+      {
+         StringBuilder groupId = new StringBuilder();
+         for (int i = 0; i < path.size() - 1; i++)
+         {
+            if (i > 0)
+               groupId.append('.');
+            groupId.append(path.get(i));
+         }
+         String artifactId = path.get(path.size() - 1);
+
+         Version version;
+         try
+         {
+            version = versionScheme.parseVersion(node.name);
+         }
+         catch (InvalidVersionSpecificationException e)
+         {
+            return;
+         }
+
+         SortedMap<String, SortedMap<Version, String[]>> artifacts = groups.get(groupId.toString());
+         if (artifacts == null)
+         {
+            artifacts = new TreeMap<String, SortedMap<Version, String[]>>();
+            groups.put(groupId.toString(), artifacts);
+         }
+         SortedMap<Version, String[]> versions = artifacts.get(artifactId);
+         if (versions == null)
+         {
+            versions = new TreeMap<Version, String[]>();
+            artifacts.put(artifactId, versions);
+         }
+         versions.put(version, getPackagingTypes(artifactId, node.name, node.files));
+      }
+   }
+}
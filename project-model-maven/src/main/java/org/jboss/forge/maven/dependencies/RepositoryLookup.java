@@ -12,11 +12,10 @@ import java.util.Arrays;
 import java.util.List;
 
 import javax.enterprise.context.Dependent;
+import javax.enterprise.event.Event;
 import javax.inject.Inject;
 
-import org.apache.maven.repository.internal.MavenRepositorySystemSession;
 import org.apache.maven.settings.Proxy;
-import org.apache.maven.settings.Settings;
 import org.jboss.forge.ForgeEnvironment;
 import org.jboss.forge.maven.MavenCoreFacet;
 import org.jboss.forge.maven.RepositoryUtils;
@@ -29,12 +28,12 @@ import org.jboss.forge.project.dependencies.DependencyBuilder;
 import org.jboss.forge.project.dependencies.DependencyMetadata;
 import org.jboss.forge.project.dependencies.DependencyRepository;
 import org.jboss.forge.project.dependencies.DependencyResolverProvider;
+import org.jboss.forge.project.dependencies.events.ArtifactTransferred;
+import org.jboss.forge.project.dependencies.events.UnresolvedArtifact;
 import org.jboss.forge.project.services.ResourceFactory;
 import org.jboss.forge.resources.DependencyResource;
-import org.jboss.forge.resources.DirectoryResource;
-import org.jboss.forge.resources.FileResource;
-import org.jboss.forge.resources.Resource;
 import org.sonatype.aether.RepositorySystem;
+import org.sonatype.aether.RepositorySystemSession;
 import org.sonatype.aether.artifact.Artifact;
 import org.sonatype.aether.collection.CollectRequest;
 import org.sonatype.aether.repository.ArtifactRepository;
@@ -42,7 +41,6 @@ import org.sonatype.aether.repository.LocalArtifactRequest;
 import org.sonatype.aether.repository.LocalArtifactResult;
 import org.sonatype.aether.repository.LocalRepository;
 import org.sonatype.aether.repository.RemoteRepository;
-import org.sonatype.aether.repository.RepositoryPolicy;
 import org.sonatype.aether.resolution.ArtifactDescriptorRequest;
 import org.sonatype.aether.resolution.ArtifactDescriptorResult;
 import org.sonatype.aether.resolution.ArtifactRequest;
@@ -52,7 +50,11 @@ import org.sonatype.aether.resolution.DependencyRequest;
 import org.sonatype.aether.resolution.DependencyResult;
 import org.sonatype.aether.resolution.VersionRangeRequest;
 import org.sonatype.aether.resolution.VersionRangeResult;
+import org.sonatype.aether.transfer.TransferEvent;
+import org.sonatype.aether.transfer.TransferResource;
+import org.sonatype.aether.util.DefaultRepositorySystemSession;
 import org.sonatype.aether.util.artifact.DefaultArtifact;
+import org.sonatype.aether.util.listener.AbstractTransferListener;
 import org.sonatype.aether.version.Version;
 
 /**
@@ -61,9 +63,20 @@ import org.sonatype.aether.version.Version;
 @Dependent
 public class RepositoryLookup implements DependencyResolverProvider
 {
+   /**
+    * The number of artifacts downloaded concurrently by {@link #resolveArtifacts(Dependency, List)}.
+    */
+   public static final String PROP_DOWNLOAD_THREADS = "MAVEN_DOWNLOAD_THREADS";
+
+   private static final int DEFAULT_DOWNLOAD_THREADS = 5;
+   private static final String WAGON_THREADS = "aether.connector.wagon.threads";
+
    private MavenContainer container;
    private ResourceFactory factory;
    private ForgeEnvironment environment;
+   private RepositorySessionPool sessions;
+   private Event<ArtifactTransferred> transferred;
+   private Event<UnresolvedArtifact> unresolved;
 
    public RepositoryLookup()
    {
@@ -71,11 +84,15 @@ public class RepositoryLookup implements DependencyResolverProvider
 
    @Inject
    public RepositoryLookup(final MavenContainer container, final ResourceFactory factory,
-            final ForgeEnvironment environment)
+            final ForgeEnvironment environment, final RepositorySessionPool sessions,
+            final Event<ArtifactTransferred> transferred, final Event<UnresolvedArtifact> unresolved)
    {
       this.container = container;
       this.factory = factory;
       this.environment = environment;
+      this.sessions = sessions;
+      this.transferred = transferred;
+      this.unresolved = unresolved;
    }
 
    @Override
@@ -103,48 +120,37 @@ public class RepositoryLookup implements DependencyResolverProvider
        */
       if (dep.getVersion() != null)
       {
-         DirectoryResource dir = (DirectoryResource) factory.getResourceFrom(new File(container.getSettings()
-                  .getLocalRepository()));
-         if ((dir != null) && dir.exists())
+         File file = sessions.getLocalRepositoryIndex().getFile(dep.getGroupId(), dep.getArtifactId(),
+                  dep.getVersion(), dep.getPackagingType() == null ? "jar" : dep.getPackagingType());
+         if (file != null)
          {
-            List<String> segments = new ArrayList<String>();
-            segments.addAll(Arrays.asList((dep.getGroupId() + "." + dep.getArtifactId()).split("\\.")));
-            segments.add(dep.getVersion());
-
-            for (String seg : segments)
-            {
-               dir = dir.getChildDirectory(seg);
-               if (!dir.isDirectory())
-               {
-                  break;
-               }
-            }
-
-            if (dir.isDirectory())
-            {
-               Resource<?> jar = dir.getChild(dep.getArtifactId() + "-" + dep.getVersion() + "."
-                        + dep.getPackagingType());
-               if (jar.exists())
-               {
-                  FileResource<?> jarFile = jar.reify(FileResource.class);
-                  result.add(new DependencyResource(jarFile.getResourceFactory(), jarFile
-                           .getUnderlyingResourceObject(), dep));
-               }
-            }
+            result.add(new DependencyResource(factory, file, dep));
          }
       }
 
       if (result.isEmpty())
       {
-         MavenRepositorySystemSession session = setupRepoSession(system);
+         DefaultRepositorySystemSession session = sessions.getSession(system);
 
          session.setIgnoreInvalidArtifactDescriptor(true);
          session.setIgnoreMissingArtifactDescriptor(true);
+         session.setConfigProperty(WAGON_THREADS, getDownloadThreads());
+         session.setTransferListener(new TransferEventForwarder());
 
          VersionRangeResult versions = getVersions(dep, convertToMavenRepos(repositories));
 
-         VERSION: for (Version version : versions.getVersions())
+         /*
+          * Remote artifacts are submitted in a single batch, so that the connector can download them concurrently.
+          * Slots keep the results in version order.
+          */
+         DependencyResource[] slots = new DependencyResource[versions.getVersions().size()];
+         List<ArtifactRequest> requests = new ArrayList<ArtifactRequest>();
+         List<Integer> requestSlots = new ArrayList<Integer>();
+         List<Dependency> requestVersions = new ArrayList<Dependency>();
+
+         for (int i = 0; i < slots.length; i++)
          {
+            Version version = versions.getVersions().get(i);
             ArtifactRepository ar = versions.getRepository(version);
             DependencyBuilder currentVersion = DependencyBuilder.create(dep).setVersion(version.toString());
             Artifact artifact = dependencyToMavenArtifact(currentVersion);
@@ -153,45 +159,127 @@ public class RepositoryLookup implements DependencyResolverProvider
             {
                LocalArtifactRequest request = new LocalArtifactRequest(artifact, null, null);
                LocalArtifactResult a = session.getLocalRepositoryManager().find(session, request);
-
-               File file = a.getFile();
-               DependencyResource resource = new DependencyResource(factory, file, currentVersion);
-               if (!result.contains(resource))
-               {
-                  result.add(resource);
-                  continue VERSION;
-               }
+               slots[i] = new DependencyResource(factory, a.getFile(), currentVersion);
             }
-            if (ar instanceof RemoteRepository)
+            else if (ar instanceof RemoteRepository)
             {
                ArtifactRequest request = new ArtifactRequest();
-               RemoteRepository remoteRepo = new RemoteRepository(ar.getId(), ar.getContentType(),
-                        ((RemoteRepository) ar).getUrl());
-               request.addRepository(remoteRepo);
+               request.addRepository((RemoteRepository) ar);
                request.setArtifact(artifact);
+               requests.add(request);
+               requestSlots.add(i);
+               requestVersions.add(currentVersion);
+            }
+         }
 
-               try
-               {
-                  ArtifactResult a = system.resolveArtifact(session, request);
-
-                  File file = a.getArtifact().getFile();
-                  DependencyResource resource = new DependencyResource(factory, file, currentVersion);
-                  if (!result.contains(resource))
-                  {
-                     result.add(resource);
-                     continue VERSION;
-                  }
-               }
-               catch (ArtifactResolutionException e)
+         List<ArtifactResult> results = resolveArtifacts(system, session, requests);
+         for (int i = 0; i < results.size(); i++)
+         {
+            ArtifactResult a = results.get(i);
+            if (a.isResolved())
+            {
+               slots[requestSlots.get(i)] = new DependencyResource(factory, a.getArtifact().getFile(),
+                        requestVersions.get(i));
+            }
+            else
+            {
+               List<String> urls = new ArrayList<String>();
+               for (RemoteRepository repository : a.getRequest().getRepositories())
                {
-                  System.out.println(e.getMessage());
+                  urls.add(repository.getUrl());
                }
+               report(unresolved, new UnresolvedArtifact(requestVersions.get(i), urls, a.getExceptions()));
+            }
+         }
+
+         for (DependencyResource resource : slots)
+         {
+            if (resource != null && !result.contains(resource))
+            {
+               result.add(resource);
             }
          }
       }
       return result;
    }
 
+   private List<ArtifactResult> resolveArtifacts(final RepositorySystem system,
+            final RepositorySystemSession session, final List<ArtifactRequest> requests)
+   {
+      if (requests.isEmpty())
+      {
+         return new ArrayList<ArtifactResult>();
+      }
+      try
+      {
+         return system.resolveArtifacts(session, requests);
+      }
+      catch (ArtifactResolutionException e)
+      {
+         return e.getResults();
+      }
+   }
+
+   /**
+    * Progress and failure reports are informational; a failing observer must not fail the resolution.
+    */
+   private <T> void report(final Event<T> event, final T payload)
+   {
+      try
+      {
+         event.fire(payload);
+      }
+      catch (RuntimeException e)
+      {
+         // ignore
+      }
+   }
+
+   private int getDownloadThreads()
+   {
+      Object value = environment.getProperty(PROP_DOWNLOAD_THREADS);
+      if (value != null)
+      {
+         try
+         {
+            return Math.max(1, Integer.parseInt(value.toString().trim()));
+         }
+         catch (NumberFormatException e)
+         {
+            // fall back to the default
+         }
+      }
+      return DEFAULT_DOWNLOAD_THREADS;
+   }
+
+   /**
+    * Reports each completed or failed download as an {@link ArtifactTransferred} event.
+    */
+   private class TransferEventForwarder extends AbstractTransferListener
+   {
+      @Override
+      public void transferSucceeded(final TransferEvent event)
+      {
+         fire(event, null);
+      }
+
+      @Override
+      public void transferFailed(final TransferEvent event)
+      {
+         fire(event, event.getException());
+      }
+
+      private void fire(final TransferEvent event, final Exception failure)
+      {
+         if (event.getRequestType() == TransferEvent.RequestType.GET)
+         {
+            TransferResource resource = event.getResource();
+            report(transferred, new ArtifactTransferred(resource.getRepositoryUrl(), resource.getResourceName(),
+                     event.getTransferredBytes(), failure));
+         }
+      }
+   }
+
    @Override
    public List<DependencyResource> resolveDependencies(final Dependency query)
    {
@@ -217,7 +305,7 @@ public class RepositoryLookup implements DependencyResolverProvider
          }
 
          RepositorySystem system = container.lookup(RepositorySystem.class);
-         MavenRepositorySystemSession session = setupRepoSession(system);
+         RepositorySystemSession session = sessions.getSession(system);
 
          Artifact artifact = dependencyToMavenArtifact(dep);
          CollectRequest collectRequest = new CollectRequest(new org.sonatype.aether.graph.Dependency(artifact, null),
@@ -266,12 +354,11 @@ public class RepositoryLookup implements DependencyResolverProvider
          }
 
          RepositorySystem system = container.lookup(RepositorySystem.class);
-         MavenRepositorySystemSession session = setupRepoSession(system);
 
          Artifact artifact = dependencyToMavenArtifact(query);
 
          ArtifactDescriptorRequest ar = new ArtifactDescriptorRequest(artifact, convertToMavenRepos(repositories), null);
-         ArtifactDescriptorResult results = system.readArtifactDescriptor(session, ar);
+         ArtifactDescriptorResult results = sessions.readArtifactDescriptor(system, ar);
 
          Artifact a = results.getArtifact();
          Dependency d = DependencyBuilder.create().setArtifactId(a.getArtifactId()).setGroupId(a.getGroupId())
@@ -302,6 +389,24 @@ public class RepositoryLookup implements DependencyResolverProvider
    {
       List<Dependency> result = new ArrayList<Dependency>();
 
+      /*
+       * Offline, answer from the local repository index when it knows the artifact, instead of reading repository
+       * metadata through aether. The index only describes the local repository, so queries against explicit
+       * repositories still go through aether.
+       */
+      if (!environment.isOnline() && (repositories == null || repositories.isEmpty()))
+      {
+         for (String version : sessions.getLocalRepositoryIndex().getVersions(dep.getGroupId(), dep.getArtifactId(),
+                  dep.getVersion()))
+         {
+            result.add(DependencyBuilder.create(dep).setVersion(version));
+         }
+         if (!result.isEmpty())
+         {
+            return result;
+         }
+      }
+
       List<RemoteRepository> remoteRepos = convertToMavenRepos(repositories);
       VersionRangeResult r = getVersions(dep, remoteRepos);
 
@@ -313,25 +418,9 @@ public class RepositoryLookup implements DependencyResolverProvider
       return result;
    }
 
-   private MavenRepositorySystemSession setupRepoSession(final RepositorySystem repoSystem)
-   {
-      MavenRepositorySystemSession session = new MavenRepositorySystemSession();
-      session.setOffline(!environment.isOnline());
-      Settings settings = container.getSettings();
-
-      LocalRepository localRepo = new LocalRepository(new File(settings.getLocalRepository()), "");
-      session.setLocalRepositoryManager(repoSystem.newLocalRepositoryManager(localRepo));
-      session.setTransferErrorCachingEnabled(false);
-      session.setNotFoundCachingEnabled(false);
-
-      return session;
-   }
-
-   private RemoteRepository convertToMavenRepo(final DependencyRepository repo)
+   private RemoteRepository convertToMavenRepo(final DependencyRepository repo, final Proxy activeProxy)
    {
       RemoteRepository remoteRepository = new RemoteRepository(repo.getId(), "default", repo.getUrl());
-      Settings settings = container.getSettings();
-      Proxy activeProxy = settings.getActiveProxy();
       if (activeProxy != null)
       {
          remoteRepository.setProxy(RepositoryUtils.convertFromMavenProxy(activeProxy));
@@ -354,9 +443,10 @@ public class RepositoryLookup implements DependencyResolverProvider
       {
          temp.addAll(repositories);
 
+         Proxy activeProxy = container.getSettings().getActiveProxy();
          for (DependencyRepository deprep : temp)
          {
-            remoteRepos.add(convertToMavenRepo(deprep));
+            remoteRepos.add(convertToMavenRepo(deprep, activeProxy));
          }
       }
       return remoteRepos;
@@ -377,13 +467,11 @@ public class RepositoryLookup implements DependencyResolverProvider
          }
 
          RepositorySystem maven = container.lookup(RepositorySystem.class);
-         MavenRepositorySystemSession session = setupRepoSession(maven);
-         session.setUpdatePolicy(RepositoryPolicy.UPDATE_POLICY_ALWAYS);
 
          Artifact artifact = dependencyToMavenArtifact(dep);
          VersionRangeRequest rangeRequest = new VersionRangeRequest(artifact, repositories, null);
 
-         VersionRangeResult rangeResult = maven.resolveVersionRange(session, rangeRequest);
+         VersionRangeResult rangeResult = sessions.resolveVersionRange(maven, rangeRequest);
          return rangeResult;
       }
       catch (Exception e)
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.dependencies;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.apache.maven.repository.internal.MavenRepositorySystemSession;
+import org.jboss.forge.ForgeEnvironment;
+import org.jboss.forge.maven.facets.MavenContainer;
+import org.jboss.forge.project.dependencies.events.RefreshDependencyMetadata;
+import org.jboss.forge.shell.events.PostStartup;
+import org.sonatype.aether.RepositorySystem;
+import org.sonatype.aether.RepositorySystemSession;
+import org.sonatype.aether.artifact.Artifact;
+import org.sonatype.aether.repository.LocalRepository;
+import org.sonatype.aether.repository.RemoteRepository;
+import org.sonatype.aether.repository.RepositoryPolicy;
+import org.sonatype.aether.resolution.ArtifactDescriptorException;
+import org.sonatype.aether.resolution.ArtifactDescriptorRequest;
+import org.sonatype.aether.resolution.ArtifactDescriptorResult;
+import org.sonatype.aether.resolution.VersionRangeRequest;
+import org.sonatype.aether.resolution.VersionRangeResolutionException;
+import org.sonatype.aether.resolution.VersionRangeResult;
+import org.sonatype.aether.util.DefaultRepositorySystemSession;
+
+/**
+ * Holds the long-lived repository sessions and the {@link LocalRepositoryIndex} used by {@link RepositoryLookup}, and
+ * caches the version ranges and artifact descriptors resolved through them.
+ * <p>
+ * Cached entries expire after a number of seconds given by the {@link #PROP_VERSION_RANGE_TTL} and
+ * {@link #PROP_DESCRIPTOR_TTL} environment properties; a value of 0 disables the cache. Descriptors of SNAPSHOT
+ * artifacts expire with the version range TTL. Firing {@link RefreshDependencyMetadata} discards all cached entries
+ * and sessions, and re-scans the local repository index.
+ */
+@ApplicationScoped
+public class RepositorySessionPool
+{
+   public static final String PROP_VERSION_RANGE_TTL = "MAVEN_VERSION_RANGE_TTL";
+   public static final String PROP_DESCRIPTOR_TTL = "MAVEN_DESCRIPTOR_TTL";
+
+   private static final long DEFAULT_VERSION_RANGE_TTL = 10 * 60;
+   private static final long DEFAULT_DESCRIPTOR_TTL = 24 * 60 * 60;
+
+   private final ConcurrentMap<String, Entry<VersionRangeResult>> versionRanges = new ConcurrentHashMap<String, Entry<VersionRangeResult>>();
+   private final ConcurrentMap<String, Entry<ArtifactDescriptorResult>> descriptors = new ConcurrentHashMap<String, Entry<ArtifactDescriptorResult>>();
+
+   private MavenRepositorySystemSession onlineSession;
+   private MavenRepositorySystemSession offlineSession;
+   private String localRepository;
+   private LocalRepositoryIndex localIndex;
+
+   @Inject
+   private MavenContainer container;
+
+   @Inject
+   private ForgeEnvironment environment;
+
+   /**
+    * Return a new session sharing the local repository manager of the pooled session for the current online state.
+    * The returned session may be modified freely.
+    */
+   public DefaultRepositorySystemSession getSession(final RepositorySystem system)
+   {
+      return new DefaultRepositorySystemSession(getPooledSession(system, !environment.isOnline()));
+   }
+
+   private synchronized RepositorySystemSession getPooledSession(final RepositorySystem system, final boolean offline)
+   {
+      String current = checkLocalRepository();
+      MavenRepositorySystemSession session = offline ? offlineSession : onlineSession;
+      if (session == null)
+      {
+         session = new MavenRepositorySystemSession();
+         session.setOffline(offline);
+         session.setLocalRepositoryManager(system.newLocalRepositoryManager(new LocalRepository(new File(current),
+                  "")));
+         session.setTransferErrorCachingEnabled(false);
+         session.setNotFoundCachingEnabled(false);
+         if (offline)
+            offlineSession = session;
+         else
+            onlineSession = session;
+      }
+      return session;
+   }
+
+   /**
+    * Return the index of the local repository, which answers queries for installed artifacts without going through
+    * Aether.
+    */
+   public synchronized LocalRepositoryIndex getLocalRepositoryIndex()
+   {
+      String current = checkLocalRepository();
+      if (localIndex == null)
+      {
+         File cache = new File(environment.getConfigDirectory().getUnderlyingResourceObject(), "cache");
+         localIndex = new LocalRepositoryIndex(new File(current), new File(cache, "local-repository-"
+                  + Integer.toHexString(current.hashCode()) + ".idx"));
+      }
+      return localIndex;
+   }
+
+   private String checkLocalRepository()
+   {
+      String current = container.getSettings().getLocalRepository();
+      if (!current.equals(localRepository))
+      {
+         onlineSession = null;
+         offlineSession = null;
+         localIndex = null;
+         localRepository = current;
+      }
+      return current;
+   }
+
+   /**
+    * Resolve the given version range, returning a cached result if one was resolved for the same artifact and
+    * repositories within the version range TTL. Remote metadata is always checked on a cache miss.
+    */
+   public VersionRangeResult resolveVersionRange(final RepositorySystem system, final VersionRangeRequest request)
+            throws VersionRangeResolutionException
+   {
+      DefaultRepositorySystemSession session = getSession(system);
+      session.setUpdatePolicy(RepositoryPolicy.UPDATE_POLICY_ALWAYS);
+
+      String key = getKey(session, request.getArtifact(), request.getRepositories());
+      long ttl = getTTL(PROP_VERSION_RANGE_TTL, DEFAULT_VERSION_RANGE_TTL);
+
+      Entry<VersionRangeResult> entry = versionRanges.get(key);
+      if (entry != null && entry.isValid(ttl))
+      {
+         return entry.value;
+      }
+
+      VersionRangeResult result = system.resolveVersionRange(session, request);
+      if (ttl > 0 && (result.getExceptions().isEmpty() || !result.getVersions().isEmpty()))
+      {
+         versionRanges.put(key, new Entry<VersionRangeResult>(result));
+      }
+      return result;
+   }
+
+   /**
+    * Read the given artifact descriptor, returning a cached result if one was read for the same artifact and
+    * repositories within the descriptor TTL.
+    */
+   public ArtifactDescriptorResult readArtifactDescriptor(final RepositorySystem system,
+            final ArtifactDescriptorRequest request) throws ArtifactDescriptorException
+   {
+      DefaultRepositorySystemSession session = getSession(system);
+
+      String key = getKey(session, request.getArtifact(), request.getRepositories());
+      long ttl = request.getArtifact().isSnapshot() ? getTTL(PROP_VERSION_RANGE_TTL, DEFAULT_VERSION_RANGE_TTL)
+               : getTTL(PROP_DESCRIPTOR_TTL, DEFAULT_DESCRIPTOR_TTL);
+
+      Entry<ArtifactDescriptorResult> entry = descriptors.get(key);
+      if (entry != null && entry.isValid(ttl))
+      {
+         return entry.value;
+      }
+
+      ArtifactDescriptorResult result = system.readArtifactDescriptor(session, request);
+      if (ttl > 0 && result.getExceptions().isEmpty())
+      {
+         descriptors.put(key, new Entry<ArtifactDescriptorResult>(result));
+      }
+      return result;
+   }
+
+   /**
+    * Discard all cached version ranges, artifact descriptors and pooled sessions.
+    */
+   public synchronized void invalidate()
+   {
+      versionRanges.clear();
+      descriptors.clear();
+      onlineSession = null;
+      offlineSession = null;
+   }
+
+   /**
+    * Start loading the local repository index, so that completion and offline lookups rarely find it missing.
+    */
+   void loadIndex(@Observes final PostStartup event)
+   {
+      try
+      {
+         getLocalRepositoryIndex().loadInBackground();
+      }
+      catch (RuntimeException e)
+      {
+         // the index is loaded by its first query instead
+      }
+   }
+
+   void refresh(@Observes final RefreshDependencyMetadata event)
+   {
+      invalidate();
+
+      LocalRepositoryIndex index;
+      synchronized (this)
+      {
+         index = localIndex;
+      }
+      if (index != null)
+      {
+         index.refresh();
+      }
+   }
+
+   private long getTTL(final String property, final long defaultValue)
+   {
+      Object value = environment.getProperty(property);
+      if (value != null)
+      {
+         try
+         {
+            return Long.parseLong(value.toString().trim());
+         }
+         catch (NumberFormatException e)
+         {
+            // fall back to the default
+         }
+      }
+      return defaultValue;
+   }
+
+   private String getKey(final RepositorySystemSession session, final Artifact artifact,
+            final List<RemoteRepository> repositories)
+   {
+      StringBuilder key = new StringBuilder(artifact.toString());
+      key.append(session.isOffline() ? "|offline" : "|online");
+      for (RemoteRepository repository : repositories)
+      {
+         key.append('|').append(repository.getId()).append('=').append(repository.getUrl());
+      }
+      return key.toString();
+   }
+
+   private static class Entry<T>
+   {
+      private final T value;
+      private final long created = System.currentTimeMillis();
+
+      public Entry(final T value)
+      {
+         this.value = value;
+      }
+
+      public boolean isValid(final long ttl)
+      {
+         return System.currentTimeMillis() - created < ttl * 1000;
+      }
+   }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.facets;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.forge.project.dependencies.Dependency;
+import org.jboss.forge.project.dependencies.DependencyBuilder;
+
+/**
+ * An immutable list of {@link Dependency} instances, indexed by groupId, artifactId and classifier so that a lookup by
+ * {@link DependencyBuilder#areEquivalent(Dependency, Dependency)} does not have to scan the list.
+ * <p>
+ * Dependencies are never handed out directly; callers always receive a copy.
+ */
+public class DependencyIndex
+{
+   private final List<Dependency> dependencies;
+   private final Map<String, List<Dependency>> index = new HashMap<String, List<Dependency>>();
+
+   public DependencyIndex(final List<Dependency> dependencies)
+   {
+      this.dependencies = new ArrayList<Dependency>(dependencies);
+      for (Dependency dependency : this.dependencies)
+      {
+         String key = key(dependency);
+         List<Dependency> equivalent = index.get(key);
+         if (equivalent == null)
+         {
+            equivalent = new ArrayList<Dependency>(1);
+            index.put(key, equivalent);
+         }
+         equivalent.add(dependency);
+      }
+   }
+
+   /**
+    * Return true if this index holds a dependency equivalent to the given {@link Dependency}.
+    */
+   public boolean contains(final Dependency dependency)
+   {
+      return index.containsKey(key(dependency));
+   }
+
+   /**
+    * Return a copy of the first dependency equivalent to the given {@link Dependency}, or null if there is none.
+    */
+   public Dependency get(final Dependency dependency)
+   {
+      List<Dependency> equivalent = index.get(key(dependency));
+      return equivalent == null ? null : DependencyBuilder.create(equivalent.get(0));
+   }
+
+   /**
+    * Return copies of all dependencies equivalent to the given {@link Dependency}, in their original order.
+    */
+   public List<Dependency> getAll(final Dependency dependency)
+   {
+      List<Dependency> equivalent = index.get(key(dependency));
+      if (equivalent == null)
+      {
+         return Collections.emptyList();
+      }
+      return copy(equivalent);
+   }
+
+   /**
+    * Return copies of all dependencies in this index, in their original order.
+    */
+   public List<Dependency> getDependencies()
+   {
+      return copy(dependencies);
+   }
+
+   public int size()
+   {
+      return dependencies.size();
+   }
+
+   private static List<Dependency> copy(final List<Dependency> dependencies)
+   {
+      List<Dependency> result = new ArrayList<Dependency>(dependencies.size());
+      for (Dependency dependency : dependencies)
+      {
+         result.add(DependencyBuilder.create(dependency));
+      }
+      return result;
+   }
+
+   /*
+    * Null and empty values are distinct, as they are in DependencyBuilder.areEquivalent
+    */
+   private static String key(final Dependency dependency)
+   {
+      StringBuilder key = new StringBuilder();
+      append(key, dependency.getGroupId());
+      append(key, dependency.getArtifactId());
+      append(key, dependency.getClassifier());
+      return key.toString();
+   }
+
+   private static void append(final StringBuilder key, final String value)
+   {
+      if (value == null)
+      {
+         key.append('\u0000');
+      }
+      else
+      {
+         key.append(value.length()).append(':').append(value);
+      }
+   }
+}
@@ -0,0 +1,417 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.facets;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.building.ModelProblem;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.apache.maven.project.DependencyResolutionResult;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuildingResult;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.sonatype.aether.artifact.Artifact;
+import org.sonatype.aether.graph.DependencyNode;
+import org.sonatype.aether.graph.Exclusion;
+import org.sonatype.aether.util.artifact.DefaultArtifact;
+
+/**
+ * Persists the effective {@link Model} and resolved dependency list of a full {@link ProjectBuildingResult}, so that a
+ * new session can skip the full Maven project build when none of its inputs have changed.
+ * <p>
+ * An entry records every file that went into the build (the POM, its parent chain, imported BOMs and the settings
+ * files) together with an MD5 digest of each. {@link #load(File)} re-digests those files and discards the entry if any of
+ * them were modified, created or deleted since it was stored.
+ * <p>
+ * A restored {@link ProjectBuildingResult} carries the effective {@link Model} and the resolved dependencies only; it
+ * has no {@link DependencyNode} graph, no {@link ModelProblem}s, and its {@link MavenProject} has no parent or remote
+ * repositories. It must therefore not be handed out through the public {@link org.jboss.forge.maven.MavenCoreFacet}
+ * API, which promises a real build.
+ */
+public class EffectiveModelCache
+{
+   private static final String FORMAT_VERSION = "1";
+   private static final String ABSENT = "absent";
+
+   private final File entry;
+
+   public EffectiveModelCache(final File entry)
+   {
+      this.entry = entry;
+   }
+
+   /**
+    * Return the stored {@link ProjectBuildingResult} for the given POM file, or null if there is no entry or any of its
+    * inputs have changed.
+    */
+   public synchronized ProjectBuildingResult load(final File pomFile)
+   {
+      if (!entry.isFile())
+      {
+         return null;
+      }
+
+      try
+      {
+         Properties properties = new Properties();
+         InputStream stream = new FileInputStream(entry);
+         try
+         {
+            properties.loadFromXML(stream);
+         }
+         finally
+         {
+            stream.close();
+         }
+
+         if (!FORMAT_VERSION.equals(properties.getProperty("version"))
+                  || !pomFile.getAbsolutePath().equals(properties.getProperty("pom")))
+         {
+            return null;
+         }
+
+         for (int i = 0; properties.containsKey("input." + i); i++)
+         {
+            File input = new File(properties.getProperty("input." + i));
+            if (!digest(input).equals(properties.getProperty("input." + i + ".digest")))
+            {
+               return null;
+            }
+         }
+
+         Model model = new MavenXpp3Reader().read(new StringReader(properties.getProperty("model")));
+         MavenProject project = new MavenProject(model);
+         project.setFile(pomFile);
+
+         List<org.sonatype.aether.graph.Dependency> dependencies = new ArrayList<org.sonatype.aether.graph.Dependency>();
+         for (int i = 0; properties.containsKey("dependency." + i); i++)
+         {
+            dependencies.add(readDependency(properties, "dependency." + i));
+         }
+
+         return new CachedProjectBuildingResult(project, dependencies);
+      }
+      catch (IOException e)
+      {
+         return null;
+      }
+      catch (XmlPullParserException e)
+      {
+         return null;
+      }
+      catch (IllegalArgumentException e)
+      {
+         return null;
+      }
+   }
+
+   /**
+    * Store the given {@link ProjectBuildingResult}, recording the current digest of each of the given input files.
+    * Results with dependency collection or resolution errors are not stored.
+    */
+   public synchronized void store(final ProjectBuildingResult result, final Set<File> inputs) throws IOException
+   {
+      DependencyResolutionResult resolution = result.getDependencyResolutionResult();
+      if (resolution == null || !resolution.getCollectionErrors().isEmpty()
+               || !resolution.getUnresolvedDependencies().isEmpty())
+      {
+         invalidate();
+         return;
+      }
+
+      Properties properties = new Properties();
+      properties.setProperty("version", FORMAT_VERSION);
+      properties.setProperty("pom", result.getPomFile().getAbsolutePath());
+
+      int i = 0;
+      for (File input : inputs)
+      {
+         properties.setProperty("input." + i, input.getAbsolutePath());
+         properties.setProperty("input." + i + ".digest", digest(input));
+         i++;
+      }
+
+      StringWriter model = new StringWriter();
+      new MavenXpp3Writer().write(model, result.getProject().getModel());
+      properties.setProperty("model", model.toString());
+
+      i = 0;
+      for (org.sonatype.aether.graph.Dependency dependency : resolution.getDependencies())
+      {
+         writeDependency(properties, "dependency." + i, dependency);
+         i++;
+      }
+
+      entry.getParentFile().mkdirs();
+      File temp = new File(entry.getParentFile(), entry.getName() + ".tmp");
+      OutputStream stream = new FileOutputStream(temp);
+      try
+      {
+         properties.storeToXML(stream, null);
+      }
+      finally
+      {
+         stream.close();
+      }
+
+      if (!temp.renameTo(entry))
+      {
+         entry.delete();
+         if (!temp.renameTo(entry))
+         {
+            temp.delete();
+            throw new IOException("Could not write effective model cache entry: " + entry);
+         }
+      }
+   }
+
+   /**
+    * Discard the stored entry, if any.
+    */
+   public synchronized void invalidate()
+   {
+      entry.delete();
+   }
+
+   /**
+    * Return the files that went into building the given {@link MavenProject}: its POM, the POM of every parent, and the
+    * POM of every BOM imported by the project or one of its parents. Parents and BOMs that are not available as local
+    * files are looked up in the given local repository.
+    */
+   public static Set<File> getInputFiles(final MavenProject project, final File localRepository)
+   {
+      Set<File> result = new LinkedHashSet<File>();
+      for (MavenProject current = project; current != null; current = current.getParent())
+      {
+         if (current.getFile() != null)
+         {
+            result.add(current.getFile());
+         }
+         else
+         {
+            result.add(getRepositoryPom(localRepository, current.getGroupId(), current.getArtifactId(),
+                     current.getVersion()));
+         }
+
+         Model original = current.getOriginalModel();
+         DependencyManagement depMan = original == null ? null : original.getDependencyManagement();
+         if (depMan != null)
+         {
+            for (Dependency dependency : depMan.getDependencies())
+            {
+               if ("import".equals(dependency.getScope()) && "pom".equals(dependency.getType()))
+               {
+                  result.add(getRepositoryPom(localRepository,
+                           interpolate(project, current, dependency.getGroupId()),
+                           interpolate(project, current, dependency.getArtifactId()),
+                           interpolate(project, current, dependency.getVersion())));
+               }
+            }
+         }
+      }
+      return result;
+   }
+
+   private static File getRepositoryPom(final File localRepository, final String groupId, final String artifactId,
+            final String version)
+   {
+      return new File(localRepository, groupId.replace('.', '/') + "/" + artifactId + "/" + version + "/"
+               + artifactId + "-" + version + ".pom");
+   }
+
+   /*
+    * BOM coordinates are usually given as ${project.version} or as a property defined somewhere in the parent chain;
+    * anything that cannot be resolved here is left as is, which makes the entry miss on every load.
+    */
+   private static String interpolate(final MavenProject project, final MavenProject declaring, final String value)
+   {
+      String result = value;
+      if (result != null && result.contains("${"))
+      {
+         result = result.replace("${project.groupId}", declaring.getGroupId())
+                  .replace("${project.artifactId}", declaring.getArtifactId())
+                  .replace("${project.version}", declaring.getVersion());
+         for (String name : project.getProperties().stringPropertyNames())
+         {
+            result = result.replace("${" + name + "}", project.getProperties().getProperty(name));
+         }
+      }
+      return result;
+   }
+
+   private static void writeDependency(final Properties properties, final String key,
+            final org.sonatype.aether.graph.Dependency dependency)
+   {
+      Artifact artifact = dependency.getArtifact();
+      properties.setProperty(key, artifact.toString());
+      properties.setProperty(key + ".scope", dependency.getScope());
+      properties.setProperty(key + ".optional", String.valueOf(dependency.isOptional()));
+      if (artifact.getFile() != null)
+      {
+         properties.setProperty(key + ".file", artifact.getFile().getAbsolutePath());
+      }
+
+      int i = 0;
+      for (Exclusion exclusion : dependency.getExclusions())
+      {
+         properties.setProperty(key + ".exclusion." + i, exclusion.getGroupId() + ":" + exclusion.getArtifactId()
+                  + ":" + exclusion.getClassifier() + ":" + exclusion.getExtension());
+         i++;
+      }
+   }
+
+   private static org.sonatype.aether.graph.Dependency readDependency(final Properties properties, final String key)
+   {
+      Artifact artifact = new DefaultArtifact(properties.getProperty(key));
+      String file = properties.getProperty(key + ".file");
+      if (file != null)
+      {
+         artifact = artifact.setFile(new File(file));
+      }
+
+      List<Exclusion> exclusions = new ArrayList<Exclusion>();
+      for (int i = 0; properties.containsKey(key + ".exclusion." + i); i++)
+      {
+         String[] parts = properties.getProperty(key + ".exclusion." + i).split(":", -1);
+         exclusions.add(new Exclusion(parts[0], parts[1], parts[2], parts[3]));
+      }
+
+      return new org.sonatype.aether.graph.Dependency(artifact, properties.getProperty(key + ".scope"),
+               Boolean.valueOf(properties.getProperty(key + ".optional")), exclusions);
+   }
+
+   private static String digest(final File file) throws IOException
+   {
+      if (!file.isFile())
+      {
+         return ABSENT;
+      }
+
+      try
+      {
+         MessageDigest digest = MessageDigest.getInstance("MD5");
+         InputStream stream = new FileInputStream(file);
+         try
+         {
+            byte[] buffer = new byte[8192];
+            int count;
+            while ((count = stream.read(buffer)) != -1)
+            {
+               digest.update(buffer, 0, count);
+            }
+         }
+         finally
+         {
+            stream.close();
+         }
+         return new BigInteger(1, digest.digest()).toString(16);
+      }
+      catch (NoSuchAlgorithmException e)
+      {
+         throw new IllegalStateException(e);
+      }
+   }
+
+   private static class CachedProjectBuildingResult implements ProjectBuildingResult, DependencyResolutionResult
+   {
+      private final MavenProject project;
+      private final List<org.sonatype.aether.graph.Dependency> dependencies;
+
+      public CachedProjectBuildingResult(final MavenProject project,
+               final List<org.sonatype.aether.graph.Dependency> dependencies)
+      {
+         this.project = project;
+         this.dependencies = Collections.unmodifiableList(dependencies);
+      }
+
+      @Override
+      public String getProjectId()
+      {
+         return project.getId();
+      }
+
+      @Override
+      public File getPomFile()
+      {
+         return project.getFile();
+      }
+
+      @Override
+      public MavenProject getProject()
+      {
+         return project;
+      }
+
+      @Override
+      public List<ModelProblem> getProblems()
+      {
+         return Collections.emptyList();
+      }
+
+      @Override
+      public DependencyResolutionResult getDependencyResolutionResult()
+      {
+         return this;
+      }
+
+      @Override
+      public DependencyNode getDependencyGraph()
+      {
+         return null;
+      }
+
+      @Override
+      public List<org.sonatype.aether.graph.Dependency> getDependencies()
+      {
+         return dependencies;
+      }
+
+      @Override
+      public List<org.sonatype.aether.graph.Dependency> getResolvedDependencies()
+      {
+         return dependencies;
+      }
+
+      @Override
+      public List<org.sonatype.aether.graph.Dependency> getUnresolvedDependencies()
+      {
+         return Collections.emptyList();
+      }
+
+      @Override
+      public List<Exception> getCollectionErrors()
+      {
+         return Collections.emptyList();
+      }
+
+      @Override
+      public List<Exception> getResolutionErrors(final org.sonatype.aether.graph.Dependency dependency)
+      {
+         return Collections.emptyList();
+      }
+   }
+}
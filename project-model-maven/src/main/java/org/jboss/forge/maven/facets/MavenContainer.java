@@ -9,8 +9,10 @@ package org.jboss.forge.maven.facets;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -19,6 +21,7 @@ import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.execution.DefaultMavenExecutionRequest;
 import org.apache.maven.execution.MavenExecutionRequest;
 import org.apache.maven.execution.MavenExecutionRequestPopulator;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
 import org.apache.maven.project.ProjectBuilder;
 import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.repository.internal.MavenRepositorySystemSession;
@@ -41,6 +44,7 @@ import org.jboss.forge.maven.RepositoryUtils;
 import org.jboss.forge.project.ProjectModelException;
 import org.jboss.forge.shell.util.OSUtils;
 import org.sonatype.aether.impl.internal.SimpleLocalRepositoryManager;
+import org.sonatype.aether.util.DefaultRepositorySystemSession;
 import org.sonatype.aether.util.repository.DefaultMirrorSelector;
 import org.sonatype.aether.util.repository.DefaultProxySelector;
 
@@ -52,7 +56,10 @@ public class MavenContainer
 {
    private static final String M2_HOME = System.getenv().get("M2_HOME");
 
-   private ProjectBuildingRequest request;
+   private Settings settings;
+   private long[] settingsStamp;
+   private ProjectBuildingRequest onlineRequest;
+   private ProjectBuildingRequest offlineRequest;
    private DefaultPlexusContainer container = null;
    private ProjectBuilder builder = null;
 
@@ -69,19 +76,59 @@ public class MavenContainer
       return getBuildingRequest(true);
    }
 
+   /**
+    * Return a new {@link ProjectBuildingRequest} for the current settings. The request is copied from a template that
+    * is only rebuilt when the settings change, so callers are free to modify it.
+    */
    public ProjectBuildingRequest getBuildingRequest(final boolean offline)
+   {
+      ProjectBuildingRequest template = getRequestTemplate(offline);
+
+      ProjectBuildingRequest result = new DefaultProjectBuildingRequest(template);
+      result.setRemoteRepositories(new ArrayList<ArtifactRepository>(template.getRemoteRepositories()));
+      result.setPluginArtifactRepositories(new ArrayList<ArtifactRepository>(template
+               .getPluginArtifactRepositories()));
+      result.setActiveProfileIds(new ArrayList<String>(template.getActiveProfileIds()));
+      result.setInactiveProfileIds(new ArrayList<String>(template.getInactiveProfileIds()));
+      result.setProfiles(new ArrayList<org.apache.maven.model.Profile>(template.getProfiles()));
+      Properties userProperties = new Properties();
+      userProperties.putAll(template.getUserProperties());
+      result.setUserProperties(userProperties);
+      result.setSystemProperties(System.getProperties());
+      result.setRepositorySession(new DefaultRepositorySystemSession(template.getRepositorySession()));
+      result.setProcessPlugins(false);
+      result.setResolveDependencies(false);
+      return result;
+   }
+
+   private synchronized ProjectBuildingRequest getRequestTemplate(final boolean offline)
+   {
+      Settings settings = getEffectiveSettings();
+      ProjectBuildingRequest template = offline ? offlineRequest : onlineRequest;
+      if (template == null)
+      {
+         template = createBuildingRequest(settings, offline);
+         if (offline)
+            offlineRequest = template;
+         else
+            onlineRequest = template;
+      }
+      return template;
+   }
+
+   private ProjectBuildingRequest createBuildingRequest(final Settings settings, final boolean offline)
    {
       ClassLoader cl = Thread.currentThread().getContextClassLoader();
       try
       {
-         Settings settings = getSettings();
          // TODO this needs to be configurable via .forge
          // TODO this reference to the M2_REPO should probably be centralized
 
          MavenExecutionRequest executionRequest = new DefaultMavenExecutionRequest();
-         lookup(MavenExecutionRequestPopulator.class).populateFromSettings(executionRequest, getSettings());
-         lookup(MavenExecutionRequestPopulator.class).populateDefaults(executionRequest);
-         request = executionRequest.getProjectBuildingRequest();
+         MavenExecutionRequestPopulator populator = lookup(MavenExecutionRequestPopulator.class);
+         populator.populateFromSettings(executionRequest, settings);
+         populator.populateDefaults(executionRequest);
+         ProjectBuildingRequest request = executionRequest.getProjectBuildingRequest();
          ArtifactRepository localRepository = RepositoryUtils.toArtifactRepository("local",
                   new File(settings.getLocalRepository()).toURI().toURL().toString(), null, true, true);
          request.setLocalRepository(localRepository);
@@ -104,7 +151,6 @@ public class MavenContainer
             }
          }
          request.setRemoteRepositories(settingsRepos);
-         request.setSystemProperties(System.getProperties());
          MavenRepositorySystemSession repositorySession = new MavenRepositorySystemSession();
          Proxy activeProxy = settings.getActiveProxy();
          if (activeProxy != null)
@@ -128,8 +174,6 @@ public class MavenContainer
          }
 
          request.setRepositorySession(repositorySession);
-         request.setProcessPlugins(false);
-         request.setResolveDependencies(false);
          return request;
       }
       catch (Exception e)
@@ -147,17 +191,50 @@ public class MavenContainer
       }
    }
 
+   /**
+    * Return the effective Maven {@link Settings}. The settings files are only read again once one of them has been
+    * modified, created or deleted.
+    */
    public Settings getSettings()
+   {
+      return getEffectiveSettings().clone();
+   }
+
+   private synchronized Settings getEffectiveSettings()
+   {
+      long[] stamp = getSettingsStamp();
+      if (settings == null || !Arrays.equals(stamp, settingsStamp))
+      {
+         settings = buildSettings();
+         settingsStamp = stamp;
+         onlineRequest = null;
+         offlineRequest = null;
+      }
+      return settings;
+   }
+
+   private long[] getSettingsStamp()
+   {
+      List<File> files = getSettingsFiles();
+      long[] result = new long[files.size() * 2];
+      for (int i = 0; i < files.size(); i++)
+      {
+         result[2 * i] = files.get(i).lastModified();
+         result[2 * i + 1] = files.get(i).length();
+      }
+      return result;
+   }
+
+   private Settings buildSettings()
    {
       try
       {
          SettingsBuilder settingsBuilder = new DefaultSettingsBuilderFactory().newInstance();
          SettingsBuildingRequest settingsRequest = new DefaultSettingsBuildingRequest();
-         settingsRequest
-                  .setUserSettingsFile(new File(OSUtils.getUserHomeDir().getAbsolutePath() + "/.m2/settings.xml"));
+         settingsRequest.setUserSettingsFile(getUserSettingsFile());
 
          if (M2_HOME != null)
-            settingsRequest.setGlobalSettingsFile(new File(M2_HOME + "/conf/settings.xml"));
+            settingsRequest.setGlobalSettingsFile(getGlobalSettingsFile());
 
          SettingsBuildingResult settingsBuildingResult = settingsBuilder.build(settingsRequest);
          Settings effectiveSettings = settingsBuildingResult.getEffectiveSettings();
@@ -175,6 +252,28 @@ public class MavenContainer
       }
    }
 
+   /**
+    * Return the settings files read by {@link #getSettings()}, whether or not they exist.
+    */
+   List<File> getSettingsFiles()
+   {
+      List<File> result = new ArrayList<File>();
+      result.add(getUserSettingsFile());
+      if (M2_HOME != null)
+         result.add(getGlobalSettingsFile());
+      return result;
+   }
+
+   private File getUserSettingsFile()
+   {
+      return new File(OSUtils.getUserHomeDir().getAbsolutePath() + "/.m2/settings.xml");
+   }
+
+   private File getGlobalSettingsFile()
+   {
+      return new File(M2_HOME + "/conf/settings.xml");
+   }
+
    public ProjectBuilder getBuilder()
    {
       return builder;
@@ -201,7 +300,7 @@ public class MavenContainer
       }
    }
 
-   private DefaultPlexusContainer getContainer()
+   private synchronized DefaultPlexusContainer getContainer()
    {
       if (container == null)
       {
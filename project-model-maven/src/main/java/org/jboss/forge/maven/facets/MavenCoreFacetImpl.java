@@ -7,14 +7,13 @@
 package org.jboss.forge.maven.facets;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.lang.annotation.Annotation;
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.Set;
 
 import javax.enterprise.context.Dependent;
 import javax.enterprise.inject.spi.BeanManager;
@@ -22,14 +21,15 @@ import javax.inject.Inject;
 
 import org.apache.maven.cli.MavenCli;
 import org.apache.maven.model.Model;
-import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
 import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuildingException;
 import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.project.ProjectBuildingResult;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.jboss.forge.ForgeEnvironment;
 import org.jboss.forge.maven.MavenCoreFacet;
+import org.jboss.forge.maven.PomTransaction;
 import org.jboss.forge.parser.java.util.Strings;
 import org.jboss.forge.project.Facet;
 import org.jboss.forge.project.ProjectModelException;
@@ -53,6 +53,21 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
 {
    private ProjectBuildingResult buildingResult;
    private ProjectBuildingResult fullBuildingResult;
+   private ProjectBuildingResult storedBuildingResult;
+   private MavenModelCache modelCache;
+   private EffectiveModelCache effectiveModelCache;
+
+   private PropertyInterpolator interpolator;
+   private ProjectBuildingResult interpolatorResult;
+   private Model interpolatorModel;
+
+   private long revision;
+   private int modelCacheRevision = -1;
+
+   private Model transactionModel;
+   private boolean transactionModified;
+   private boolean transactionRollbackOnly;
+   private int transactionDepth;
 
    @Inject
    private MavenContainer container;
@@ -60,6 +75,9 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
    @Inject
    private ShellPrintWriter writer;
 
+   @Inject
+   private ForgeEnvironment environment;
+
    @Inject
    private BeanManager manager;
 
@@ -100,6 +118,7 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
                {
                   throw new ProjectModelException(full);
                }
+               storeFullBuildingResult();
             }
             else
             {
@@ -118,9 +137,9 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
    {
       if (this.fullBuildingResult == null)
       {
+         File pomFile = getPOMFile().getUnderlyingResourceObject();
          ProjectBuildingRequest request = null;
          request = container.getRequest();
-         File pomFile = getPOMFile().getUnderlyingResourceObject();
          if (request != null)
          {
             try
@@ -133,6 +152,7 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
             {
                throw new ProjectModelException(full);
             }
+            storeFullBuildingResult();
          }
          else
          {
@@ -142,31 +162,67 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
       return fullBuildingResult;
    }
 
+   /**
+    * Return the full building result of this session if there is one, otherwise the result stored by an earlier
+    * session if none of its inputs have changed, otherwise a new full build. A stored result has no dependency graph
+    * and its {@link MavenProject} no parent, so it is only handed to {@link MavenDependencyFacet}, which reads just the
+    * effective model and the resolved dependencies.
+    */
+   ProjectBuildingResult getEffectiveBuildingResult()
+   {
+      if (fullBuildingResult != null)
+      {
+         return fullBuildingResult;
+      }
+      if (storedBuildingResult == null)
+      {
+         storedBuildingResult = getEffectiveModelCache().load(getPOMFile().getUnderlyingResourceObject());
+      }
+      if (storedBuildingResult != null)
+      {
+         return storedBuildingResult;
+      }
+      return getFullProjectBuildingResult();
+   }
+
    private void invalidateBuildingResults()
    {
       this.buildingResult = null;
       this.fullBuildingResult = null;
+      this.storedBuildingResult = null;
+      getEffectiveModelCache().invalidate();
    }
 
-   @Override
-   public Model getPOM()
+   private void storeFullBuildingResult()
    {
       try
       {
-         Model result = new Model();
-
-         // FIXME this should/can-not use the Maven Native file writer if we are going to abstract file APIs
-         MavenXpp3Reader reader = new MavenXpp3Reader();
-         FileInputStream stream = new FileInputStream(getPOMFile().getUnderlyingResourceObject());
-         if (stream.available() > 0)
-         {
-            result = reader.read(stream);
-         }
-         stream.close();
+         Set<File> inputs = EffectiveModelCache.getInputFiles(fullBuildingResult.getProject(),
+                  new File(container.getSettings().getLocalRepository()));
+         inputs.addAll(container.getSettingsFiles());
+         getEffectiveModelCache().store(fullBuildingResult, inputs);
+      }
+      catch (IOException e)
+      {
+         // not fatal, the next session will simply build the project again
+         getEffectiveModelCache().invalidate();
+      }
+   }
 
+   @Override
+   public Model getPOM()
+   {
+      if (transactionDepth > 0)
+      {
+         Model result = transactionModel.clone();
          result.setPomFile(getPOMFile().getUnderlyingResourceObject());
          return result;
       }
+
+      try
+      {
+         return getModelCache().getModel();
+      }
       catch (IOException e)
       {
          throw new ProjectModelException("Could not open POM file: " + getPOMFile(), e);
@@ -180,6 +236,47 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
    @Override
    public void setPOM(final Model pom)
    {
+      if (transactionDepth > 0)
+      {
+         transactionModel = pom.clone();
+         transactionModified = true;
+         revision++;
+      }
+      else
+      {
+         writePOM(pom);
+      }
+   }
+
+   @Override
+   public long getPOMRevision()
+   {
+      if (transactionDepth == 0)
+      {
+         try
+         {
+            int current = getModelCache().getRevision();
+            if (current != modelCacheRevision)
+            {
+               modelCacheRevision = current;
+               revision++;
+            }
+         }
+         catch (IOException e)
+         {
+            throw new ProjectModelException("Could not open POM file: " + getPOMFile(), e);
+         }
+         catch (XmlPullParserException e)
+         {
+            throw new ProjectModelException("Could not parse POM file: " + getPOMFile(), e);
+         }
+      }
+      return revision;
+   }
+
+   private void writePOM(final Model pom)
+   {
+      MavenModelCache cache = getModelCache();
       try
       {
          // FIXME this should/can-not use the Maven Native file writer if we are going to abstract file APIs
@@ -187,15 +284,120 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
          FileWriter fw = new FileWriter(getPOMFile().getUnderlyingResourceObject());
          writer.write(fw, pom);
          fw.close();
+         cache.setModel(pom);
          manager.fireEvent(new ResourceModified(getPOMFile()), new Annotation[] {});
       }
       catch (IOException e)
       {
+         cache.invalidate();
          throw new ProjectModelException("Could not write POM file: " + getPOMFile(), e);
       }
       invalidateBuildingResults();
    }
 
+   @Override
+   public PomTransaction beginTransaction()
+   {
+      if (transactionDepth == 0)
+      {
+         transactionModel = getPOM();
+         transactionModified = false;
+         transactionRollbackOnly = false;
+      }
+      transactionDepth++;
+      return new PomTransactionImpl();
+   }
+
+   private void endTransaction(final boolean commit)
+   {
+      if (!commit)
+      {
+         transactionRollbackOnly = true;
+      }
+
+      if (--transactionDepth == 0)
+      {
+         Model pom = transactionModel;
+         boolean modified = transactionModified;
+         boolean rollbackOnly = transactionRollbackOnly;
+         transactionModel = null;
+         transactionModified = false;
+         transactionRollbackOnly = false;
+         if (modified)
+         {
+            // whether committed or not, the POM no longer holds the transaction's changes
+            revision++;
+         }
+
+         if (commit && rollbackOnly)
+         {
+            throw new ProjectModelException("Could not commit POM transaction: a nested transaction was rolled back");
+         }
+         if (commit && modified)
+         {
+            writePOM(pom);
+         }
+      }
+   }
+
+   private class PomTransactionImpl implements PomTransaction
+   {
+      private boolean active = true;
+
+      @Override
+      public void commit()
+      {
+         if (!active)
+         {
+            throw new IllegalStateException("POM transaction is no longer active");
+         }
+         active = false;
+         endTransaction(true);
+      }
+
+      @Override
+      public void rollback()
+      {
+         if (active)
+         {
+            active = false;
+            endTransaction(false);
+         }
+      }
+
+      @Override
+      public boolean isActive()
+      {
+         return active;
+      }
+   }
+
+   /**
+    * Return the parsed-{@link Model} cache backing {@link #getPOM()} and {@link #setPOM(Model)}.
+    */
+   MavenModelCache getModelCache()
+   {
+      if (modelCache == null)
+      {
+         modelCache = new MavenModelCache(getPOMFile().getUnderlyingResourceObject());
+      }
+      return modelCache;
+   }
+
+   /**
+    * Return the on-disk cache of the full {@link ProjectBuildingResult}, stored in the Forge configuration directory.
+    */
+   EffectiveModelCache getEffectiveModelCache()
+   {
+      if (effectiveModelCache == null)
+      {
+         String key = Integer.toHexString(getPOMFile().getFullyQualifiedName().hashCode());
+         File directory = new File(environment.getConfigDirectory().getUnderlyingResourceObject(), "cache/models");
+         effectiveModelCache = new EffectiveModelCache(new File(directory, key + ".xml"));
+      }
+      return effectiveModelCache;
+   }
+
    private Model createPOM()
    {
       FileResource<?> pomFile = getPOMFile();
@@ -298,19 +500,36 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
    @Override
    public String resolveProperties(final String input)
    {
-      String result = input;
-      if (!Strings.isNullOrEmpty(input))
+      if (Strings.isNullOrEmpty(input))
       {
-         Properties properties = getPartialProjectBuildingResult().getProject().getProperties();
+         return input;
+      }
+      return getPropertyInterpolator().interpolate(input);
+   }
 
-         for (Entry<Object, Object> e : properties.entrySet())
+   /**
+    * Return the interpolator for the current project properties, building a new one whenever the project building
+    * result or the POM of an open transaction has changed.
+    */
+   private PropertyInterpolator getPropertyInterpolator()
+   {
+      ProjectBuildingResult result = getPartialProjectBuildingResult();
+      Model pending = transactionModified ? transactionModel : null;
+      if (interpolator == null || interpolatorResult != result || interpolatorModel != pending)
+      {
+         Properties properties = result.getProject().getProperties();
+         if (pending != null)
          {
-            String key = "\\$\\{" + e.getKey().toString() + "\\}";
-            Object value = e.getValue();
-            result = result.replaceAll(key, value.toString());
+            // properties set during an open transaction are not yet visible to the project building result
+            Properties merged = new Properties();
+            merged.putAll(properties);
+            merged.putAll(pending.getProperties());
+            properties = merged;
          }
+         interpolator = new PropertyInterpolator(properties);
+         interpolatorResult = result;
+         interpolatorModel = pending;
       }
-
-      return result;
+      return interpolator;
    }
 }
@@ -20,6 +20,7 @@ import javax.inject.Inject;
 import org.apache.maven.model.DependencyManagement;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Repository;
+import org.apache.maven.project.ProjectBuildingResult;
 import org.jboss.forge.bus.EventBus;
 import org.jboss.forge.maven.MavenCoreFacet;
 import org.jboss.forge.maven.dependencies.MavenDependencyAdapter;
@@ -54,6 +55,15 @@ public class MavenDependencyFacet extends BaseFacet implements DependencyFacet,
 
    private final EventBus bus;
 
+   private long indexedRevision = -1;
+   private DependencyIndex directIndex;
+   private DependencyIndex managedIndex;
+
+   private ProjectBuildingResult indexedResult;
+   private long indexedEffectiveRevision = -1;
+   private DependencyIndex effectiveIndex;
+   private DependencyIndex effectiveManagedIndex;
+
    @Inject
    public MavenDependencyFacet(final DependencyResolver resolver, final EventBus bus)
    {
@@ -99,30 +109,28 @@ public class MavenDependencyFacet extends BaseFacet implements DependencyFacet,
    public boolean hasDirectDependency(final Dependency dependency)
    {
       MavenCoreFacet maven = project.getFacet(MavenCoreFacet.class);
-      Model pom = maven.getPOM();
-      List<Dependency> dependencies = MavenDependencyAdapter.fromMavenList(pom.getDependencies());
-
-      for (Dependency dep : dependencies)
-      {
-         if (DependencyBuilder.areEquivalent(resolveProperties(dependency), dep))
-         {
-            return true;
-         }
-      }
-      return false;
+      return getDirectIndex(maven).contains(resolveProperties(maven, dependency));
    }
 
    @Override
    public void removeDependency(final Dependency dep)
    {
       MavenCoreFacet maven = project.getFacet(MavenCoreFacet.class);
+      Dependency resolved = resolveProperties(maven, dep);
+      if (!getDirectIndex(maven).contains(resolved))
+      {
+         // nothing to remove, so leave the POM file untouched
+         bus.enqueue(new RemovedDependencies(project, new ArrayList<Dependency>()));
+         return;
+      }
+
       Model pom = maven.getPOM();
       List<Dependency> dependencies = MavenDependencyAdapter.fromMavenList(pom.getDependencies());
 
       List<Dependency> toBeRemoved = new ArrayList<Dependency>();
       for (Dependency dependency : dependencies)
       {
-         if (DependencyBuilder.areEquivalent(dependency, resolveProperties(dep)))
+         if (DependencyBuilder.areEquivalent(dependency, resolved))
          {
             toBeRemoved.add(dependency);
          }
@@ -137,13 +145,12 @@ public class MavenDependencyFacet extends BaseFacet implements DependencyFacet,
    public List<Dependency> getDependencies()
    {
       MavenCoreFacet maven = project.getFacet(MavenCoreFacet.class);
-      Model pom = maven.getPOM();
-      List<Dependency> dependencies = MavenDependencyAdapter.fromMavenList(pom.getDependencies());
+      List<Dependency> dependencies = getDirectIndex(maven).getDependencies();
 
       List<Dependency> result = new ArrayList<Dependency>();
       for (Dependency dependency : dependencies)
       {
-         result.add(resolveProperties(dependency));
+         result.add(resolveProperties(maven, dependency));
       }
 
       return result;
@@ -153,17 +160,8 @@ public class MavenDependencyFacet extends BaseFacet implements DependencyFacet,
    public Dependency getDirectDependency(final Dependency dependency)
    {
       MavenCoreFacet maven = project.getFacet(MavenCoreFacet.class);
-      Model pom = maven.getPOM();
-      List<Dependency> dependencies = MavenDependencyAdapter.fromMavenList(pom.getDependencies());
-
-      for (Dependency dep : dependencies)
-      {
-         if (DependencyBuilder.areEquivalent(resolveProperties(dependency), dep))
-         {
-            return resolveProperties(dep);
-         }
-      }
-      return null;
+      Dependency result = getDirectIndex(maven).get(resolveProperties(maven, dependency));
+      return result == null ? null : resolveProperties(maven, result);
    }
 
    @Override
@@ -175,33 +173,15 @@ public class MavenDependencyFacet extends BaseFacet implements DependencyFacet,
    @Override
    public Dependency getEffectiveDependency(final Dependency manDep)
    {
-      for (Dependency dependency : getEffectiveDependencies())
-      {
-         if (DependencyBuilder.areEquivalent(dependency, resolveProperties(manDep)))
-         {
-            return resolveProperties(dependency);
-         }
-      }
-      return null;
+      MavenCoreFacet maven = project.getFacet(MavenCoreFacet.class);
+      return getEffectiveIndex(maven).get(resolveProperties(maven, manDep));
    }
 
    @Override
    public List<Dependency> getEffectiveDependencies()
    {
       MavenCoreFacet maven = project.getFacet(MavenCoreFacet.class);
-      List<Dependency> deps = MavenDependencyAdapter.fromAetherList(
-               maven.getFullProjectBuildingResult()
-                        .getDependencyResolutionResult()
-                        .getDependencies()
-               );
-
-      List<Dependency> result = new ArrayList<Dependency>();
-      for (Dependency dependency : deps)
-      {
-         result.add(resolveProperties(dependency));
-      }
-
-      return result;
+      return getEffectiveIndex(maven).getDependencies();
    }
 
    @Override
@@ -249,44 +229,26 @@ public class MavenDependencyFacet extends BaseFacet implements DependencyFacet,
    public Dependency getEffectiveManagedDependency(final Dependency manDep)
    {
       MavenCoreFacet maven = project.getFacet(MavenCoreFacet.class);
-      DependencyManagement depMan = maven.getFullProjectBuildingResult().getProject().getDependencyManagement();
-      List<Dependency> managedDependencies = (depMan != null ? MavenDependencyAdapter.fromMavenList(depMan
-               .getDependencies()) : new ArrayList<Dependency>());
-
-      for (Dependency managedDependency : managedDependencies)
-      {
-         if (DependencyBuilder.areEquivalent(managedDependency, resolveProperties(manDep)))
-         {
-            return resolveProperties(managedDependency);
-         }
-      }
-      return null;
+      Dependency result = getEffectiveManagedIndex(maven).get(resolveProperties(maven, manDep));
+      return result == null ? null : resolveProperties(maven, result);
    }
 
    @Override
    public boolean hasDirectManagedDependency(final Dependency managedDependency)
    {
       MavenCoreFacet maven = project.getFacet(MavenCoreFacet.class);
-      Model pom = maven.getPOM();
-      DependencyManagement depMan = pom.getDependencyManagement();
-
-      List<Dependency> managedDependencies = depMan != null ? MavenDependencyAdapter.fromMavenList(depMan
-               .getDependencies()) : new ArrayList<Dependency>();
-
-      for (Dependency manDep : managedDependencies)
-      {
-         if (DependencyBuilder.areEquivalent(resolveProperties(managedDependency), manDep))
-         {
-            return true;
-         }
-      }
-      return false;
+      return getManagedIndex(maven).contains(resolveProperties(maven, managedDependency));
    }
 
    @Override
    public void removeManagedDependency(final Dependency manDep)
    {
       MavenCoreFacet maven = project.getFacet(MavenCoreFacet.class);
+      if (!getManagedIndex(maven).contains(manDep))
+      {
+         return;
+      }
+
       Model pom = maven.getPOM();
       DependencyManagement depMan = pom.getDependencyManagement();
       depMan = depMan != null ? depMan : new DependencyManagement();
@@ -311,19 +273,12 @@ public class MavenDependencyFacet extends BaseFacet implements DependencyFacet,
    public List<Dependency> getManagedDependencies()
    {
       MavenCoreFacet maven = project.getFacet(MavenCoreFacet.class);
-      Model pom = maven.getPOM();
-      DependencyManagement depMan = pom.getDependencyManagement();
-
-      List<Dependency> managedDependencies = null;
-      if (depMan != null)
-         managedDependencies = MavenDependencyAdapter.fromMavenList(depMan.getDependencies());
-      else
-         managedDependencies = new ArrayList<Dependency>();
+      List<Dependency> managedDependencies = getManagedIndex(maven).getDependencies();
 
       List<Dependency> result = new ArrayList<Dependency>();
       for (Dependency dependency : managedDependencies)
       {
-         result.add(resolveProperties(dependency));
+         result.add(resolveProperties(maven, dependency));
       }
       return result;
    }
@@ -332,20 +287,68 @@ public class MavenDependencyFacet extends BaseFacet implements DependencyFacet,
    public Dependency getManagedDependency(final Dependency manDep)
    {
       MavenCoreFacet maven = project.getFacet(MavenCoreFacet.class);
-      Model pom = maven.getPOM();
-      DependencyManagement depMan = pom.getDependencyManagement();
+      Dependency result = getManagedIndex(maven).get(resolveProperties(maven, manDep));
+      return result == null ? null : resolveProperties(maven, result);
+   }
 
-      List<Dependency> managedDependencies = depMan != null ? MavenDependencyAdapter.fromMavenList(depMan
-               .getDependencies()) : new ArrayList<Dependency>();
+   /**
+    * Return the index of the dependencies declared in the current POM, rebuilding it and the index of managed
+    * dependencies if the POM has changed since they were built.
+    */
+   private DependencyIndex getDirectIndex(final MavenCoreFacet maven)
+   {
+      long revision = maven.getPOMRevision();
+      if (directIndex == null || revision != indexedRevision)
+      {
+         Model pom = maven.getPOM();
+         DependencyManagement depMan = pom.getDependencyManagement();
+         directIndex = new DependencyIndex(MavenDependencyAdapter.fromMavenList(pom.getDependencies()));
+         managedIndex = new DependencyIndex(depMan != null ? MavenDependencyAdapter.fromMavenList(depMan
+                  .getDependencies()) : new ArrayList<Dependency>());
+         indexedRevision = revision;
+      }
+      return directIndex;
+   }
 
-      for (Dependency managedDependency : managedDependencies)
+   private DependencyIndex getManagedIndex(final MavenCoreFacet maven)
+   {
+      getDirectIndex(maven);
+      return managedIndex;
+   }
+
+   /**
+    * Return the index of the effective dependencies of the project, rebuilding it and the index of effective managed
+    * dependencies if the full project building result has changed since they were built. Effective dependencies are
+    * held with their properties already resolved.
+    */
+   private DependencyIndex getEffectiveIndex(final MavenCoreFacet maven)
+   {
+      ProjectBuildingResult result = maven instanceof MavenCoreFacetImpl ? ((MavenCoreFacetImpl) maven)
+               .getEffectiveBuildingResult() : maven.getFullProjectBuildingResult();
+      long revision = maven.getPOMRevision();
+      if (effectiveIndex == null || result != indexedResult || revision != indexedEffectiveRevision)
       {
-         if (DependencyBuilder.areEquivalent(managedDependency, resolveProperties(manDep)))
+         List<Dependency> resolved = new ArrayList<Dependency>();
+         for (Dependency dependency : MavenDependencyAdapter.fromAetherList(result.getDependencyResolutionResult()
+                  .getDependencies()))
          {
-            return resolveProperties(managedDependency);
+            resolved.add(resolveProperties(maven, dependency));
          }
+
+         DependencyManagement depMan = result.getProject().getDependencyManagement();
+         effectiveIndex = new DependencyIndex(resolved);
+         effectiveManagedIndex = new DependencyIndex(depMan != null ? MavenDependencyAdapter.fromMavenList(depMan
+                  .getDependencies()) : new ArrayList<Dependency>());
+         indexedResult = result;
+         indexedEffectiveRevision = revision;
       }
-      return null;
+      return effectiveIndex;
+   }
+
+   private DependencyIndex getEffectiveManagedIndex(final MavenCoreFacet maven)
+   {
+      getEffectiveIndex(maven);
+      return effectiveManagedIndex;
    }
 
    @Override
@@ -389,6 +392,11 @@ public class MavenDependencyFacet extends BaseFacet implements DependencyFacet,
    public Dependency resolveProperties(final Dependency dependency)
    {
       MavenCoreFacet mvn = project.getFacet(MavenCoreFacet.class);
+      return resolveProperties(mvn, dependency);
+   }
+
+   private Dependency resolveProperties(final MavenCoreFacet mvn, final Dependency dependency)
+   {
       DependencyBuilder builder = DependencyBuilder.create(dependency);
 
       builder.setGroupId(mvn.resolveProperties(dependency.getGroupId()));
@@ -530,7 +538,6 @@ public class MavenDependencyFacet extends BaseFacet implements DependencyFacet,
          {
             if ((dependency.getScopeTypeEnum() == null) || dependency.getScopeTypeEnum().equals(scope))
             {
-               dependency = resolveProperties(dependency);
                result.add(dependency);
                break;
             }
@@ -550,7 +557,6 @@ public class MavenDependencyFacet extends BaseFacet implements DependencyFacet,
          {
             if ((dependency.getScopeTypeEnum() == null) || dependency.getScopeTypeEnum().equals(scope))
             {
-               dependency = resolveProperties(dependency);
                result.add(dependency);
                break;
             }
@@ -30,6 +30,7 @@ import org.jboss.forge.project.facets.JavaSourceFacet;
 import org.jboss.forge.resources.DirectoryResource;
 import org.jboss.forge.resources.Resource;
 import org.jboss.forge.resources.ResourceFilter;
+import org.jboss.forge.resources.ResourceTraversal;
 import org.jboss.forge.resources.java.JavaResource;
 import org.jboss.forge.resources.java.JavaResourceVisitor;
 import org.jboss.forge.shell.plugins.Alias;
@@ -293,24 +294,26 @@ public class MavenJavaSourceFacet extends BaseFacet implements JavaSourceFacet,
    {
       if (searchFolder instanceof DirectoryResource)
       {
-
-         searchFolder.listResources(new ResourceFilter()
+         ResourceTraversal sources = ResourceTraversal.from(searchFolder).setFilter(new ResourceFilter()
          {
             @Override
             public boolean accept(Resource<?> resource)
             {
-               if (resource instanceof DirectoryResource)
-               {
-                  visitSources(resource, visitor);
-               }
-               if (resource instanceof JavaResource)
-               {
-                  visitor.visit((JavaResource) resource);
-               }
-
-               return false;
+               return resource instanceof JavaResource;
+            }
+         }).setDescendFilter(new ResourceFilter()
+         {
+            @Override
+            public boolean accept(Resource<?> resource)
+            {
+               return resource instanceof DirectoryResource;
             }
          });
+
+         for (Resource<?> resource : sources)
+         {
+            visitor.visit((JavaResource) resource);
+         }
       }
    }
 }
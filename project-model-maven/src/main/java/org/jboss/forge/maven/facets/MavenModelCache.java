@@ -0,0 +1,202 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.facets;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+/**
+ * Holds the parsed {@link Model} of a single POM file, so that repeated reads of an unchanged file do not re-parse it.
+ * <p>
+ * An entry is keyed by the file's length, last-modified time, and an MD5 digest of its contents. When the length and
+ * timestamp are unchanged the cached {@link Model} is used directly; otherwise the file is read and its digest compared
+ * before deciding to parse. Entries stored within the file system timestamp resolution of the last write are always
+ * verified against the digest, since an edit made in the same tick would not change the timestamp.
+ * <p>
+ * The cached {@link Model} is never handed out; callers always receive a {@link Model#clone()}.
+ */
+public class MavenModelCache
+{
+   /**
+    * Coarsest last-modified resolution we expect from a file system (FAT and some network file systems use 2s).
+    */
+   private static final long TIMESTAMP_RESOLUTION = 2000;
+
+   private final File file;
+
+   private Model model;
+   private long length = -1;
+   private long lastModified = -1;
+   private boolean racy = true;
+   private byte[] digest;
+
+   private int revision;
+   private int parseCount;
+   private int hitCount;
+
+   public MavenModelCache(final File file)
+   {
+      this.file = file;
+   }
+
+   /**
+    * Return a copy of the current {@link Model}, parsing the underlying file only if it has changed since it was last
+    * read or written.
+    */
+   public synchronized Model getModel() throws IOException, XmlPullParserException
+   {
+      load();
+      return copy(model);
+   }
+
+   /**
+    * Return a number that changes whenever the {@link Model} returned by {@link #getModel()} changes, parsing the
+    * underlying file if needed to find out.
+    */
+   public synchronized int getRevision() throws IOException, XmlPullParserException
+   {
+      load();
+      return revision;
+   }
+
+   /**
+    * Record the given {@link Model} as the current contents of the underlying file. Must be called immediately after
+    * the file has been written from this {@link Model}.
+    */
+   public synchronized void setModel(final Model written) throws IOException
+   {
+      byte[] contents = read();
+      model = written.clone();
+      model.setPomFile(file);
+      revision++;
+      stamp(file.length(), file.lastModified(), digest(contents));
+   }
+
+   /**
+    * Discard the cached {@link Model}. The next call to {@link #getModel()} will re-read the file.
+    */
+   public synchronized void invalidate()
+   {
+      model = null;
+      revision++;
+      digest = null;
+      length = -1;
+      lastModified = -1;
+      racy = true;
+   }
+
+   /**
+    * Return the number of times the underlying file has been parsed.
+    */
+   public synchronized int getParseCount()
+   {
+      return parseCount;
+   }
+
+   /**
+    * Return the number of reads that were served without parsing the underlying file.
+    */
+   public synchronized int getHitCount()
+   {
+      return hitCount;
+   }
+
+   private void load() throws IOException, XmlPullParserException
+   {
+      long currentLength = file.length();
+      long currentLastModified = file.lastModified();
+
+      if (model != null && !racy && currentLength == length && currentLastModified == lastModified)
+      {
+         hitCount++;
+         return;
+      }
+
+      byte[] contents = read();
+      byte[] currentDigest = digest(contents);
+
+      if (model != null && Arrays.equals(currentDigest, digest))
+      {
+         hitCount++;
+      }
+      else
+      {
+         model = parse(contents);
+         revision++;
+         parseCount++;
+      }
+      stamp(currentLength, currentLastModified, currentDigest);
+   }
+
+   private void stamp(final long length, final long lastModified, final byte[] digest)
+   {
+      this.length = length;
+      this.lastModified = lastModified;
+      this.digest = digest;
+      this.racy = System.currentTimeMillis() - lastModified < TIMESTAMP_RESOLUTION;
+   }
+
+   private Model copy(final Model source)
+   {
+      Model result = source.clone();
+      result.setPomFile(file);
+      return result;
+   }
+
+   private Model parse(final byte[] contents) throws IOException, XmlPullParserException
+   {
+      if (contents.length == 0)
+      {
+         return new Model();
+      }
+      MavenXpp3Reader reader = new MavenXpp3Reader();
+      return reader.read(new ByteArrayInputStream(contents));
+   }
+
+   private byte[] read() throws IOException
+   {
+      InputStream stream = new FileInputStream(file);
+      try
+      {
+         ByteArrayOutputStream contents = new ByteArrayOutputStream((int) Math.max(file.length(), 1024));
+         byte[] buffer = new byte[8192];
+         int count;
+         while ((count = stream.read(buffer)) != -1)
+         {
+            contents.write(buffer, 0, count);
+         }
+         return contents.toByteArray();
+      }
+      finally
+      {
+         stream.close();
+      }
+   }
+
+   private static byte[] digest(final byte[] contents)
+   {
+      try
+      {
+         return MessageDigest.getInstance("MD5").digest(contents);
+      }
+      catch (NoSuchAlgorithmException e)
+      {
+         throw new IllegalStateException(e);
+      }
+   }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.facets;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Replaces <code>${name}</code> references in a string with the values of a fixed set of properties, in a single scan
+ * of the input.
+ * <p>
+ * Property values may themselves reference other properties; these are resolved recursively, and each fully resolved
+ * value is remembered. References to unknown properties, and references that form a cycle, are left as they are.
+ */
+public class PropertyInterpolator
+{
+   private final Map<String, String> properties = new HashMap<String, String>();
+   private final Map<String, String> resolved = new ConcurrentHashMap<String, String>();
+
+   public PropertyInterpolator(final Properties properties)
+   {
+      for (Entry<Object, Object> e : properties.entrySet())
+      {
+         this.properties.put(e.getKey().toString(), String.valueOf(e.getValue()));
+      }
+   }
+
+   /**
+    * Return the given value with all known property references replaced, or the value itself if it contains none.
+    */
+   public String interpolate(final String value)
+   {
+      if (value == null || value.indexOf("${") < 0)
+      {
+         return value;
+      }
+      return interpolate(value, new HashSet<String>());
+   }
+
+   private String interpolate(final String value, final Set<String> resolving)
+   {
+      int start = value.indexOf("${");
+      if (start < 0)
+      {
+         return value;
+      }
+
+      StringBuilder result = new StringBuilder(value.length() + 16);
+      int position = 0;
+      while (start >= 0)
+      {
+         int end = value.indexOf('}', start + 2);
+         if (end < 0)
+         {
+            break;
+         }
+
+         result.append(value, position, start);
+         String name = value.substring(start + 2, end);
+         String replacement = resolve(name, resolving);
+         if (replacement == null)
+         {
+            result.append(value, start, end + 1);
+         }
+         else
+         {
+            result.append(replacement);
+         }
+
+         position = end + 1;
+         start = value.indexOf("${", position);
+      }
+      result.append(value, position, value.length());
+      return result.toString();
+   }
+
+   private String resolve(final String name, final Set<String> resolving)
+   {
+      String result = resolved.get(name);
+      if (result == null)
+      {
+         String raw = properties.get(name);
+         if (raw == null || !resolving.add(name))
+         {
+            return null;
+         }
+         result = interpolate(raw, resolving);
+         resolving.remove(name);
+         if (result.indexOf("${") < 0)
+         {
+            // values still holding a reference depend on where a cycle was entered, so are not remembered
+            resolved.put(name, result);
+         }
+      }
+      return result;
+   }
+}
@@ -39,7 +39,8 @@ public interface ForgeEnvironment
    void setProperty(String name, Object value);
 
    /**
-    * Get a map of all configuration properties for the current Forge execution.
+    * Get a map of all configuration properties for the current Forge execution. The map may be modified by background
+    * jobs at any time; synchronize on it while iterating over it.
     */
    Map<String, Object> getProperties();
 
@@ -9,11 +9,18 @@ package org.jboss.forge.project.dependencies;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.jboss.forge.project.ProjectModelException;
 import org.jboss.forge.resources.DependencyResource;
 
 /**
@@ -23,6 +30,8 @@ import org.jboss.forge.resources.DependencyResource;
 @Singleton
 public class DependencyResolver
 {
+   private static final int MAX_CONCURRENT_QUERIES = 8;
+
    private final Instance<DependencyResolverProvider> providers;
 
    @Inject
@@ -60,15 +69,31 @@ public class DependencyResolver
    public List<DependencyResource> resolveArtifacts(final Dependency query,
             final List<DependencyRepository> repositories)
    {
-      for (DependencyResolverProvider p : providers)
+      return resolveArtifacts(providers, query, repositories);
+   }
+
+   /**
+    * Resolve the artifacts of each of the given dependencies, as {@link #resolveArtifacts(Dependency, List)} would.
+    * Dependencies are resolved concurrently on a small, bounded number of threads; the returned list holds the
+    * artifacts of each dependency in the order the dependencies were given.
+    */
+   public List<List<DependencyResource>> resolveArtifacts(final List<? extends Dependency> dependencies,
+            final List<DependencyRepository> repositories)
+   {
+      final List<DependencyResolverProvider> available = getProviders();
+      List<Callable<List<DependencyResource>>> tasks = new ArrayList<Callable<List<DependencyResource>>>();
+      for (final Dependency dependency : dependencies)
       {
-         List<DependencyResource> artifacts = p.resolveArtifacts(query, repositories);
-         if ((artifacts != null) && !artifacts.isEmpty())
+         tasks.add(new Callable<List<DependencyResource>>()
          {
-            return artifacts;
-         }
+            @Override
+            public List<DependencyResource> call() throws Exception
+            {
+               return resolveArtifacts(available, dependency, repositories);
+            }
+         });
       }
-      return new ArrayList<DependencyResource>();
+      return invokeAll(tasks, "resolving dependency artifacts");
    }
 
    public List<DependencyResource> resolveDependencies(final Dependency query)
@@ -207,6 +232,131 @@ public class DependencyResolver
     * Resolve a set of {@link Dependency} versions matching the given query.
     */
    public List<Dependency> resolveVersions(final DependencyQuery query)
+   {
+      return resolveVersions(providers, query);
+   }
+
+   /**
+    * Resolve the {@link Dependency} versions matching each of the given queries, as
+    * {@link #resolveVersions(DependencyQuery)} would. Queries are resolved concurrently on a small, bounded number of
+    * threads; the returned list holds the result of each query in the order the queries were given.
+    */
+   public List<List<Dependency>> resolveVersions(final List<? extends DependencyQuery> queries)
+   {
+      final List<DependencyResolverProvider> available = getProviders();
+      List<Callable<List<Dependency>>> tasks = new ArrayList<Callable<List<Dependency>>>();
+      for (final DependencyQuery query : queries)
+      {
+         tasks.add(new Callable<List<Dependency>>()
+         {
+            @Override
+            public List<Dependency> call() throws Exception
+            {
+               return resolveVersions(available, query);
+            }
+         });
+      }
+      return invokeAll(tasks, "resolving dependency versions");
+   }
+
+   /**
+    * Look up the providers on the calling thread, since their contexts may not be active on the worker threads.
+    */
+   private List<DependencyResolverProvider> getProviders()
+   {
+      List<DependencyResolverProvider> result = new ArrayList<DependencyResolverProvider>();
+      for (DependencyResolverProvider p : providers)
+      {
+         result.add(p);
+      }
+      return result;
+   }
+
+   private static <T> List<T> invokeAll(final List<Callable<T>> tasks, final String action)
+   {
+      List<T> result = new ArrayList<T>();
+      if (tasks.size() <= 1)
+      {
+         for (Callable<T> task : tasks)
+         {
+            try
+            {
+               result.add(task.call());
+            }
+            catch (RuntimeException e)
+            {
+               throw e;
+            }
+            catch (Exception e)
+            {
+               throw new ProjectModelException("Failed " + action, e);
+            }
+         }
+         return result;
+      }
+
+      final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+      ExecutorService executor = Executors.newFixedThreadPool(Math.min(tasks.size(), MAX_CONCURRENT_QUERIES),
+               new ThreadFactory()
+               {
+                  @Override
+                  public Thread newThread(final Runnable r)
+                  {
+                     Thread thread = new Thread(r, "Forge dependency resolver");
+                     thread.setDaemon(true);
+                     thread.setContextClassLoader(loader);
+                     return thread;
+                  }
+               });
+      try
+      {
+         List<Future<T>> futures = new ArrayList<Future<T>>();
+         for (Callable<T> task : tasks)
+         {
+            futures.add(executor.submit(task));
+         }
+
+         for (Future<T> future : futures)
+         {
+            result.add(future.get());
+         }
+         return result;
+      }
+      catch (ExecutionException e)
+      {
+         if (e.getCause() instanceof RuntimeException)
+         {
+            throw (RuntimeException) e.getCause();
+         }
+         throw new ProjectModelException("Failed " + action, e.getCause());
+      }
+      catch (InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+         throw new ProjectModelException("Interrupted while " + action, e);
+      }
+      finally
+      {
+         executor.shutdownNow();
+      }
+   }
+
+   private static List<DependencyResource> resolveArtifacts(final Iterable<DependencyResolverProvider> providers,
+            final Dependency query, final List<DependencyRepository> repositories)
+   {
+      for (DependencyResolverProvider p : providers)
+      {
+         List<DependencyResource> artifacts = p.resolveArtifacts(query, repositories);
+         if ((artifacts != null) && !artifacts.isEmpty())
+         {
+            return artifacts;
+         }
+      }
+      return new ArrayList<DependencyResource>();
+   }
+
+   private static List<Dependency> resolveVersions(final Iterable<DependencyResolverProvider> providers,
+            final DependencyQuery query)
    {
       List<Dependency> deps = new ArrayList<Dependency>();
       DependencyFilter dependencyFilter = query.getDependencyFilter();
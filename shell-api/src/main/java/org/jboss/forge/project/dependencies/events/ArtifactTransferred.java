@@ -0,0 +1,60 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.project.dependencies.events;
+
+/**
+ * Fired when a file has been downloaded from a remote repository while resolving artifacts, or when the download
+ * failed. Downloads run concurrently, so this event may be fired from threads other than the shell thread.
+ */
+public final class ArtifactTransferred
+{
+   private final String repositoryUrl;
+   private final String resourceName;
+   private final long bytes;
+   private final Exception failure;
+
+   public ArtifactTransferred(final String repositoryUrl, final String resourceName, final long bytes,
+            final Exception failure)
+   {
+      this.repositoryUrl = repositoryUrl;
+      this.resourceName = resourceName;
+      this.bytes = bytes;
+      this.failure = failure;
+   }
+
+   public String getRepositoryUrl()
+   {
+      return repositoryUrl;
+   }
+
+   public String getResourceName()
+   {
+      return resourceName;
+   }
+
+   /**
+    * Return the number of bytes transferred.
+    */
+   public long getBytes()
+   {
+      return bytes;
+   }
+
+   /**
+    * Return the reason the download failed, or null if it succeeded.
+    */
+   public Exception getFailure()
+   {
+      return failure;
+   }
+
+   public boolean isSuccessful()
+   {
+      return failure == null;
+   }
+}
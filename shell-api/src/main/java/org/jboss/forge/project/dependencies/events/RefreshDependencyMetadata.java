@@ -0,0 +1,18 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.project.dependencies.events;
+
+import org.jboss.forge.project.dependencies.DependencyResolver;
+
+/**
+ * Fire this event to discard any repository metadata (available versions, artifact descriptors) cached by
+ * {@link DependencyResolver} providers, so that the next lookup goes back to the remote repositories.
+ */
+public final class RefreshDependencyMetadata
+{
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.project.dependencies.events;
+
+import java.util.List;
+
+import org.jboss.forge.project.dependencies.Dependency;
+
+/**
+ * Fired for each artifact that could not be resolved from any of the repositories it was looked up in.
+ */
+public final class UnresolvedArtifact
+{
+   private final Dependency dependency;
+   private final List<String> repositories;
+   private final List<Exception> causes;
+
+   public UnresolvedArtifact(final Dependency dependency, final List<String> repositories,
+            final List<Exception> causes)
+   {
+      this.dependency = dependency;
+      this.repositories = repositories;
+      this.causes = causes;
+   }
+
+   /**
+    * Return the artifact that could not be resolved, with its version.
+    */
+   public Dependency getDependency()
+   {
+      return dependency;
+   }
+
+   /**
+    * Return the URLs of the repositories that were searched.
+    */
+   public List<String> getRepositories()
+   {
+      return repositories;
+   }
+
+   /**
+    * Return the failure reported by each repository.
+    */
+   public List<Exception> getCauses()
+   {
+      return causes;
+   }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.project.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Maps file names to values registered against pathspecs such as <code>pom.xml</code>, <code>*.java</code> or
+ * <code>Make*</code>.
+ * <p>
+ * Pathspecs without wildcards are looked up by exact name, and pathspecs of the form <code>*.ext</code> by the
+ * extension of the name; only the remaining pathspecs are matched as regular expressions. Where several pathspecs
+ * match a name, an exact name takes precedence over an extension, a longer extension over a shorter one, and an
+ * extension over any other pattern. Otherwise the value registered first wins.
+ * <p>
+ * Lookups do not modify the index, so an index that is no longer added to may be shared between threads.
+ */
+public class PathspecIndex<T>
+{
+   private static final String SPECIAL = "*?[]{}()+|^$\\";
+
+   private final Map<String, T> names = new HashMap<String, T>();
+   private final Map<String, T> extensions = new HashMap<String, T>();
+   private final List<Pattern> patterns = new ArrayList<Pattern>();
+   private final List<T> patternValues = new ArrayList<T>();
+
+   public void add(final String pathspec, final T value)
+   {
+      if (isLiteral(pathspec))
+      {
+         putIfAbsent(names, pathspec, value);
+      }
+      else if (pathspec.startsWith("*.") && isLiteral(pathspec.substring(1)))
+      {
+         putIfAbsent(extensions, pathspec.substring(1), value);
+      }
+      else
+      {
+         patterns.add(Pattern.compile(pathspecToRegEx(pathspec)));
+         patternValues.add(value);
+      }
+   }
+
+   /**
+    * Return the value registered against a pathspec matching the given file name, or null if there is none.
+    */
+   public T get(final String name)
+   {
+      T result = names.get(name);
+      if (result != null)
+      {
+         return result;
+      }
+
+      if (!extensions.isEmpty())
+      {
+         for (int dot = name.indexOf('.'); dot >= 0; dot = name.indexOf('.', dot + 1))
+         {
+            result = extensions.get(name.substring(dot));
+            if (result != null)
+            {
+               return result;
+            }
+         }
+      }
+
+      for (int i = 0; i < patterns.size(); i++)
+      {
+         if (patterns.get(i).matcher(name).matches())
+         {
+            return patternValues.get(i);
+         }
+      }
+      return null;
+   }
+
+   private static boolean isLiteral(final String pathspec)
+   {
+      for (int i = 0; i < pathspec.length(); i++)
+      {
+         if (SPECIAL.indexOf(pathspec.charAt(i)) >= 0)
+         {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private static <T> void putIfAbsent(final Map<String, T> map, final String key, final T value)
+   {
+      if (!map.containsKey(key))
+      {
+         map.put(key, value);
+      }
+   }
+
+   private static String pathspecToRegEx(final String pathSpec)
+   {
+      return "^" + pathSpec.replaceAll("\\*", "\\.\\*").replaceAll("\\?", "\\.") + "$";
+   }
+}
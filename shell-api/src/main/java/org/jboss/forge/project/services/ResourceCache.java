@@ -0,0 +1,108 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.project.services;
+
+import java.io.File;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.forge.resources.Resource;
+
+/**
+ * Canonical {@link Resource} instances, keyed by absolute path. Instances are only weakly held, so an entry lasts as
+ * long as some caller still refers to its resource; the number of entries is also bounded. Entries are sorted by path,
+ * so the entries beneath a directory form a single range.
+ */
+class ResourceCache
+{
+   private final int maximumSize;
+   private final ConcurrentNavigableMap<String, Entry> entries = new ConcurrentSkipListMap<String, Entry>();
+   /*
+    * ConcurrentSkipListMap.size() walks the whole map, so the count is kept alongside.
+    */
+   private final AtomicInteger size = new AtomicInteger();
+   private final ReferenceQueue<Resource<File>> collected = new ReferenceQueue<Resource<File>>();
+
+   ResourceCache(final int maximumSize)
+   {
+      this.maximumSize = maximumSize;
+   }
+
+   public Resource<File> get(final String path)
+   {
+      Entry entry = entries.get(path);
+      return entry == null ? null : entry.get();
+   }
+
+   public void put(final String path, final Resource<File> resource)
+   {
+      purge();
+      if (size.get() >= maximumSize)
+      {
+         entries.clear();
+         size.set(0);
+      }
+      if (entries.put(path, new Entry(path, resource, collected)) == null)
+      {
+         size.incrementAndGet();
+      }
+   }
+
+   /**
+    * Drop the entry for the given path, and the entries for everything beneath it.
+    */
+   public void invalidate(final String path)
+   {
+      remove(path);
+
+      /*
+       * The paths starting with "path/" are exactly those from "path/" up to, but excluding, the path with the
+       * separator replaced by the character after it.
+       */
+      String base = path.endsWith(File.separator) ? path.substring(0, path.length() - 1) : path;
+      String from = base + File.separatorChar;
+      String to = base + (char) (File.separatorChar + 1);
+      for (String key : entries.subMap(from, to).keySet())
+      {
+         remove(key);
+      }
+   }
+
+   private void remove(final String path)
+   {
+      if (entries.remove(path) != null)
+      {
+         size.decrementAndGet();
+      }
+   }
+
+   private void purge()
+   {
+      Entry entry;
+      while ((entry = (Entry) collected.poll()) != null)
+      {
+         if (entries.remove(entry.path, entry))
+         {
+            size.decrementAndGet();
+         }
+      }
+   }
+
+   private static class Entry extends WeakReference<Resource<File>>
+   {
+      private final String path;
+
+      Entry(final String path, final Resource<File> resource, final ReferenceQueue<Resource<File>> queue)
+      {
+         super(resource, queue);
+         this.path = path;
+      }
+   }
+}
@@ -8,9 +8,14 @@
 package org.jboss.forge.project.services;
 
 import java.io.File;
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.event.Observes;
@@ -34,24 +39,29 @@ import org.jboss.forge.shell.events.PostStartup;
 @Singleton
 public class ResourceFactory implements Extension
 {
+   private static final int MAX_CACHED_RESOURCES = 50000;
+
    @Inject
    private Instance<BeanManager> managerInstance;
 
-   private final List<ResourceGenerator> resourceGenerators = new ArrayList<ResourceGenerator>();
+   private final List<ResourceGenerator> resourceGenerators = new CopyOnWriteArrayList<ResourceGenerator>();
 
    /**
-    * Most directories will tend to contain the same type of file (such as .java, .jar, .xml, etc). So we will remember
-    * the last resource type we tested against and always re-try on subsequent queries before doing a comprehensive
-    * match.
+    * Every file listed passes through {@link #getResourceFrom(File)}, so the generators are indexed by the pathspecs
+    * they handle. The index is replaced, never modified, when a generator is added, so lookups need no lock.
     */
-   private volatile ResourceGenerator lastTypeLoaded = new ResourceGenerator()
-   {
-      @Override
-      public boolean matches(final String name)
-      {
-         return false;
-      }
-   };
+   private volatile PathspecIndex<ResourceGenerator> generatorIndex = new PathspecIndex<ResourceGenerator>();
+
+   /**
+    * Navigating a project asks for the same files and directories over and over, so the resources handed out by
+    * {@link #getResourceFrom(File)} are reused for as long as they are referenced elsewhere.
+    */
+   private final ResourceCache cache = new ResourceCache(MAX_CACHED_RESOURCES);
+
+   /*
+    * Watched roots, each with the names of the directories beneath it that are not watched.
+    */
+   private final Map<String, Set<String>> watchedRoots = new ConcurrentHashMap<String, Set<String>>();
 
    public void setManager(@Observes final PostStartup event, final Instance<BeanManager> manager)
    {
@@ -67,32 +77,35 @@ public class ResourceFactory implements Extension
       {
          for (String pspec : clazz.getAnnotation(ResourceHandles.class).value())
          {
-            Pattern p = Pattern.compile(pathspecToRegEx(pspec));
             CreationalContext<?> creationalCtx = manager.createCreationalContext(bean);
             Resource<?> rInst = (Resource<?>) manager.getReference(bean, bean.getBeanClass(), creationalCtx);
 
-            resourceGenerators.add(new ResourceGenerator(p, rInst));
+            resourceGenerators.add(new ResourceGenerator(pspec, rInst));
+         }
+
+         PathspecIndex<ResourceGenerator> index = new PathspecIndex<ResourceGenerator>();
+         for (ResourceGenerator gen : resourceGenerators)
+         {
+            index.add(gen.getPathspec(), gen);
          }
+         generatorIndex = index;
       }
    }
 
    @SuppressWarnings("unchecked")
    public <E, T extends Resource<E>> T createFromType(final Class<T> type, final E underlyingResource)
    {
-      synchronized (this)
+      for (ResourceGenerator gen : resourceGenerators)
       {
-         for (ResourceGenerator gen : resourceGenerators)
+         Resource<?> resource = gen.getResource();
+         if (type.isAssignableFrom(resource.getClass()))
          {
-            Resource<?> resource = gen.getResource();
-            if (type.isAssignableFrom(resource.getClass()))
-            {
-               /*
-                * This little <T> hack is required due to bug in javac:
-                * http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=6302954
-                */
-               T result = (lastTypeLoaded = gen).<T> getResource();
-               return (T) result.createFrom(underlyingResource);
-            }
+            /*
+             * This little <T> hack is required due to bug in javac:
+             * http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=6302954
+             */
+            T result = gen.<T> getResource();
+            return (T) result.createFrom(underlyingResource);
          }
       }
       return null;
@@ -100,34 +113,154 @@ public class ResourceFactory implements Extension
 
    public Resource<File> getResourceFrom(File file)
    {
+      if (!file.isAbsolute())
+      {
+         file = file.getAbsoluteFile();
+      }
+      String path = file.getPath();
+      boolean directory = file.isDirectory();
+
+      Resource<File> result = cache.get(path);
+      if (result != null && (result instanceof DirectoryResource) == directory)
+      {
+         return result;
+      }
+
       /**
        * Special case for directories required.
        */
-      file = file.getAbsoluteFile();
+      if (directory)
+      {
+         result = new DirectoryResource(this, file);
+      }
+      else
+      {
+         ResourceGenerator gen = generatorIndex.get(file.getName());
+         if (gen != null)
+         {
+            result = gen.getResource(File.class).createFrom(file);
+         }
+         else
+         {
+            result = new UnknownFileResource(this, file);
+         }
+      }
+
+      cache.put(path, result);
+      return result;
+   }
+
+   /**
+    * Return the {@link DirectoryResource} for the given {@link File}, whether or not it exists.
+    */
+   public DirectoryResource getDirectoryResourceFrom(final File file)
+   {
       if (file.isDirectory())
       {
-         return new DirectoryResource(this, file);
+         return (DirectoryResource) getResourceFrom(file);
       }
+      return new DirectoryResource(this, file.getAbsoluteFile());
+   }
 
-      final String name = file.getName();
+   /**
+    * Forget the resources for the given {@link File} and everything beneath it, and the listing of its parent
+    * directory. Called when files are created, deleted or renamed, so that the next lookup reflects the file system
+    * even where the file system timestamps are too coarse to show the change.
+    */
+   public void invalidate(final File file)
+   {
+      File absolute = file.getAbsoluteFile();
+      cache.invalidate(absolute.getPath());
 
-      synchronized (this)
+      File parentFile = absolute.getParentFile();
+      if (parentFile != null)
       {
-         if (lastTypeLoaded.matches(name))
+         directoryChanged(parentFile);
+      }
+   }
+
+   /**
+    * Declare that changes beneath the given directory are reported through {@link #directoryChanged(File)} and
+    * {@link #invalidate(File)}, so that {@link DirectoryResource} listings beneath it can be trusted without checking
+    * the directory timestamp on every read.
+    */
+   public void watch(final File root)
+   {
+      watch(root, Collections.<String> emptySet());
+   }
+
+   /**
+    * Like {@link #watch(File)}, except that directories with any of the given names, and everything beneath them, are
+    * not watched.
+    */
+   public void watch(final File root, final Set<String> ignoredNames)
+   {
+      watchedRoots.put(prefix(root), new HashSet<String>(ignoredNames));
+   }
+
+   /**
+    * Stop trusting listings beneath the given directory; see {@link #watch(File)}.
+    */
+   public void unwatch(final File root)
+   {
+      watchedRoots.remove(prefix(root));
+   }
+
+   /**
+    * Return true if the given {@link File} is beneath a directory passed to {@link #watch(File)}.
+    */
+   public boolean isWatched(final File file)
+   {
+      if (watchedRoots.isEmpty())
+      {
+         return false;
+      }
+      String path = prefix(file);
+      for (Entry<String, Set<String>> root : watchedRoots.entrySet())
+      {
+         if (path.startsWith(root.getKey()) && !isIgnored(path.substring(root.getKey().length()), root.getValue()))
          {
-            return lastTypeLoaded.getResource(File.class).createFrom(file);
+            return true;
          }
+      }
+      return false;
+   }
 
-         for (ResourceGenerator gen : resourceGenerators)
+   /**
+    * Discard the cached listing of the given directory, if there is one, because entries have been added to or removed
+    * from it.
+    */
+   public void directoryChanged(final File directory)
+   {
+      Resource<File> cached = cache.get(directory.getAbsolutePath());
+      if (cached instanceof DirectoryResource)
+      {
+         ((DirectoryResource) cached).refresh();
+      }
+   }
+
+   private static boolean isIgnored(final String relativePath, final Set<String> ignoredNames)
+   {
+      if (!ignoredNames.isEmpty())
+      {
+         int start = 0;
+         int end;
+         while ((end = relativePath.indexOf(File.separatorChar, start)) >= 0)
          {
-            if (gen.matches(name))
+            if (ignoredNames.contains(relativePath.substring(start, end)))
             {
-               return (lastTypeLoaded = gen).getResource(File.class).createFrom(file);
+               return true;
             }
+            start = end + 1;
          }
       }
+      return false;
+   }
 
-      return new UnknownFileResource(this, file);
+   private static String prefix(final File file)
+   {
+      String path = file.getAbsolutePath();
+      return path.endsWith(File.separator) ? path : path + File.separator;
    }
 
    public BeanManager getManagerInstance()
@@ -141,23 +274,18 @@ public class ResourceFactory implements Extension
 
    static class ResourceGenerator
    {
-      private Pattern pattern;
-      private Resource<?> resource;
-
-      ResourceGenerator()
-      {
-      }
+      private final String pathspec;
+      private final Resource<?> resource;
 
-      ResourceGenerator(final Pattern pattern, final Resource<?> resource)
+      ResourceGenerator(final String pathspec, final Resource<?> resource)
       {
-         this.pattern = pattern;
+         this.pathspec = pathspec;
          this.resource = resource;
-
       }
 
-      public boolean matches(final String name)
+      public String getPathspec()
       {
-         return pattern.matcher(name).matches();
+         return pathspec;
       }
 
       @SuppressWarnings("unchecked")
@@ -172,9 +300,4 @@ public class ResourceFactory implements Extension
          return (Resource<T>) resource;
       }
    }
-
-   private static String pathspecToRegEx(final String pathSpec)
-   {
-      return "^" + pathSpec.replaceAll("\\*", "\\.\\*").replaceAll("\\?", "\\.") + "$";
-   }
 }
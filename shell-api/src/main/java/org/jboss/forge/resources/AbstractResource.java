@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -21,6 +22,11 @@ import org.jboss.forge.project.services.ResourceFactory;
  */
 public abstract class AbstractResource<T> implements Resource<T>
 {
+   /**
+    * The order of the lists returned by {@link #listResources()}.
+    */
+   protected static final Comparator<Resource<?>> FQN_COMPARATOR = new FQNResourceComparator();
+
    protected final ResourceFactory resourceFactory;
    protected Resource<?> parent;
 
@@ -105,12 +111,21 @@ public abstract class AbstractResource<T> implements Resource<T>
     */
    protected abstract List<Resource<?>> doListResources();
 
+   /**
+    * Iterate over the children of this resource for a {@link ResourceTraversal}; unless sorted, in any order.
+    */
+   Iterator<Resource<?>> iterateResources(final boolean sorted)
+   {
+      List<Resource<?>> resources = sorted ? listResources() : doListResources();
+      return resources == null ? new ArrayList<Resource<?>>().iterator() : resources.iterator();
+   }
+
    @Override
    public synchronized List<Resource<?>> listResources()
    {
       List<Resource<?>> resources = doListResources();
 
-      Collections.sort(resources, new FQNResourceComparator());
+      Collections.sort(resources, FQN_COMPARATOR);
       return resources;
    }
 
@@ -126,7 +141,7 @@ public abstract class AbstractResource<T> implements Resource<T>
          }
       }
 
-      Collections.sort(result, new FQNResourceComparator());
+      Collections.sort(result, FQN_COMPARATOR);
 
       return result;
    }
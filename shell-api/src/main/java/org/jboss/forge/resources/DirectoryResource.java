@@ -9,8 +9,12 @@ package org.jboss.forge.resources;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.jboss.forge.project.ProjectModelException;
 import org.jboss.forge.project.services.ResourceFactory;
@@ -35,26 +39,104 @@ public class DirectoryResource extends FileResource<DirectoryResource>
    @Override
    protected List<Resource<?>> doListResources()
    {
-      if (isStale())
+      return new ArrayList<Resource<?>>(getListing());
+   }
+
+   /**
+    * The listing is kept sorted, so unlike other resources a directory need not sort it again each time it is listed.
+    */
+   @Override
+   public List<Resource<?>> listResources()
+   {
+      return new ArrayList<Resource<?>>(getListing());
+   }
+
+   @Override
+   public List<Resource<?>> listResources(final ResourceFilter filter)
+   {
+      List<Resource<?>> listing = getListing();
+      List<Resource<?>> result = new ArrayList<Resource<?>>(listing.size());
+      for (Resource<?> resource : listing)
       {
-         listCache = null;
+         if (filter.accept(resource))
+         {
+            result.add(resource);
+         }
       }
+      return result;
+   }
+
+   /**
+    * Sorted walks use the cached listing as it is. Unsorted walks read the directory directly and look up each child
+    * only when it is reached, without building or sorting a listing.
+    */
+   @Override
+   Iterator<Resource<?>> iterateResources(final boolean sorted)
+   {
+      if (sorted)
+      {
+         return getListing().iterator();
+      }
+
+      final File[] files = file.listFiles();
+      return new Iterator<Resource<?>>()
+      {
+         private int index;
+
+         @Override
+         public boolean hasNext()
+         {
+            return (files != null) && (index < files.length);
+         }
 
-      if (listCache == null)
+         @Override
+         public Resource<?> next()
+         {
+            if (!hasNext())
+            {
+               throw new NoSuchElementException();
+            }
+            return resourceFactory.getResourceFrom(files[index++]);
+         }
+
+         @Override
+         public void remove()
+         {
+            throw new UnsupportedOperationException();
+         }
+      };
+   }
+
+   /**
+    * Return the cached, sorted and unmodifiable listing of this directory, reading the directory again if it has
+    * changed since it was last read. Beneath a directory watched by the {@link ResourceFactory}, changes are reported
+    * through {@link #refresh()} and the timestamp is not checked.
+    */
+   private synchronized List<Resource<?>> getListing()
+   {
+      List<Resource<?>> result = listCache;
+      if (result == null || (!isWatched() && isStale()))
       {
-         listCache = new LinkedList<Resource<?>>();
+         markUpToDate();
 
          File[] files = file.listFiles();
-         if (files != null)
+         if (files == null)
          {
-            for (File f : files)
+            result = Collections.emptyList();
+         }
+         else
+         {
+            Resource<?>[] children = new Resource<?>[files.length];
+            for (int i = 0; i < files.length; i++)
             {
-               listCache.add(resourceFactory.getResourceFrom(f));
+               children[i] = resourceFactory.getResourceFrom(files[i]);
             }
+            Arrays.sort(children, FQN_COMPARATOR);
+            result = Collections.unmodifiableList(Arrays.asList(children));
          }
+         listCache = result;
       }
-
-      return listCache;
+      return result;
    }
 
    /**
@@ -84,7 +166,7 @@ public class DirectoryResource extends FileResource<DirectoryResource>
 
       if (!(result instanceof DirectoryResource))
       {
-         result = new DirectoryResource(resourceFactory, new File(file.getAbsoluteFile(), name));
+         result = resourceFactory.getDirectoryResourceFrom(new File(file.getAbsoluteFile(), name));
       }
       return (DirectoryResource) result;
    }
@@ -167,11 +249,25 @@ public class DirectoryResource extends FileResource<DirectoryResource>
             return null;
          }
 
-         parent = createFrom(parentFile);
+         parent = resourceFactory != null ? resourceFactory.getDirectoryResourceFrom(parentFile)
+                  : createFrom(parentFile);
       }
       return parent;
    }
 
+   private boolean isWatched()
+   {
+      return resourceFactory != null && resourceFactory.isWatched(file);
+   }
+
+   /**
+    * Discard the cached listing of this directory, so that the next call to {@link #listResources()} reads it again.
+    */
+   public void refresh()
+   {
+      listCache = null;
+   }
+
    @Override
    public String getName()
    {
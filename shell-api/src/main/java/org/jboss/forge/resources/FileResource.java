@@ -8,15 +8,23 @@
 package org.jboss.forge.resources;
 
 import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.lang.annotation.Annotation;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
 
 import javax.enterprise.inject.spi.BeanManager;
 
@@ -27,6 +35,7 @@ import org.jboss.forge.resources.events.ResourceDeleted;
 import org.jboss.forge.resources.events.ResourceModified;
 import org.jboss.forge.resources.events.ResourceRenamed;
 import org.jboss.forge.resources.events.TempResourceCreated;
+import org.jboss.forge.shell.util.Files;
 import org.jboss.forge.shell.util.OSUtils;
 
 /**
@@ -37,6 +46,11 @@ import org.jboss.forge.shell.util.OSUtils;
  */
 public abstract class FileResource<T extends FileResource<?>> extends AbstractResource<File>
 {
+   private static final Charset UTF_8 = Charset.forName("UTF-8");
+   private static final int BUFFER_SIZE = 8192;
+   private static final long TRANSFER_SIZE = 1 << 20;
+   private static final long MAP_THRESHOLD = Long.getLong("forge.resources.mapThreshold", 1 << 20);
+
    protected boolean scratch;
 
    protected File file;
@@ -44,6 +58,9 @@ public abstract class FileResource<T extends FileResource<?>> extends AbstractRe
 
    protected long lastModification;
 
+   private String fullyQualifiedName;
+   private int hash;
+
    protected FileResource(final ResourceFactory factory, final File file)
    {
       super(factory, null);
@@ -92,15 +109,149 @@ public abstract class FileResource<T extends FileResource<?>> extends AbstractRe
       }
    }
 
+   /**
+    * Return the contents of this file as a read-only {@link ByteBuffer}. Files of at least the size given by the
+    * <code>forge.resources.mapThreshold</code> system property (one megabyte by default) are mapped into memory rather
+    * than read, see {@link #mapContents()}.
+    */
+   public ByteBuffer getContentsAsByteBuffer()
+   {
+      return getContentsAsByteBuffer(MAP_THRESHOLD);
+   }
+
+   /**
+    * Return the contents of this file as a read-only {@link ByteBuffer}, mapping the file into memory if it is at least
+    * <code>mapThreshold</code> bytes long, and reading it onto the heap otherwise.
+    */
+   public ByteBuffer getContentsAsByteBuffer(final long mapThreshold)
+   {
+      try
+      {
+         FileChannel channel = openChannel();
+         try
+         {
+            long size = channel.size();
+            if ((size >= mapThreshold) || (size > Integer.MAX_VALUE))
+            {
+               return channel.map(MapMode.READ_ONLY, 0, size);
+            }
+
+            ByteBuffer result = ByteBuffer.allocate((int) size);
+            while (result.hasRemaining())
+            {
+               if (channel.read(result) < 0)
+               {
+                  break;
+               }
+            }
+            result.flip();
+            return result.asReadOnlyBuffer();
+         }
+         finally
+         {
+            channel.close();
+         }
+      }
+      catch (IOException e)
+      {
+         throw new ResourceException("cannot read file: " + file.getAbsolutePath(), e);
+      }
+   }
+
+   /**
+    * Map the contents of this file into memory, read-only. The mapping stays valid after the file is changed or
+    * deleted, but what it then contains is unspecified, so it should not be held longer than needed.
+    */
+   public MappedByteBuffer mapContents()
+   {
+      try
+      {
+         FileChannel channel = openChannel();
+         try
+         {
+            return channel.map(MapMode.READ_ONLY, 0, channel.size());
+         }
+         finally
+         {
+            channel.close();
+         }
+      }
+      catch (IOException e)
+      {
+         throw new ResourceException("cannot map file: " + file.getAbsolutePath(), e);
+      }
+   }
+
+   private FileChannel openChannel()
+   {
+      try
+      {
+         return new FileInputStream(file).getChannel();
+      }
+      catch (FileNotFoundException e)
+      {
+         throw new ResourceException("cannot obtain stream to file: file does not exist: " + file.getAbsolutePath());
+      }
+   }
+
    /**
     * Get the parent of the current resource. Returns null if the current resource is the project root.
     *
     * @return An instance of the resource parent.
     */
    @Override
-   public Resource<?> getParent()
+   public synchronized Resource<?> getParent()
    {
-      return file.getParentFile() != null ? new DirectoryResource(resourceFactory, file.getParentFile()) : null;
+      if (parent == null)
+      {
+         File parentFile = file.getParentFile();
+         if (parentFile == null)
+         {
+            return null;
+         }
+
+         parent = resourceFactory != null ? resourceFactory.getDirectoryResourceFrom(parentFile)
+                  : new DirectoryResource(resourceFactory, parentFile);
+      }
+      return parent;
+   }
+
+   /**
+    * The underlying file never changes, so the name is computed once and kept; it is compared and hashed each time
+    * this resource is sorted or looked up.
+    */
+   @Override
+   public String getFullyQualifiedName()
+   {
+      String result = fullyQualifiedName;
+      if (result == null)
+      {
+         result = super.getFullyQualifiedName();
+         fullyQualifiedName = result;
+      }
+      return result;
+   }
+
+   @Override
+   public boolean equals(final Object obj)
+   {
+      if (obj instanceof FileResource<?> && obj.hashCode() != hashCode())
+      {
+         return false;
+      }
+      return super.equals(obj);
+   }
+
+   @Override
+   public int hashCode()
+   {
+      int result = hash;
+      if (result == 0)
+      {
+         result = getFullyQualifiedName().hashCode();
+         hash = result;
+      }
+      return result;
    }
 
    @Override
@@ -170,8 +321,10 @@ public abstract class FileResource<T extends FileResource<?>> extends AbstractRe
     */
    public boolean mkdirs()
    {
+      File created = getOutermostMissing();
       if (file.mkdirs())
       {
+         invalidate(created);
          fireResourceCreated();
          return true;
       }
@@ -195,7 +348,12 @@ public abstract class FileResource<T extends FileResource<?>> extends AbstractRe
    {
       if (recursive)
       {
-         if (_deleteRecursive(file, true))
+         if (OSUtils.isWindows())
+         {
+            System.gc(); // ensure no lingering handles that would prevent deletion
+         }
+
+         if ((file != null) && Files.deleteRecursively(file))
          {
             fireResourceDeleted();
             return true;
@@ -232,110 +390,295 @@ public abstract class FileResource<T extends FileResource<?>> extends AbstractRe
       file.deleteOnExit();
    }
 
-   private static boolean _deleteRecursive(final File file, final boolean collect)
+   /**
+    * Copy this file, or this directory and everything beneath it, to the given target, replacing any files already
+    * there. A single {@link ResourceCreated} or {@link ResourceModified} event is fired for the target, however many
+    * files are copied.
+    */
+   public void copyTo(final FileResource<?> target)
    {
-      if (collect && OSUtils.isWindows())
+      File destination = target.file;
+      boolean existed = destination.exists();
+      File created = target.getOutermostMissing();
+      try
       {
-         System.gc(); // ensure no lingering handles that would prevent deletion
+         Files.copyRecursively(file, destination);
       }
-
-      if (file == null)
+      catch (IOException e)
       {
-         return false;
+         throw new ResourceIOException("cannot copy " + file.getAbsolutePath() + " to " + destination.getAbsolutePath(),
+                  e);
       }
 
-      File[] children = file.listFiles();
-      if (children != null)
+      String[] children = file.list();
+      if (existed && (children != null))
       {
-         for (File sf : children)
+         for (String child : children)
          {
-            if (sf.isDirectory())
-            {
-               _deleteRecursive(sf, false);
-            }
-            else
-            {
-               if (!sf.delete())
-               {
-                  throw new RuntimeException("failed to delete: " + sf.getAbsolutePath());
-               }
-            }
+            target.invalidate(new File(destination, child));
          }
+         target.fireResourceModified();
+      }
+      else if (existed)
+      {
+         target.invalidate(destination);
+         target.fireResourceModified();
       }
+      else
+      {
+         target.invalidate(created);
+         target.fireResourceCreated();
+      }
+   }
 
-      return file.delete();
+   /**
+    * Set the contents of this {@link FileResource} to the given {@link String}, encoded as UTF-8.
+    */
+   public T setContents(final String data)
+   {
+      return setContents(data, UTF_8);
    }
 
    /**
-    * Set the contents of this {@link FileResource} to the given {@link String}
+    * Set the contents of this {@link FileResource} to the given {@link String}, encoded in the given {@link Charset}.
     */
-   public T setContents(String data)
+   public T setContents(final String data, final Charset charset)
    {
-      if (data == null)
-      {
-         data = "";
-      }
-      return setContents(data.toCharArray());
+      return setContents(CharBuffer.wrap(data == null ? "" : data), charset);
    }
 
    /**
-    * Set the contents of this {@link FileResource} to the given character array.
+    * Set the contents of this {@link FileResource} to the given character array, encoded as UTF-8.
     */
    public T setContents(final char[] data)
    {
-      return setContents(new ByteArrayInputStream(new String(data).getBytes()));
+      return setContents(CharBuffer.wrap(data), UTF_8);
    }
 
+   private T setContents(final CharBuffer data, final Charset charset)
+   {
+      try
+      {
+         return setContents(charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                  .onUnmappableCharacter(CodingErrorAction.REPLACE).encode(data));
+      }
+      catch (CharacterCodingException e)
+      {
+         throw new ProjectModelException(e);
+      }
+   }
+
+   /**
+    * Set the contents of this {@link FileResource} to the remaining bytes of the given {@link ByteBuffer}. The position
+    * of the buffer is not changed.
+    * <p>
+    * The contents are written to a temporary file next to this one, which then replaces it, so the file is never seen
+    * partly written. Nothing is written, and no event is fired, if the file already has exactly these contents.
+    */
    @SuppressWarnings("unchecked")
+   public T setContents(final ByteBuffer data)
+   {
+      try
+      {
+         if (!hasContents(file, data.duplicate()))
+         {
+            File created = getOutermostMissing();
+            File temp = createTempSibling();
+            try
+            {
+               FileChannel out = new FileOutputStream(temp).getChannel();
+               try
+               {
+                  ByteBuffer source = data.duplicate();
+                  while (source.hasRemaining())
+                  {
+                     out.write(source);
+                  }
+               }
+               finally
+               {
+                  out.close();
+               }
+               replaceWith(temp, created);
+            }
+            finally
+            {
+               temp.delete();
+            }
+         }
+      }
+      catch (IOException e)
+      {
+         throw new ProjectModelException(e);
+      }
+      return (T) this;
+   }
+
    /**
-    * Set the contents of this {@link FileResource} to the contents of the given {@link InputStream}.
+    * Set the contents of this {@link FileResource} to the contents of the given {@link InputStream}, which is closed
+    * afterwards. As with {@link #setContents(ByteBuffer)}, the file is replaced in one step and left untouched if its
+    * contents would not change.
     */
+   @SuppressWarnings("unchecked")
    public T setContents(final InputStream data)
    {
       try
       {
-         if (!exists())
+         File created = getOutermostMissing();
+         File temp = createTempSibling();
+         try
          {
-            mkdirs();
-            delete();
-            if (!createNewFile())
+            FileChannel out = new FileOutputStream(temp).getChannel();
+            try
+            {
+               ReadableByteChannel in = Channels.newChannel(data);
+               long position = 0;
+               long count;
+               while ((count = out.transferFrom(in, position, TRANSFER_SIZE)) > 0)
+               {
+                  position += count;
+               }
+            }
+            finally
+            {
+               data.close();
+               out.close();
+            }
+
+            if (!hasContents(file, temp))
             {
-               throw new IOException("Failed to create file: " + file);
+               replaceWith(temp, created);
             }
          }
+         finally
+         {
+            temp.delete();
+         }
+      }
+      catch (IOException e)
+      {
+         throw new ProjectModelException(e);
+      }
+      return (T) this;
+   }
+
+   private File createTempSibling() throws IOException
+   {
+      File directory = file.getAbsoluteFile().getParentFile();
+      if (!directory.isDirectory() && !directory.mkdirs())
+      {
+         throw new IOException("Failed to create directory: " + directory);
+      }
+      return File.createTempFile("." + file.getName() + ".", ".tmp", directory);
+   }
 
-         file.delete();
+   private void replaceWith(final File temp, final File created) throws IOException
+   {
+      boolean existed = file.exists();
+      if (existed && file.canExecute())
+      {
+         temp.setExecutable(true);
+      }
 
-         OutputStream out = new FileOutputStream(file);
+      if (!temp.renameTo(file))
+      {
+         // some platforms will not rename over an existing file
+         if (!file.delete() || !temp.renameTo(file))
+         {
+            throw new IOException("Failed to replace file: " + file);
+         }
+      }
+
+      if (!existed)
+      {
+         invalidate(created);
+         fireResourceCreated();
+      }
+      fireResourceModified();
+   }
+
+   private static boolean hasContents(final File target, final ByteBuffer expected) throws IOException
+   {
+      if (!target.isFile() || (target.length() != expected.remaining()))
+      {
+         return false;
+      }
+
+      FileChannel channel = new FileInputStream(target).getChannel();
+      try
+      {
+         return startsWith(channel, expected);
+      }
+      finally
+      {
+         channel.close();
+      }
+   }
+
+   private static boolean hasContents(final File target, final File expected) throws IOException
+   {
+      if (!target.isFile() || (target.length() != expected.length()))
+      {
+         return false;
+      }
+
+      FileChannel channel = new FileInputStream(target).getChannel();
+      try
+      {
+         FileChannel source = new FileInputStream(expected).getChannel();
          try
          {
-            byte buf[] = new byte[1024];
-            int len;
-            while ((len = data.read(buf)) > 0)
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (source.read(buffer) >= 0)
             {
-               out.write(buf, 0, len);
+               buffer.flip();
+               if (!startsWith(channel, buffer))
+               {
+                  return false;
+               }
+               buffer.clear();
             }
+            return channel.read(ByteBuffer.allocate(1)) < 0;
          }
          finally
          {
-            if (data != null)
-               data.close();
+            source.close();
+         }
+      }
+      finally
+      {
+         channel.close();
+      }
+   }
 
-            out.flush();
-            out.close();
-            if (OSUtils.isWindows())
+   /**
+    * Read as many bytes from the channel as the buffer has remaining, and return true if they are the same.
+    */
+   private static boolean startsWith(final ReadableByteChannel channel, final ByteBuffer expected) throws IOException
+   {
+      ByteBuffer actual = ByteBuffer.allocate(Math.min(expected.remaining(), BUFFER_SIZE));
+      while (expected.hasRemaining())
+      {
+         actual.clear();
+         actual.limit(Math.min(actual.capacity(), expected.remaining()));
+         while (actual.hasRemaining())
+         {
+            if (channel.read(actual) < 0)
             {
-               System.gc();
+               return false;
             }
          }
+         actual.flip();
 
-         fireResourceModified();
-      }
-      catch (IOException e)
-      {
-         throw new ProjectModelException(e);
+         ByteBuffer chunk = expected.slice();
+         chunk.limit(actual.remaining());
+         if (!chunk.equals(actual))
+         {
+            return false;
+         }
+         expected.position(expected.position() + actual.remaining());
       }
-      return (T) this;
+      return true;
    }
 
    /**
@@ -345,12 +688,14 @@ public abstract class FileResource<T extends FileResource<?>> extends AbstractRe
    {
       try
       {
+         File created = getOutermostMissing();
          if (file.mkdirs())
          {
             file.delete();
          }
          if (file.createNewFile())
          {
+            invalidate(created);
             fireResourceCreated();
             return true;
          }
@@ -422,14 +767,38 @@ public abstract class FileResource<T extends FileResource<?>> extends AbstractRe
    private boolean renameTo(final File target)
    {
       File original = file.getAbsoluteFile();
-      if (file.renameTo(target))
+      if (file.renameTo(target) || moveAcrossFileSystems(target))
       {
+         invalidate(original);
+         invalidate(target);
          fireResourceMoved(original);
          return true;
       }
       return false;
    }
 
+   /**
+    * {@link File#renameTo(File)} cannot move between file systems, so copy and then delete instead.
+    */
+   private boolean moveAcrossFileSystems(final File target)
+   {
+      if (!file.exists() || target.exists() || !target.getAbsoluteFile().getParentFile().isDirectory())
+      {
+         return false;
+      }
+
+      try
+      {
+         Files.copyRecursively(file, target);
+      }
+      catch (IOException e)
+      {
+         Files.deleteRecursively(target);
+         return false;
+      }
+      return Files.deleteRecursively(file);
+   }
+
    private void fireResourceMoved(final File original)
    {
       if (resourceFactory != null)
@@ -443,6 +812,30 @@ public abstract class FileResource<T extends FileResource<?>> extends AbstractRe
       }
    }
 
+   /**
+    * Return the outermost directory that creating this file would also create, or the file itself if its parent
+    * exists. Invalidating it updates the listing of the nearest existing directory.
+    */
+   private File getOutermostMissing()
+   {
+      File result = file.getAbsoluteFile();
+      File parentFile = result.getParentFile();
+      while ((parentFile != null) && !parentFile.exists())
+      {
+         result = parentFile;
+         parentFile = result.getParentFile();
+      }
+      return result;
+   }
+
+   private void invalidate(final File target)
+   {
+      if (resourceFactory != null)
+      {
+         resourceFactory.invalidate(target);
+      }
+   }
+
    private void fireResourceModified()
    {
       if (resourceFactory != null)
@@ -457,6 +850,7 @@ public abstract class FileResource<T extends FileResource<?>> extends AbstractRe
 
    private void fireResourceCreated()
    {
+      invalidate(file);
       if (resourceFactory != null)
       {
          BeanManager manager = resourceFactory.getManagerInstance();
@@ -469,6 +863,7 @@ public abstract class FileResource<T extends FileResource<?>> extends AbstractRe
 
    private void fireResourceDeleted()
    {
+      invalidate(file);
       if (resourceFactory != null)
       {
          BeanManager manager = resourceFactory.getManagerInstance();
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.resources;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Walks the descendants of a {@link Resource}, depth first, listing each resource only when the walk reaches it. Unlike
+ * recursing over {@link Resource#listResources()}, only the resources on the path currently being walked are held at
+ * any time, and results may be consumed as they are found:
+ *
+ * <pre>
+ * for (Resource&lt;?&gt; resource : ResourceTraversal.from(directory).setMaxDepth(2))
+ * {
+ *    out.println(resource.getFullyQualifiedName());
+ * }
+ * </pre>
+ *
+ * By default every descendant is returned, each before its own children, and children are visited in the order of
+ * {@link Resource#listResources()}. Resources flagged {@link ResourceFlag#Leaf} are never listed.
+ */
+public class ResourceTraversal implements Iterable<Resource<?>>
+{
+   private static final ResourceFilter ALL = new ResourceFilter()
+   {
+      @Override
+      public boolean accept(final Resource<?> resource)
+      {
+         return true;
+      }
+   };
+
+   private final Resource<?> root;
+   private ResourceFilter filter = ALL;
+   private ResourceFilter descendFilter = ALL;
+   private int maxDepth = Integer.MAX_VALUE;
+   private boolean sorted = true;
+
+   private ResourceTraversal(final Resource<?> root)
+   {
+      this.root = root;
+   }
+
+   public static ResourceTraversal from(final Resource<?> root)
+   {
+      return new ResourceTraversal(root);
+   }
+
+   /**
+    * Return only the resources accepted by the given filter. Resources that are not returned are still descended into.
+    */
+   public ResourceTraversal setFilter(final ResourceFilter filter)
+   {
+      this.filter = filter;
+      return this;
+   }
+
+   /**
+    * Only list the children of resources accepted by the given filter.
+    */
+   public ResourceTraversal setDescendFilter(final ResourceFilter filter)
+   {
+      this.descendFilter = filter;
+      return this;
+   }
+
+   /**
+    * Walk no further than the given number of levels below the root; a depth of 1 returns only its children.
+    */
+   public ResourceTraversal setMaxDepth(final int maxDepth)
+   {
+      this.maxDepth = maxDepth;
+      return this;
+   }
+
+   /**
+    * Whether children must be visited in sorted order. Walks that do not need it are cheaper, since directories are
+    * then read without building and sorting their listings.
+    */
+   public ResourceTraversal setSorted(final boolean sorted)
+   {
+      this.sorted = sorted;
+      return this;
+   }
+
+   @Override
+   public Iterator<Resource<?>> iterator()
+   {
+      return new Walk();
+   }
+
+   private Iterator<Resource<?>> children(final Resource<?> resource)
+   {
+      if (resource instanceof AbstractResource<?>)
+      {
+         return ((AbstractResource<?>) resource).iterateResources(sorted);
+      }
+      List<Resource<?>> children = resource.listResources();
+      return children == null ? new ArrayList<Resource<?>>().iterator() : children.iterator();
+   }
+
+   private class Walk implements Iterator<Resource<?>>
+   {
+      private final List<Iterator<Resource<?>>> path = new ArrayList<Iterator<Resource<?>>>();
+      private Resource<?> next;
+
+      Walk()
+      {
+         if (maxDepth > 0)
+         {
+            path.add(children(root));
+         }
+      }
+
+      @Override
+      public boolean hasNext()
+      {
+         while ((next == null) && !path.isEmpty())
+         {
+            Iterator<Resource<?>> level = path.get(path.size() - 1);
+            if (!level.hasNext())
+            {
+               path.remove(path.size() - 1);
+               continue;
+            }
+
+            Resource<?> resource = level.next();
+            if ((path.size() < maxDepth) && !resource.isFlagSet(ResourceFlag.Leaf) && descendFilter.accept(resource))
+            {
+               path.add(children(resource));
+            }
+            if (filter.accept(resource))
+            {
+               next = resource;
+            }
+         }
+         return next != null;
+      }
+
+      @Override
+      public Resource<?> next()
+      {
+         if (!hasNext())
+         {
+            throw new NoSuchElementException();
+         }
+         Resource<?> result = next;
+         next = null;
+         return result;
+      }
+
+      @Override
+      public void remove()
+      {
+         throw new UnsupportedOperationException();
+      }
+   }
+}
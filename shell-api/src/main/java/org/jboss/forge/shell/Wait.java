@@ -24,6 +24,12 @@ import org.jboss.forge.shell.events.CommandExecuted;
 public class Wait
 {
    private static String[] spinnerChars = new String[] { "/", "-", "\\", "|" };
+
+   /*
+    * Set by the shell when it runs without a terminal; the spinner would only litter the output.
+    */
+   private static final String PROP_BATCH = "org.jboss.forge.batch";
+
    private boolean complete = true;
    private Runnable runnable;
    private Thread thread;
@@ -57,6 +63,11 @@ public class Wait
     */
    public void start(String message)
    {
+      if (Boolean.getBoolean(PROP_BATCH))
+      {
+         return;
+      }
+
       runnable = new Runnable()
       {
          @Override
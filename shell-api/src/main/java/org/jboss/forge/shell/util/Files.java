@@ -13,7 +13,17 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -26,6 +36,10 @@ public class Files
    public static final String HOME_ALIAS = "~";
    public static final String SLASH = File.separator;
 
+   private static final int MAX_CONCURRENT_OPERATIONS = 8;
+   private static final int BATCH_SIZE = 64;
+   private static final long TRANSFER_SIZE = 1 << 20;
+
    /**
     * Replace instances of internal tokens with actual file equivalents.
     */
@@ -91,4 +105,239 @@ public class Files
       }
    }
 
+   /**
+    * Copy a file, or a directory and everything beneath it, to the given target, replacing files that already exist.
+    * Directories are created as the source is walked; the files themselves are then copied by several threads at once.
+    */
+   public static void copyRecursively(final File source, final File target) throws IOException
+   {
+      if (source.isDirectory()
+               && (target.getCanonicalPath() + SLASH).startsWith(source.getCanonicalPath() + SLASH))
+      {
+         throw new IOException("Cannot copy a directory into itself: " + source);
+      }
+      if (source.getCanonicalFile().equals(target.getCanonicalFile()))
+      {
+         throw new IOException("Cannot copy a file onto itself: " + source);
+      }
+
+      List<File[]> copies = new ArrayList<File[]>();
+      collectCopies(source, target, copies);
+      forEach(copies, new FileOperation<File[]>()
+      {
+         @Override
+         public void apply(final File[] copy) throws IOException
+         {
+            copyFile(copy[0], copy[1]);
+         }
+      });
+   }
+
+   /**
+    * Delete a file, or a directory and everything beneath it. The files are deleted by several threads at once, then
+    * the directories from the bottom up.
+    *
+    * @return true if the given file or directory itself was deleted
+    */
+   public static boolean deleteRecursively(final File file)
+   {
+      if (!file.isDirectory())
+      {
+         return file.delete();
+      }
+
+      List<File> files = new ArrayList<File>();
+      List<File> directories = new ArrayList<File>();
+      collectDeletions(file, files, directories);
+      try
+      {
+         forEach(files, new FileOperation<File>()
+         {
+            @Override
+            public void apply(final File file) throws IOException
+            {
+               if (!file.delete())
+               {
+                  throw new IOException("failed to delete: " + file.getAbsolutePath());
+               }
+            }
+         });
+      }
+      catch (IOException e)
+      {
+         throw new RuntimeException(e.getMessage(), e);
+      }
+
+      for (int i = directories.size() - 1; i > 0; i--)
+      {
+         directories.get(i).delete();
+      }
+      return file.delete();
+   }
+
+   private static void collectCopies(final File source, final File target, final List<File[]> copies)
+            throws IOException
+   {
+      if (source.isDirectory())
+      {
+         if (!target.isDirectory() && !target.mkdirs())
+         {
+            throw new IOException("Failed to create directory: " + target);
+         }
+
+         File[] children = source.listFiles();
+         if (children != null)
+         {
+            for (File child : children)
+            {
+               collectCopies(child, new File(target, child.getName()), copies);
+            }
+         }
+      }
+      else
+      {
+         File parent = target.getParentFile();
+         if (parent != null && !parent.isDirectory() && !parent.mkdirs())
+         {
+            throw new IOException("Failed to create directory: " + parent);
+         }
+         copies.add(new File[] { source, target });
+      }
+   }
+
+   private static void collectDeletions(final File directory, final List<File> files, final List<File> directories)
+   {
+      directories.add(directory);
+      File[] children = directory.listFiles();
+      if (children != null)
+      {
+         for (File child : children)
+         {
+            if (child.isDirectory())
+            {
+               collectDeletions(child, files, directories);
+            }
+            else
+            {
+               files.add(child);
+            }
+         }
+      }
+   }
+
+   private static void copyFile(final File source, final File target) throws IOException
+   {
+      FileChannel in = new FileInputStream(source).getChannel();
+      try
+      {
+         FileChannel out = new FileOutputStream(target).getChannel();
+         try
+         {
+            long size = in.size();
+            long position = 0;
+            while (position < size)
+            {
+               position += in.transferTo(position, Math.min(TRANSFER_SIZE, size - position), out);
+            }
+         }
+         finally
+         {
+            out.close();
+         }
+      }
+      finally
+      {
+         in.close();
+      }
+
+      if (source.canExecute())
+      {
+         target.setExecutable(true);
+      }
+   }
+
+   private interface FileOperation<T>
+   {
+      void apply(T item) throws IOException;
+   }
+
+   /**
+    * Apply the operation to every item, in batches spread over a bounded number of threads. Lists too short to be
+    * worth a thread pool are processed on the calling thread.
+    */
+   private static <T> void forEach(final List<T> items, final FileOperation<T> operation) throws IOException
+   {
+      int batches = (items.size() + BATCH_SIZE - 1) / BATCH_SIZE;
+      if (batches <= 1)
+      {
+         for (T item : items)
+         {
+            operation.apply(item);
+         }
+         return;
+      }
+
+      ExecutorService executor = Executors.newFixedThreadPool(Math.min(batches, MAX_CONCURRENT_OPERATIONS),
+               new ThreadFactory()
+               {
+                  @Override
+                  public Thread newThread(final Runnable r)
+                  {
+                     Thread thread = new Thread(r, "Forge file operation");
+                     thread.setDaemon(true);
+                     return thread;
+                  }
+               });
+      try
+      {
+         List<Future<Void>> futures = new ArrayList<Future<Void>>();
+         for (int from = 0; from < items.size(); from += BATCH_SIZE)
+         {
+            final List<T> batch = items.subList(from, Math.min(from + BATCH_SIZE, items.size()));
+            futures.add(executor.submit(new Callable<Void>()
+            {
+               @Override
+               public Void call() throws IOException
+               {
+                  for (T item : batch)
+                  {
+                     operation.apply(item);
+                  }
+                  return null;
+               }
+            }));
+         }
+
+         for (Future<Void> future : futures)
+         {
+            future.get();
+         }
+      }
+      catch (ExecutionException e)
+      {
+         Throwable cause = e.getCause();
+         if (cause instanceof IOException)
+         {
+            throw (IOException) cause;
+         }
+         if (cause instanceof RuntimeException)
+         {
+            throw (RuntimeException) cause;
+         }
+         if (cause instanceof Error)
+         {
+            throw (Error) cause;
+         }
+         throw new IOException(cause);
+      }
+      catch (InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+         throw new InterruptedIOException("Interrupted during file operation");
+      }
+      finally
+      {
+         executor.shutdownNow();
+      }
+   }
 }
@@ -18,6 +18,7 @@ import java.util.regex.PatternSyntaxException;
 
 import org.jboss.forge.project.services.ResourceFactory;
 import org.jboss.forge.resources.DirectoryResource;
+import org.jboss.forge.resources.FileResource;
 import org.jboss.forge.resources.Resource;
 import org.jboss.forge.resources.ResourceFlag;
 import org.jboss.forge.resources.URLResource;
@@ -184,6 +185,12 @@ public class PathspecParser
                {
                   if (p.matcher(child.getName()).matches())
                   {
+                     if (child instanceof FileResource<?>)
+                     {
+                        // file resources are shared by the ResourceFactory, so flag a private copy
+                        FileResource<?> file = (FileResource<?>) child;
+                        child = file.createFrom(file.getUnderlyingResourceObject());
+                     }
                      child.setFlag(ResourceFlag.AmbiguouslyQualified);
 
                      if (child.getName().startsWith("."))
@@ -15,6 +15,7 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 
 /**
  * Stream utilities.
@@ -82,6 +83,45 @@ public abstract class Streams
       return new ByteArrayInputStream(data.getBytes());
    }
 
+   /**
+    * Return an {@link InputStream} reading the remaining bytes of the given {@link ByteBuffer}. The buffer itself is not
+    * consumed.
+    */
+   public static InputStream fromBuffer(final ByteBuffer buffer)
+   {
+      final ByteBuffer source = buffer.duplicate();
+      return new InputStream()
+      {
+         @Override
+         public int read()
+         {
+            return source.hasRemaining() ? source.get() & 0xFF : -1;
+         }
+
+         @Override
+         public int read(final byte[] bytes, final int offset, final int length)
+         {
+            if (length == 0)
+            {
+               return 0;
+            }
+            if (!source.hasRemaining())
+            {
+               return -1;
+            }
+            int count = Math.min(length, source.remaining());
+            source.get(bytes, offset, count);
+            return count;
+         }
+
+         @Override
+         public int available()
+         {
+            return source.remaining();
+         }
+      };
+   }
+
    public static void closeQuietly(final Closeable source)
    {
       if (source != null)
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.project.dependencies;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.inject.Instance;
+import javax.enterprise.util.TypeLiteral;
+
+import org.jboss.forge.resources.DependencyResource;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DependencyResolverTest
+{
+   @Test
+   public void testBatchResultsAreInQueryOrder()
+   {
+      SlowProvider provider = new SlowProvider();
+      DependencyResolver resolver = new DependencyResolver(new SingleInstance(provider));
+
+      List<DependencyQuery> queries = new ArrayList<DependencyQuery>();
+      for (int i = 0; i < 20; i++)
+      {
+         queries.add(DependencyQueryBuilder.create(DependencyBuilder.create("org.example:artifact-" + i)));
+      }
+
+      List<List<Dependency>> results = resolver.resolveVersions(queries);
+      Assert.assertEquals(20, results.size());
+      for (int i = 0; i < 20; i++)
+      {
+         Assert.assertEquals("artifact-" + i, results.get(i).get(0).getArtifactId());
+         Assert.assertEquals(2, results.get(i).size());
+      }
+      Assert.assertTrue(provider.maxConcurrent.get() > 1);
+   }
+
+   @Test
+   public void testBatchAppliesFilters()
+   {
+      DependencyResolver resolver = new DependencyResolver(new SingleInstance(new SlowProvider()));
+
+      List<DependencyQuery> queries = Arrays.<DependencyQuery> asList(
+               DependencyQueryBuilder.create(DependencyBuilder.create("org.example:first")),
+               DependencyQueryBuilder.create(DependencyBuilder.create("org.example:second")).setFilter(
+                        new NonSnapshotDependencyFilter()));
+
+      List<List<Dependency>> results = resolver.resolveVersions(queries);
+      Assert.assertEquals(2, results.get(0).size());
+      Assert.assertEquals(1, results.get(1).size());
+   }
+
+   @Test(expected = IllegalStateException.class)
+   public void testBatchPropagatesProviderFailures()
+   {
+      DependencyResolver resolver = new DependencyResolver(new SingleInstance(new SlowProvider()));
+      resolver.resolveVersions(Arrays.<DependencyQuery> asList(
+               DependencyQueryBuilder.create(DependencyBuilder.create("org.example:first")),
+               DependencyQueryBuilder.create(DependencyBuilder.create("org.example:fail"))));
+   }
+
+   private static class SlowProvider implements DependencyResolverProvider
+   {
+      private final AtomicInteger concurrent = new AtomicInteger();
+      private final AtomicInteger maxConcurrent = new AtomicInteger();
+
+      @Override
+      public List<Dependency> resolveVersions(final Dependency dep, final List<DependencyRepository> repositories)
+      {
+         int current = concurrent.incrementAndGet();
+         try
+         {
+            synchronized (maxConcurrent)
+            {
+               maxConcurrent.set(Math.max(current, maxConcurrent.get()));
+            }
+            Thread.sleep(50);
+            if ("fail".equals(dep.getArtifactId()))
+            {
+               throw new IllegalStateException("unresolvable");
+            }
+            return Arrays.<Dependency> asList(DependencyBuilder.create(dep).setVersion("1.0"),
+                     DependencyBuilder.create(dep).setVersion("1.1-SNAPSHOT"));
+         }
+         catch (InterruptedException e)
+         {
+            throw new RuntimeException(e);
+         }
+         finally
+         {
+            concurrent.decrementAndGet();
+         }
+      }
+
+      @Override
+      public List<Dependency> resolveVersions(final Dependency query, final DependencyRepository repository)
+      {
+         return resolveVersions(query, Arrays.asList(repository));
+      }
+
+      @Override
+      public List<Dependency> resolveVersions(final Dependency query)
+      {
+         return resolveVersions(query, new ArrayList<DependencyRepository>());
+      }
+
+      @Override
+      public List<DependencyResource> resolveArtifacts(final Dependency query)
+      {
+         return null;
+      }
+
+      @Override
+      public List<DependencyResource> resolveArtifacts(final Dependency query, final DependencyRepository repository)
+      {
+         return null;
+      }
+
+      @Override
+      public List<DependencyResource> resolveArtifacts(final Dependency dep,
+               final List<DependencyRepository> repositories)
+      {
+         return null;
+      }
+
+      @Override
+      public List<DependencyResource> resolveDependencies(final Dependency query)
+      {
+         return null;
+      }
+
+      @Override
+      public List<DependencyResource> resolveDependencies(final Dependency query,
+               final DependencyRepository repository)
+      {
+         return null;
+      }
+
+      @Override
+      public List<DependencyResource> resolveDependencies(final Dependency dep,
+               final List<DependencyRepository> repositories)
+      {
+         return null;
+      }
+
+      @Override
+      public DependencyMetadata resolveDependencyMetadata(final Dependency query)
+      {
+         return null;
+      }
+
+      @Override
+      public DependencyMetadata resolveDependencyMetadata(final Dependency query,
+               final DependencyRepository repository)
+      {
+         return null;
+      }
+
+      @Override
+      public DependencyMetadata resolveDependencyMetadata(final Dependency query,
+               final List<DependencyRepository> repositories)
+      {
+         return null;
+      }
+   }
+
+   private static class SingleInstance implements Instance<DependencyResolverProvider>
+   {
+      private final DependencyResolverProvider provider;
+
+      public SingleInstance(final DependencyResolverProvider provider)
+      {
+         this.provider = provider;
+      }
+
+      @Override
+      public Iterator<DependencyResolverProvider> iterator()
+      {
+         return Arrays.asList(provider).iterator();
+      }
+
+      @Override
+      public DependencyResolverProvider get()
+      {
+         return provider;
+      }
+
+      @Override
+      public Instance<DependencyResolverProvider> select(final Annotation... qualifiers)
+      {
+         return this;
+      }
+
+      @Override
+      public <U extends DependencyResolverProvider> Instance<U> select(final Class<U> subtype,
+               final Annotation... qualifiers)
+      {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public <U extends DependencyResolverProvider> Instance<U> select(final TypeLiteral<U> subtype,
+               final Annotation... qualifiers)
+      {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public boolean isUnsatisfied()
+      {
+         return false;
+      }
+
+      @Override
+      public boolean isAmbiguous()
+      {
+         return false;
+      }
+   }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.project.services;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PathspecIndexTest
+{
+   @Test
+   public void testExactNamesAndExtensions()
+   {
+      PathspecIndex<String> index = new PathspecIndex<String>();
+      index.add("pom.xml", "pom");
+      index.add("*.java", "java");
+      index.add("*.xml", "xml");
+      index.add(".gitignore", "gitignore");
+
+      Assert.assertEquals("pom", index.get("pom.xml"));
+      Assert.assertEquals("xml", index.get("beans.xml"));
+      Assert.assertEquals("java", index.get("Foo.java"));
+      Assert.assertEquals("java", index.get("Foo.Bar.java"));
+      Assert.assertEquals("java", index.get(".java"));
+      Assert.assertEquals("gitignore", index.get(".gitignore"));
+      Assert.assertNull(index.get("Foo.javax"));
+      Assert.assertNull(index.get("Foojava"));
+      Assert.assertNull(index.get("Makefile"));
+   }
+
+   @Test
+   public void testPatterns()
+   {
+      PathspecIndex<String> index = new PathspecIndex<String>();
+      index.add("README*", "readme");
+      index.add("*.tx?", "text");
+      index.add("*.txt", "txt");
+
+      Assert.assertEquals("readme", index.get("README"));
+      Assert.assertEquals("readme", index.get("README.md"));
+      Assert.assertEquals("text", index.get("notes.txz"));
+      Assert.assertEquals("txt", index.get("notes.txt"));
+      Assert.assertNull(index.get("notes.md"));
+   }
+
+   @Test
+   public void testPrecedence()
+   {
+      PathspecIndex<String> index = new PathspecIndex<String>();
+      index.add("*", "any");
+      index.add("*.gz", "gz");
+      index.add("*.tar.gz", "tar");
+      index.add("*.gz", "second gz");
+      index.add("build.tar.gz", "build");
+
+      Assert.assertEquals("build", index.get("build.tar.gz"));
+      Assert.assertEquals("tar", index.get("source.tar.gz"));
+      Assert.assertEquals("gz", index.get("source.gz"));
+      Assert.assertEquals("any", index.get("source"));
+   }
+}
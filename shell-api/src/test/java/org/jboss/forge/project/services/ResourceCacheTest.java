@@ -0,0 +1,63 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.project.services;
+
+import java.io.File;
+
+import org.jboss.forge.resources.Resource;
+import org.jboss.forge.resources.UnknownFileResource;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ResourceCacheTest
+{
+   @Test
+   public void testInvalidateDropsOnlyTheSubtree()
+   {
+      File root = new File(File.separator + "project");
+      File dir = new File(root, "a");
+      File[] files = { dir, new File(dir, "b"), new File(new File(dir, "b"), "c"), new File(root, "ab"),
+               new File(root, "a.txt"), new File(root, "a-b") };
+
+      ResourceCache cache = new ResourceCache(100);
+      Resource<?>[] resources = new Resource<?>[files.length];
+      for (int i = 0; i < files.length; i++)
+      {
+         UnknownFileResource resource = new UnknownFileResource(null, files[i]);
+         resources[i] = resource;
+         cache.put(files[i].getPath(), resource);
+      }
+
+      cache.invalidate(dir.getPath());
+      Assert.assertNull(cache.get(files[0].getPath()));
+      Assert.assertNull(cache.get(files[1].getPath()));
+      Assert.assertNull(cache.get(files[2].getPath()));
+      Assert.assertSame(resources[3], cache.get(files[3].getPath()));
+      Assert.assertSame(resources[4], cache.get(files[4].getPath()));
+      Assert.assertSame(resources[5], cache.get(files[5].getPath()));
+   }
+
+   @Test
+   public void testSizeIsBounded()
+   {
+      ResourceCache cache = new ResourceCache(2);
+      UnknownFileResource a = new UnknownFileResource(null, new File("a"));
+      UnknownFileResource b = new UnknownFileResource(null, new File("b"));
+      UnknownFileResource c = new UnknownFileResource(null, new File("c"));
+      cache.put("a", a);
+      cache.put("b", b);
+      cache.invalidate("a");
+      cache.put("c", c);
+      Assert.assertSame(b, cache.get("b"));
+      Assert.assertSame(c, cache.get("c"));
+
+      cache.put("a", a);
+      Assert.assertNull(cache.get("b"));
+      Assert.assertSame(a, cache.get("a"));
+   }
+}
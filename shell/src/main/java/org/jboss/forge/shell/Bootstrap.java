@@ -7,6 +7,7 @@
 package org.jboss.forge.shell;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Handler;
@@ -40,9 +41,11 @@ public class Bootstrap
 
    public static final String PROP_PLUGIN_DIR = "org.jboss.forge.pluginDir";
    public static final String PROP_EVALUATE = "org.jboss.forge.evaluate";
+   public static final String PROP_BATCH = "org.jboss.forge.batch";
    private static final String ARG_PLUGIN_DIR = "-pluginDir";
    private static final String ARG_CONFIG_DIR = "-configDir";
    private static final String ARG_EVALUATE = "-e";
+   private static final String ARG_BATCH = "--batch";
 
    private static boolean pluginSystemEnabled = !Boolean.getBoolean("forge.plugins.disable");
    private static Thread currentShell = null;
@@ -65,6 +68,7 @@ public class Bootstrap
       readPluginDirArgument(args);
       readConfigDirArgument(args);
       readEvaluateArgument(args);
+      readBatchArgument(args);
    }
 
    private static void readPluginDirArgument(String[] args)
@@ -103,6 +107,52 @@ public class Bootstrap
       }
    }
 
+   /**
+    * Run without a terminal if asked to, or if standard input is known not to be a terminal (and no IDE is standing in
+    * for one), unless {@value #PROP_BATCH} has already been set either way. Only standard input matters: output may be
+    * redirected, as in <code>forge | tee log</code>, while the user still types at the terminal.
+    */
+   private static void readBatchArgument(String[] args)
+   {
+      for (String arg : args)
+      {
+         if (ARG_BATCH.equals(arg))
+         {
+            System.setProperty(PROP_BATCH, "true");
+            return;
+         }
+      }
+
+      if ((System.getProperty(PROP_BATCH) == null) && isStandardInputRedirected()
+               && !Boolean.getBoolean("forge.compatibility.IDE"))
+      {
+         System.setProperty(PROP_BATCH, "true");
+      }
+   }
+
+   /**
+    * Java cannot tell whether standard input alone is a terminal; where /proc is available (Linux), look at what file
+    * descriptor 0 points to. Elsewhere, batch mode must be asked for with {@value #ARG_BATCH}.
+    */
+   private static boolean isStandardInputRedirected()
+   {
+      File stdin = new File("/proc/self/fd/0");
+      if (!stdin.exists())
+      {
+         return false;
+      }
+
+      try
+      {
+         String target = stdin.getCanonicalPath();
+         return !(target.startsWith("/dev/pts/") || target.startsWith("/dev/tty") || target.equals("/dev/console"));
+      }
+      catch (IOException e)
+      {
+         return false;
+      }
+   }
+
    private static void init()
    {
       do
@@ -20,22 +20,35 @@ import org.jboss.forge.shell.events.PostStartup;
 public class EvaluateListener
 {
    @Inject
-   private Shell shell;
+   private ShellImpl shell;
 
    public void evaluate(@Observes PostStartup event)
    {
       String evaluate = System.getProperty(Bootstrap.PROP_EVALUATE);
       if (evaluate != null)
       {
-         try
-         {
-            shell.execute(evaluate);
-            System.exit(0);
-         }
-         catch (Exception e)
-         {
-            System.exit(1);
-         }
+         System.exit(evaluate(evaluate));
+      }
+   }
+
+   /**
+    * Execute the given command line and flush its output, which in batch mode is still buffered. Return the exit
+    * status: 1 if the command failed, even if the shell has already reported and handled the failure, otherwise 0.
+    */
+   int evaluate(final String line)
+   {
+      try
+      {
+         shell.execute(line);
+         return shell.isLastCommandFailed() ? 1 : 0;
+      }
+      catch (Exception e)
+      {
+         return 1;
+      }
+      finally
+      {
+         shell.flush();
       }
    }
 }
@@ -7,6 +7,7 @@
 package org.jboss.forge.shell;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -27,7 +28,10 @@ import org.jboss.forge.shell.util.OSUtils;
 public class ForgeEnvironmentImpl implements ForgeEnvironment
 {
 
-   private final Map<String, Object> properties = new HashMap<String, Object>();
+   /*
+    * Shared by the foreground command and any background jobs, whose scripts read and write it concurrently.
+    */
+   private final Map<String, Object> properties = Collections.synchronizedMap(new HashMap<String, Object>());
 
    @Inject
    private ResourceFactory resourceFactory;
@@ -9,11 +9,13 @@ package org.jboss.forge.shell;
 import static org.mvel2.DataConversion.addConversionHandler;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.net.URL;
@@ -45,6 +47,7 @@ import org.jboss.forge.resources.Resource;
 import org.jboss.forge.resources.java.JavaResource;
 import org.jboss.forge.shell.buffers.ConsoleInputSession;
 import org.jboss.forge.shell.buffers.JLineScreenBuffer;
+import org.jboss.forge.shell.buffers.StreamScreenBuffer;
 import org.jboss.forge.shell.command.CommandMetadata;
 import org.jboss.forge.shell.command.PluginMetadata;
 import org.jboss.forge.shell.command.PromptTypeConverter;
@@ -74,6 +77,8 @@ import org.jboss.forge.shell.exceptions.PluginExecutionException;
 import org.jboss.forge.shell.exceptions.ShellExecutionException;
 import org.jboss.forge.shell.integration.BufferManager;
 import org.jboss.forge.shell.integration.KeyListener;
+import org.jboss.forge.shell.jobs.Job;
+import org.jboss.forge.shell.jobs.JobManager;
 import org.jboss.forge.shell.plugins.builtin.Echo;
 import org.jboss.forge.shell.project.CurrentProject;
 import org.jboss.forge.shell.spi.CommandInterceptor;
@@ -143,6 +148,9 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
    @Inject
    private FSHRuntime fshRuntime;
 
+   @Inject
+   private JobManager jobManager;
+
    @Inject
    PromptTypeConverter promptTypeConverter;
 
@@ -159,6 +167,8 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
    private boolean exitRequested = false;
 
    private ConsoleInputSession inputPipe;
+   private BufferedReader batchInput;
+   private volatile boolean lastCommandFailed;
    private OutputStream outputStream;
    private OutputStream historyOutstream;
 
@@ -331,10 +341,17 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
          }
       });
 
-      configureOSTerminal();
+      if (isBatchMode())
+      {
+         initBatchStreams();
+      }
+      else
+      {
+         configureOSTerminal();
 
-      this.completer = new AggregateCompleter(pluginCompleter);
-      initReaderAndStreams();
+         this.completer = new AggregateCompleter(pluginCompleter);
+         initReaderAndStreams();
+      }
       initParameters();
 
       if (event.isRestart())
@@ -361,13 +378,19 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
          environment.setProperty(OFFLINE_FLAG, false);
       }
 
-      shellConfig.loadHistory(this);
+      if (!isBatchMode())
+      {
+         shellConfig.loadHistory(this);
+      }
       shellConfig.loadConfig(this);
 
-      initSignalHandlers();
+      if (!isBatchMode())
+      {
+         initSignalHandlers();
 
-      if (!isNoInitMode())
-         this.registerKeyListener(ignoreEOF);
+         if (!isNoInitMode())
+            this.registerKeyListener(ignoreEOF);
+      }
 
       /*
        * Do this last so that we don't fire off plugin events before the shell has booted (Causing all kinds of
@@ -473,6 +496,11 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
 
    private void _setHistory(final List<String> lines)
    {
+      if (reader == null)
+      {
+         return;
+      }
+
       MemoryHistory history = new MemoryHistory();
 
       for (String line : lines)
@@ -488,6 +516,34 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
       return Boolean.getBoolean(NO_INIT_SYSTEM_PROPERTY);
    }
 
+   /**
+    * True if the shell reads commands from its input without a terminal: there is no line editing, completion, history
+    * or prompting for input, and output is buffered until each command completes.
+    */
+   boolean isBatchMode()
+   {
+      return Boolean.getBoolean(Bootstrap.PROP_BATCH);
+   }
+
+   /**
+    * True if the last command executed in the foreground failed, whether or not its exception was handled.
+    */
+   public boolean isLastCommandFailed()
+   {
+      return lastCommandFailed;
+   }
+
+   private void initBatchStreams()
+   {
+      if (outputStream == null)
+      {
+         outputStream = System.out;
+      }
+      this.screenBuffer = new StreamScreenBuffer(outputStream);
+      this.batchInput = new BufferedReader(new InputStreamReader(_redirectedStream == null ? System.in
+               : _redirectedStream));
+   }
+
    private void initReaderAndStreams() throws IOException
    {
       boolean noInitMode = isNoInitMode();
@@ -592,6 +648,12 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
 
    void doShell(@Observes final AcceptUserInput event) throws Exception
    {
+      if (isBatchMode())
+      {
+         doBatch();
+         return;
+      }
+
       String line;
       reader.setPrompt(getPrompt());
       while (!exitRequested)
@@ -619,6 +681,32 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
       }
    }
 
+   /**
+    * Execute each line of input in turn, stopping at the first command that fails.
+    */
+   private void doBatch() throws Exception
+   {
+      String line;
+      while (!exitRequested && ((line = batchInput.readLine()) != null))
+      {
+         if (!"".equals(line.trim()))
+         {
+            execute(line);
+            flush();
+            if (lastCommandFailed)
+            {
+               System.exit(1);
+            }
+         }
+      }
+      flush();
+
+      if (!exitRequested)
+      {
+         manager.fireEvent(new Shutdown(Shutdown.Status.NORMAL));
+      }
+   }
+
    private void handleException(final Exception original) throws Exception
    {
       if (!isExceptionHandlingEnabled())
@@ -734,6 +822,8 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
    @Override
    public String readLine(final Character mask) throws IOException
    {
+      requireInteractive();
+
       String line;
       if (mask != null)
       {
@@ -756,6 +846,7 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
    @Override
    public int scan()
    {
+      requireInteractive();
       try
       {
          return reader.readVirtualKey();
@@ -807,6 +898,7 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
          try
          {
             executing = true;
+            lastCommandFailed = false;
             if (!interruptedState)
             {
                for (CommandInterceptor interceptor : commandInterceptors)
@@ -814,13 +906,22 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
                   line = interceptor.intercept(line);
                }
 
-               executorThread = new ExecutorThread(line);
-               executorThread.run();
-               executorThread.join();
+               if (JobManager.isBackground(line))
+               {
+                  Job job = jobManager.submit(line);
+                  println("[" + job.getId() + "] " + job.getCommand());
+               }
+               else
+               {
+                  executorThread = new ExecutorThread(line);
+                  executorThread.run();
+                  executorThread.join();
+               }
             }
          }
          catch (Exception e)
          {
+            lastCommandFailed = true;
             handleException(e);
          }
          finally
@@ -839,6 +940,7 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
       if (executorThread != null)
       {
          executorThread.interrupt();
+         jobManager.interruptForeground();
          try
          {
             inputPipe.interruptPipe();
@@ -1088,7 +1190,11 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
 
    private void _flushBuffer() throws IOException
    {
-      if (bufferingMode == BufferingMode.Direct)
+      if (reader == null)
+      {
+         screenBuffer.flushBuffer();
+      }
+      else if (bufferingMode == BufferingMode.Direct)
       {
          reader.flush();
       }
@@ -1144,14 +1250,28 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
       // throw new UnsupportedOperationException("not allowed");
       this.inputPipe = null;
       this._redirectedStream = is;
-      initReaderAndStreams();
+      if (isBatchMode())
+      {
+         initBatchStreams();
+      }
+      else
+      {
+         initReaderAndStreams();
+      }
    }
 
    @Override
    public void setOutputStream(final OutputStream stream) throws IOException
    {
       this.outputStream = stream;
-      initReaderAndStreams();
+      if (isBatchMode())
+      {
+         initBatchStreams();
+      }
+      else
+      {
+         initReaderAndStreams();
+      }
    }
 
    @Override
@@ -1237,6 +1357,10 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
    @Override
    public int getAbsoluteHeight()
    {
+      if (reader == null)
+      {
+         return screenBuffer.getHeight();
+      }
       return reader.getTerminal().getHeight();
    }
 
@@ -1297,6 +1421,7 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
    @Override
    public String promptWithCompleter(String message, final Completer tempCompleter)
    {
+      requireInteractive();
       synchronized (executorLock)
       {
          if (!message.isEmpty() && message.matches("^.*\\S$"))
@@ -1364,6 +1489,7 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
    @Override
    public String promptSecret(String message)
    {
+      requireInteractive();
       if (!message.isEmpty() && message.matches("^.*\\S$"))
       {
          message = message + " ";
@@ -1527,7 +1653,22 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
    @Override
    public void registerKeyListener(final KeyListener keyListener)
    {
-      reader.registerKeyListener(keyListener);
+      if (reader != null)
+      {
+         reader.registerKeyListener(keyListener);
+      }
+   }
+
+   private void requireInteractive()
+   {
+      if (isBatchMode())
+      {
+         throw new ShellExecutionException("Input is required, but the shell is running in batch mode");
+      }
+      if (JobManager.isJobThread())
+      {
+         throw new ShellExecutionException("Input is required, but the command is running as a background job");
+      }
    }
 
    private void configureOSTerminal() throws IOException
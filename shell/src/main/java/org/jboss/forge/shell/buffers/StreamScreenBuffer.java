@@ -0,0 +1,123 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.buffers;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+import org.jboss.forge.shell.integration.BufferManager;
+
+/**
+ * A buffer writing to a plain {@link OutputStream}, for use without a terminal. Output is only passed on when the
+ * buffer fills up or is flushed, and there is no screen: the height is unbounded and the width fixed.
+ */
+public class StreamScreenBuffer implements BufferManager
+{
+   private static final Charset UTF_8 = Charset.forName("UTF-8");
+   private static final int WIDTH = 80;
+
+   private final OutputStream outputStream;
+
+   public StreamScreenBuffer(final OutputStream outputStream)
+   {
+      this.outputStream = new BufferedOutputStream(outputStream, 1024 * 8);
+   }
+
+   @Override
+   public void bufferOnlyMode()
+   {
+   }
+
+   @Override
+   public void directWriteMode()
+   {
+      flushBuffer();
+   }
+
+   @Override
+   public synchronized void flushBuffer()
+   {
+      try
+      {
+         outputStream.flush();
+      }
+      catch (IOException e)
+      {
+         throw new RuntimeException("could not flush", e);
+      }
+   }
+
+   @Override
+   public synchronized void write(final int b)
+   {
+      try
+      {
+         outputStream.write(b);
+      }
+      catch (IOException e)
+      {
+         throw new RuntimeException("could not write", e);
+      }
+   }
+
+   @Override
+   public void write(final byte b)
+   {
+      write((int) b);
+   }
+
+   @Override
+   public void write(final byte[] b)
+   {
+      write(b, 0, b.length);
+   }
+
+   @Override
+   public synchronized void write(final byte[] b, final int offset, final int length)
+   {
+      try
+      {
+         outputStream.write(b, offset, length);
+      }
+      catch (IOException e)
+      {
+         throw new RuntimeException("could not write", e);
+      }
+   }
+
+   @Override
+   public void write(final String s)
+   {
+      write(s.getBytes(UTF_8));
+   }
+
+   @Override
+   public synchronized void directWrite(final String s)
+   {
+      write(s);
+      flushBuffer();
+   }
+
+   @Override
+   public void setBufferPosition(final int row, final int col)
+   {
+   }
+
+   @Override
+   public int getHeight()
+   {
+      return Integer.MAX_VALUE;
+   }
+
+   @Override
+   public int getWidth()
+   {
+      return WIDTH;
+   }
+}
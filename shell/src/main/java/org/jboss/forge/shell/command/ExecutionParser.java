@@ -7,7 +7,6 @@
 package org.jboss.forge.shell.command;
 
 import java.io.File;
-import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashSet;
 import java.util.List;
@@ -35,6 +34,7 @@ import org.jboss.forge.shell.exceptions.PluginExecutionException;
 import org.jboss.forge.shell.plugins.PipeOut;
 import org.jboss.forge.shell.util.Enums;
 import org.jboss.forge.shell.util.GeneralUtils;
+import org.jboss.forge.shell.util.Streams;
 import org.mvel2.util.ParseTools;
 
 /**
@@ -58,7 +58,7 @@ public class ExecutionParser
    }
 
    @SuppressWarnings({ "unchecked", "rawtypes" })
-   public Execution parse(final Queue<String> tokens, final String pipeIn, final PipeOut pipeOut)
+   public Execution parse(final Queue<String> tokens, final InputStream pipeIn, final PipeOut pipeOut)
    {
       Execution execution = executionInstance.get();
       // execution.setOriginalStatement(line);
@@ -143,7 +143,7 @@ public class ExecutionParser
    }
 
    @SuppressWarnings({ "rawtypes", "unchecked" })
-   private Object[] parseParameters(final CommandMetadata command, final Queue<String> tokens, final String pipeIn,
+   private Object[] parseParameters(final CommandMetadata command, final Queue<String> tokens, final InputStream pipeIn,
             final PipeOut pipeOut)
    {
       CommandParser commandParser = new CompositeCommandParser(new NamedBooleanOptionParser(),
@@ -177,24 +177,11 @@ public class ExecutionParser
          {
             value = pipeIn;
 
-            if (pipeIn != null)
+            if ((pipeIn != null) && !InputStream.class.isAssignableFrom(option.getBoxedType()))
             {
-               if (InputStream.class.isAssignableFrom(option.getBoxedType()))
-               {
-                  value = new InputStream()
-                  {
-                     int cursor = 0;
-                     int len = pipeIn.length();
-
-                     @Override
-                     public int read() throws IOException
-                     {
-                        return cursor != len ? pipeIn.charAt(cursor++) : -1;
-                     }
-                  };
-               }
+               // commands taking their input as a String get all of it, once the previous command has finished
+               value = Streams.toString(pipeIn);
             }
-
          }
          else
          {
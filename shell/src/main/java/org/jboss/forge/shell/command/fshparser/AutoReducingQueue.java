@@ -124,9 +124,9 @@ public class AutoReducingQueue implements Queue<String>
    private void advance()
    {
       reduceCache = null;
-      if ((currNode != null) && (currNode.next != null))
+      if ((currNode != null) && (currNode.getNext() != null))
       {
-         currNode = currNode.next;
+         currNode = currNode.getNext();
       }
       else
       {
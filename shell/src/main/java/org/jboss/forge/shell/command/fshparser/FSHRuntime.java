@@ -6,7 +6,13 @@
  */
 package org.jboss.forge.shell.command.fshparser;
 
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Queue;
 
 import javax.enterprise.inject.Instance;
@@ -18,7 +24,9 @@ import org.jboss.forge.shell.command.Execution;
 import org.jboss.forge.shell.command.ExecutionParser;
 import org.jboss.forge.shell.command.PluginRegistry;
 import org.jboss.forge.shell.plugins.PipeOut;
+import org.jboss.forge.shell.util.Pipe;
 import org.jboss.forge.shell.util.PipeOutImpl;
+import org.jboss.forge.shell.util.Streams;
 
 /**
  * @author Mike Brock .
@@ -26,6 +34,19 @@ import org.jboss.forge.shell.util.PipeOutImpl;
 @Singleton
 public class FSHRuntime
 {
+   private static final int MAX_PARSED_LINES = 256;
+
+   private final Map<String, Node> parsed = new LinkedHashMap<String, Node>(16, 0.75f, true)
+   {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(final Entry<String, Node> eldest)
+      {
+         return size() > MAX_PARSED_LINES;
+      }
+   };
+
    private final Shell shell;
    private final PluginRegistry pluginRegistry;
    private final Instance<Execution> executionInstance;
@@ -44,14 +65,57 @@ public class FSHRuntime
 
    public void run(final String str)
    {
-      run(new FSHParser(str).parse(), null);
+      run(parse(str), null);
+   }
+
+   /**
+    * Run the given source, writing the output of its commands to the given stream rather than to the shell.
+    */
+   public void run(final String str, final OutputStream out)
+   {
+      run(parse(str), null, out);
+   }
+
+   /**
+    * Parse the given source, reusing the tree from an earlier parse of the same source where possible. Parsed trees are
+    * never modified, see {@link Node}.
+    */
+   public Node parse(final String source)
+   {
+      Node result;
+      synchronized (parsed)
+      {
+         result = parsed.get(source);
+      }
+
+      if (result == null)
+      {
+         result = new FSHParser(source).parse();
+         if (result != null)
+         {
+            synchronized (parsed)
+            {
+               parsed.put(source, result);
+            }
+         }
+      }
+      return result;
+   }
+
+   /**
+    * Run the given statements, reading piped input, if any, from the given stream. Commands joined by pipes run
+    * concurrently: each command but the last runs on its own thread, writing to a bounded {@link Pipe} which the
+    * following command reads as the output is produced.
+    */
+   public void run(final Node startNode, final InputStream pipeIn)
+   {
+      run(startNode, pipeIn, null);
    }
 
-   public void run(final Node startNode, final PipeOut forwardPipe)
+   private void run(final Node startNode, final InputStream pipeIn, final OutputStream out)
    {
       AutoReducingQueue arQueue;
       Node n = startNode;
-      PipeOut lastPipe = null;
 
       do
       {
@@ -61,13 +125,7 @@ public class FSHRuntime
          }
          else if (n instanceof PipeNode)
          {
-            if (lastPipe == null)
-            {
-               throw new RuntimeException("broken pipe");
-            }
-
-            run(((PipeNode) n).getNest(), lastPipe);
-            continue;
+            throw new RuntimeException("broken pipe");
          }
          else
          {
@@ -86,30 +144,110 @@ public class FSHRuntime
 
          if (!outQueue.isEmpty())
          {
-            PipeOut pipeOut = new PipeOutImpl(shell);
+            Pipe pipe = null;
+            PipeOut pipeOut;
 
-            if (n.next != null && n.next instanceof PipeNode)
+            if (n.getNext() instanceof PipeNode)
             {
-               pipeOut.setPiped(true);
-               lastPipe = pipeOut;
+               pipe = new Pipe();
+               pipeOut = new PipeOutImpl(shell, pipe.getOutputStream());
             }
-
-            Node x = n;
-            while (x instanceof LogicalStatement && (x = ((LogicalStatement) x).nest) != null)
+            else if (out != null)
+            {
+               pipeOut = new PipeOutImpl(shell, out);
+            }
+            else
             {
-               if (x instanceof ScriptNode || x.next != null)
-               {
-                  break;
-               }
+               pipeOut = new PipeOutImpl(shell);
             }
 
-            String pipeIn = forwardPipe != null ? forwardPipe.getBuffer() : null;
             Execution execution = executionParser.parse(outQueue, pipeIn, pipeOut);
             execution.verifyConstraints(shell);
-            execution.perform(forwardPipe);
+
+            if (pipe != null)
+            {
+               n = n.getNext();
+               runPiped(execution, pipe, ((PipeNode) n).getNest(), out);
+            }
+            else
+            {
+               execution.perform(pipeOut);
+            }
+         }
+      }
+      while ((n = n.getNext()) != null);
+   }
+
+   private void runPiped(final Execution execution, final Pipe pipe, final Node next, final OutputStream out)
+   {
+      PipelineStage stage = new PipelineStage(execution, pipe);
+      stage.start();
+      try
+      {
+         run(next, new BufferedInputStream(pipe.getInputStream()), out);
+      }
+      finally
+      {
+         // the next command may not read all (or any) of its input; let this one finish regardless
+         Streams.closeQuietly(pipe.getInputStream());
+         try
+         {
+            stage.join();
+         }
+         catch (InterruptedException e)
+         {
+            stage.interrupt();
+            Thread.currentThread().interrupt();
+         }
+      }
+
+      if (stage.failure instanceof RuntimeException)
+      {
+         throw (RuntimeException) stage.failure;
+      }
+      else if (stage.failure instanceof Error)
+      {
+         throw (Error) stage.failure;
+      }
+      else if (stage.failure != null)
+      {
+         throw new RuntimeException(stage.failure.getMessage(), stage.failure);
+      }
+   }
+
+   /**
+    * Runs a command whose output is piped to the next command.
+    */
+   private static class PipelineStage extends Thread
+   {
+      private final Execution execution;
+      private final Pipe pipe;
+      private volatile Throwable failure;
+
+      PipelineStage(final Execution execution, final Pipe pipe)
+      {
+         super("Forge pipe [" + execution.getOriginalStatement() + "]");
+         setDaemon(true);
+         this.execution = execution;
+         this.pipe = pipe;
+      }
+
+      @Override
+      public void run()
+      {
+         try
+         {
+            execution.perform(null);
+         }
+         catch (Throwable e)
+         {
+            failure = e;
+         }
+         finally
+         {
+            Streams.closeQuietly(pipe.getOutputStream());
          }
       }
-      while ((n = n.next) != null);
    }
 
    public void shell(String command)
@@ -22,7 +22,7 @@ public class LogicalStatement extends NestedNode
    public Queue<String> getTokens(final FSHRuntime runtime)
    {
       Queue<String> newQueue = new LinkedList<String>();
-      Node n = nest;
+      Node n = getNest();
       do
       {
          if (n instanceof TokenNode)
@@ -40,7 +40,7 @@ public class LogicalStatement extends NestedNode
             throw new RuntimeException("uh-oh");
          }
       }
-      while ((n = n.next) != null);
+      while ((n = n.getNext()) != null);
 
       return newQueue;
    }
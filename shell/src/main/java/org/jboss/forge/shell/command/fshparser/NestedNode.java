@@ -11,7 +11,7 @@ package org.jboss.forge.shell.command.fshparser;
  */
 public class NestedNode extends Node
 {
-   protected Node nest;
+   private final Node nest;
 
    public NestedNode(Node nest)
    {
@@ -23,14 +23,9 @@ public class NestedNode extends Node
       return nest;
    }
 
-   public void setNest(Node nest)
-   {
-      this.nest = nest;
-   }
-
    @Override
    public String toString()
    {
-      return "{" + nest + "}" + (next != null ? " " + next.toString() : "");
+      return "{" + nest + "}" + (getNext() != null ? " " + getNext().toString() : "");
    }
 }
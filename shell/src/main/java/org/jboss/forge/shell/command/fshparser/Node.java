@@ -7,11 +7,14 @@
 package org.jboss.forge.shell.command.fshparser;
 
 /**
+ * A node of a parsed FSH statement. Nodes are only linked together by the {@link FSHParser} and are not changed once
+ * parsing is complete, so a parsed tree may be shared, and run by the {@link FSHRuntime} any number of times.
+ * 
  * @author Mike Brock .
  */
 public class Node
 {
-   protected Node next;
+   private Node next;
 
    public Node()
    {
@@ -22,7 +25,7 @@ public class Node
       return next;
    }
 
-   public void setNext(Node next)
+   void setNext(Node next)
    {
       this.next = next;
    }
@@ -8,8 +8,12 @@ package org.jboss.forge.shell.command.fshparser;
 
 import static java.lang.Character.isJavaIdentifierPart;
 
+import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Queue;
 import java.util.Set;
 
@@ -23,6 +27,24 @@ public abstract class Parse
    private static final Set<String> reservedWords = new HashSet<String>();
    private static final Set<String> operators = new HashSet<String>();
 
+   private static final int MAX_COMPILED_EXPRESSIONS = 512;
+
+   /**
+    * Compiled scripts by source, least recently used first. Scripts inside loops are reduced again on every iteration,
+    * usually to the same source.
+    */
+   private static final Map<String, Serializable> compiledExpressions = new LinkedHashMap<String, Serializable>(16,
+            0.75f, true)
+   {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(final Entry<String, Serializable> eldest)
+      {
+         return size() > MAX_COMPILED_EXPRESSIONS;
+      }
+   };
+
    static
    {
       reservedWords.add("if");
@@ -135,7 +157,7 @@ public abstract class Parse
 
       // System.out.println("\n----\n" + toExec + "\n========\n");
 
-      Object r = MVEL.eval(toExec, runtime, runtime.getShell().getEnvironment().getProperties());
+      Object r = MVEL.executeExpression(compile(toExec), runtime, runtime.getShell().getEnvironment().getProperties());
       if (r == null)
       {
          return null;
@@ -145,4 +167,23 @@ public abstract class Parse
          return String.valueOf(r);
       }
    }
+
+   static Serializable compile(final String expression)
+   {
+      Serializable compiled;
+      synchronized (compiledExpressions)
+      {
+         compiled = compiledExpressions.get(expression);
+      }
+
+      if (compiled == null)
+      {
+         compiled = MVEL.compileExpression(expression);
+         synchronized (compiledExpressions)
+         {
+            compiledExpressions.put(expression, compiled);
+         }
+      }
+      return compiled;
+   }
 }
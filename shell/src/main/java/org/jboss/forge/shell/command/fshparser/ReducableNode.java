@@ -11,19 +11,15 @@ package org.jboss.forge.shell.command.fshparser;
  */
 public class ReducableNode extends LogicalStatement
 {
-   private boolean nocommand = false;
+   private final boolean nocommand;
 
    public ReducableNode(Node nest, boolean nocommand)
    {
-      super(nest);
-
       /**
        * If the next node is just a value suppression operator, we discard it.
        */
-      if ((this.nocommand = nocommand) || FSHParser.tokenMatch(nest, "@"))
-      {
-         super.nest = nest.next;
-      }
+      super(nocommand || FSHParser.tokenMatch(nest, "@") ? nest.getNext() : nest);
+      this.nocommand = nocommand;
    }
 
    public boolean isNocommand()
@@ -13,6 +13,6 @@ public class StringTokenNode extends TokenNode
 {
    public StringTokenNode(String value)
    {
-      this.value = value;
+      super(value, false);
    }
 }
@@ -11,15 +11,16 @@ package org.jboss.forge.shell.command.fshparser;
  */
 public class TokenNode extends Node
 {
-   protected String value;
+   private final String value;
 
-   public TokenNode()
+   public TokenNode(String value)
    {
+      this(value, value.startsWith("$"));
    }
 
-   public TokenNode(String value)
+   TokenNode(String value, boolean variable)
    {
-      if (value.startsWith("$"))
+      if (variable)
       {
          this.value = value.substring(1);
       }
@@ -34,14 +35,9 @@ public class TokenNode extends Node
       return value;
    }
 
-   public void setValue(String value)
-   {
-      this.value = value;
-   }
-
    @Override
    public String toString()
    {
-      return value + (next != null ? " " + next.toString() : "");
+      return value + (getNext() != null ? " " + getNext().toString() : "");
    }
 }
@@ -26,6 +26,9 @@ public class EnvironmentPropertiesCompleter extends SimpleTokenCompleter
    public List<Object> getCompletionTokens()
    {
       Map<String, Object> props = environment.getProperties();
-      return new ArrayList<Object>(props.keySet());
+      synchronized (props)
+      {
+         return new ArrayList<Object>(props.keySet());
+      }
    }
 }
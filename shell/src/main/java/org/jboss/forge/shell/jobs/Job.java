@@ -0,0 +1,217 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.jobs;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A command line running in the background. Its output is kept in memory until it is taken by {@link #takeOutput()};
+ * only the last {@value #MAX_OUTPUT} bytes are kept if it is not taken in time.
+ */
+public class Job
+{
+   public enum Status
+   {
+      RUNNING("Running"), DONE("Done"), FAILED("Failed"), KILLED("Killed");
+
+      private final String label;
+
+      private Status(final String label)
+      {
+         this.label = label;
+      }
+
+      @Override
+      public String toString()
+      {
+         return label;
+      }
+   }
+
+   static final int MAX_OUTPUT = 64 * 1024;
+
+   private final int id;
+   private final String command;
+   private final OutputBuffer output = new OutputBuffer();
+   private final CountDownLatch finished = new CountDownLatch(1);
+
+   private volatile Future<?> future;
+   private volatile Throwable failure;
+   private volatile boolean killed;
+   private boolean started;
+
+   Job(final int id, final String command)
+   {
+      this.id = id;
+      this.command = command;
+   }
+
+   public int getId()
+   {
+      return id;
+   }
+
+   public String getCommand()
+   {
+      return command;
+   }
+
+   public Status getStatus()
+   {
+      if (killed)
+      {
+         return Status.KILLED;
+      }
+      else if (!isDone())
+      {
+         return Status.RUNNING;
+      }
+      return failure == null ? Status.DONE : Status.FAILED;
+   }
+
+   /**
+    * Return true once the job has stopped running. A killed job is only done once its thread has actually returned.
+    */
+   public boolean isDone()
+   {
+      return finished.getCount() == 0;
+   }
+
+   /**
+    * Return the exception which ended this job, or null if it completed normally or has not yet completed.
+    */
+   public Throwable getFailure()
+   {
+      return failure;
+   }
+
+   /**
+    * Return the output written by this job since the last call, and discard it.
+    */
+   public String takeOutput()
+   {
+      synchronized (output)
+      {
+         try
+         {
+            output.trim();
+            return output.toString("UTF-8");
+         }
+         catch (UnsupportedEncodingException e)
+         {
+            throw new RuntimeException(e);
+         }
+         finally
+         {
+            output.reset();
+         }
+      }
+   }
+
+   /**
+    * Wait up to the given number of milliseconds for this job to complete.
+    *
+    * @return true if the job is done
+    */
+   public boolean await(final long timeout) throws InterruptedException
+   {
+      return finished.await(timeout, TimeUnit.MILLISECONDS);
+   }
+
+   OutputStream getOutputStream()
+   {
+      return output;
+   }
+
+   void setFuture(final Future<?> future)
+   {
+      this.future = future;
+   }
+
+   void setFailure(final Throwable failure)
+   {
+      this.failure = failure;
+   }
+
+   /**
+    * Called by the job's thread before it runs the command line.
+    *
+    * @return false if the job was killed before it could start, in which case it must not run
+    */
+   synchronized boolean start()
+   {
+      started = !killed;
+      return started;
+   }
+
+   /**
+    * Called by the job's thread once the command line has returned.
+    */
+   void finish()
+   {
+      finished.countDown();
+   }
+
+   void kill()
+   {
+      synchronized (this)
+      {
+         killed = true;
+         if (!started)
+         {
+            /*
+             * The executor may never run a cancelled task, so nothing else would mark the job as done.
+             */
+            finished.countDown();
+         }
+      }
+      future.cancel(true);
+   }
+
+   /**
+    * Keeps the most recent output of a job, so that a chatty job nobody is waiting on cannot exhaust the heap.
+    */
+   static class OutputBuffer extends ByteArrayOutputStream
+   {
+      @Override
+      public synchronized void write(final int b)
+      {
+         super.write(b);
+         if (count > 2 * MAX_OUTPUT)
+         {
+            trim();
+         }
+      }
+
+      @Override
+      public synchronized void write(final byte[] b, final int off, final int len)
+      {
+         super.write(b, off, len);
+         if (count > 2 * MAX_OUTPUT)
+         {
+            trim();
+         }
+      }
+
+      /*
+       * Trimming only once twice the limit has been written keeps the cost of the copy to once per MAX_OUTPUT bytes.
+       */
+      synchronized void trim()
+      {
+         if (count > MAX_OUTPUT)
+         {
+            System.arraycopy(buf, count - MAX_OUTPUT, buf, 0, MAX_OUTPUT);
+            count = MAX_OUTPUT;
+         }
+      }
+   }
+}
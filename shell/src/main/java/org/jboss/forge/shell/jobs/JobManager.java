@@ -0,0 +1,250 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.jobs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.jboss.forge.shell.command.fshparser.FSHRuntime;
+import org.jboss.forge.shell.events.PreShutdown;
+import org.jboss.forge.shell.plugins.PipeOut;
+
+/**
+ * Runs command lines ending in <code>&amp;</code> in the background, and keeps track of them until their completion has
+ * been reported. Jobs are numbered from 1, and are referred to as <code>%n</code> (or just <code>n</code>);
+ * <code>%%</code> and <code>%+</code> refer to the most recently started job.
+ */
+@Singleton
+public class JobManager
+{
+   private static final long OUTPUT_INTERVAL = 100;
+
+   @Inject
+   private FSHRuntime runtime;
+
+   /*
+    * Inherited so that the threads a job starts, such as the stages of a pipeline, also count as part of the job.
+    */
+   private static final ThreadLocal<Boolean> jobThread = new InheritableThreadLocal<Boolean>()
+   {
+      @Override
+      protected Boolean initialValue()
+      {
+         return false;
+      }
+   };
+
+   private final TreeMap<Integer, Job> jobs = new TreeMap<Integer, Job>();
+   private ExecutorService executor;
+   private volatile Job foreground;
+
+   /**
+    * Return true if the given line should be run in the background, that is if it ends with a single
+    * <code>&amp;</code>.
+    */
+   public static boolean isBackground(final String line)
+   {
+      String trimmed = line.trim();
+      return trimmed.endsWith("&") && !trimmed.endsWith("&&") && (trimmed.length() > 1);
+   }
+
+   /**
+    * Return true if the calling thread is running a background job. Such threads have no access to the terminal, so
+    * they must not prompt for input.
+    */
+   public static boolean isJobThread()
+   {
+      return jobThread.get();
+   }
+
+   /**
+    * Start running the given line, less any trailing <code>&amp;</code>, in the background.
+    */
+   public synchronized Job submit(final String line)
+   {
+      String command = line.trim();
+      if (command.endsWith("&"))
+      {
+         command = command.substring(0, command.length() - 1).trim();
+      }
+
+      int id = 1;
+      while (jobs.containsKey(id))
+      {
+         id++;
+      }
+
+      final Job job = new Job(id, command);
+      final String statement = command;
+      final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+      job.setFuture(getExecutor().submit(new Runnable()
+      {
+         @Override
+         public void run()
+         {
+            if (!job.start())
+            {
+               return;
+            }
+            Thread thread = Thread.currentThread();
+            ClassLoader previous = thread.getContextClassLoader();
+            try
+            {
+               thread.setContextClassLoader(loader);
+               jobThread.set(true);
+               runtime.run(statement, job.getOutputStream());
+            }
+            catch (Throwable e)
+            {
+               job.setFailure(e);
+            }
+            finally
+            {
+               jobThread.remove();
+               thread.setContextClassLoader(previous);
+               job.finish();
+            }
+         }
+      }));
+      jobs.put(id, job);
+      return job;
+   }
+
+   /**
+    * Return the jobs that are running, or whose completion has not yet been reported, in order of their number.
+    */
+   public synchronized List<Job> getJobs()
+   {
+      return new ArrayList<Job>(jobs.values());
+   }
+
+   /**
+    * Return the job referred to by the given specification, or null if there is no such job.
+    */
+   public synchronized Job getJob(final String spec)
+   {
+      String id = spec == null ? "%%" : spec.trim();
+      if ("%%".equals(id) || "%+".equals(id) || "%".equals(id))
+      {
+         return jobs.isEmpty() ? null : jobs.lastEntry().getValue();
+      }
+
+      if (id.startsWith("%"))
+      {
+         id = id.substring(1);
+      }
+      try
+      {
+         return jobs.get(Integer.valueOf(id));
+      }
+      catch (NumberFormatException e)
+      {
+         return null;
+      }
+   }
+
+   /**
+    * Forget the given job once it is done, as its completion has been reported.
+    */
+   public synchronized void remove(final Job job)
+   {
+      if (job.isDone())
+      {
+         jobs.remove(job.getId());
+      }
+   }
+
+   /**
+    * Wait for the given job to complete, copying its output to the given {@link PipeOut} as it is produced. The wait
+    * ends early, and the job is killed, if the shell is interrupted meanwhile.
+    */
+   public void foreground(final Job job, final PipeOut out) throws InterruptedException
+   {
+      foreground = job;
+      try
+      {
+         boolean done;
+         do
+         {
+            done = job.await(OUTPUT_INTERVAL);
+            String output = job.takeOutput();
+            if (output.length() > 0)
+            {
+               out.print(output);
+               out.flush();
+            }
+         }
+         while (!done);
+         remove(job);
+      }
+      finally
+      {
+         foreground = null;
+      }
+   }
+
+   /**
+    * Interrupt the given job. It stays listed until its thread has actually returned and its completion has been
+    * reported.
+    */
+   public void kill(final Job job)
+   {
+      job.kill();
+      remove(job);
+   }
+
+   /**
+    * Kill the job being waited on by {@link #foreground(Job, PipeOut)}, if any.
+    *
+    * @return true if there was such a job
+    */
+   public boolean interruptForeground()
+   {
+      Job job = foreground;
+      if (job != null)
+      {
+         job.kill();
+         return true;
+      }
+      return false;
+   }
+
+   public synchronized void shutdown(@Observes final PreShutdown event)
+   {
+      if (executor != null)
+      {
+         executor.shutdownNow();
+         executor = null;
+      }
+   }
+
+   private ExecutorService getExecutor()
+   {
+      if (executor == null)
+      {
+         executor = Executors.newCachedThreadPool(new ThreadFactory()
+         {
+            @Override
+            public Thread newThread(final Runnable r)
+            {
+               Thread thread = new Thread(r, "Forge background job");
+               thread.setDaemon(true);
+               return thread;
+            }
+         });
+      }
+      return executor;
+   }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.shell.observers;
+
+import javax.enterprise.event.Observes;
+import javax.inject.Singleton;
+
+import org.jboss.forge.project.dependencies.events.ArtifactTransferred;
+import org.jboss.forge.project.dependencies.events.UnresolvedArtifact;
+import org.jboss.forge.shell.Shell;
+import org.jboss.forge.shell.ShellMessages;
+import org.jboss.forge.shell.events.PostStartup;
+import org.jboss.forge.shell.events.PreShutdown;
+
+/**
+ * Reports artifact downloads as they complete, and artifacts that could not be resolved, while the shell is running.
+ * Downloads complete on background threads, so output is serialized here.
+ */
+@Singleton
+public class ArtifactTransferObserver
+{
+   private volatile boolean running;
+
+   public void start(@Observes final PostStartup event)
+   {
+      running = true;
+   }
+
+   public void stop(@Observes final PreShutdown event)
+   {
+      running = false;
+   }
+
+   public synchronized void transferred(@Observes final ArtifactTransferred event, final Shell shell)
+   {
+      if (!running)
+      {
+         return;
+      }
+
+      String location = event.getRepositoryUrl() + event.getResourceName();
+      if (event.isSuccessful())
+      {
+         ShellMessages.info(shell, "Downloaded: " + location + " (" + (event.getBytes() + 1023) / 1024 + " KB)");
+      }
+      else if (shell.isVerbose())
+      {
+         ShellMessages.info(shell, "Could not download: " + location + " (" + event.getFailure().getMessage() + ")");
+      }
+   }
+
+   public synchronized void unresolved(@Observes final UnresolvedArtifact event, final Shell shell)
+   {
+      if (!running)
+      {
+         return;
+      }
+
+      StringBuilder message = new StringBuilder("Could not resolve artifact [")
+               .append(event.getDependency().toCoordinates()).append("] from ").append(event.getRepositories());
+      if (!event.getCauses().isEmpty())
+      {
+         message.append(": ").append(event.getCauses().get(0).getMessage());
+      }
+      ShellMessages.warn(shell, message.toString());
+   }
+}
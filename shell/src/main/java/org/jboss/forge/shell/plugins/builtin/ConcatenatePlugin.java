@@ -8,7 +8,13 @@ package org.jboss.forge.shell.plugins.builtin;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
 
+import org.jboss.forge.resources.FileResource;
 import org.jboss.forge.resources.Resource;
 import org.jboss.forge.shell.plugins.Alias;
 import org.jboss.forge.shell.plugins.DefaultCommand;
@@ -46,6 +52,12 @@ public class ConcatenatePlugin implements Plugin
 
          for (Resource<?> res : paths)
          {
+            if (res instanceof FileResource<?>)
+            {
+               lastBuf = writeOutToConsole(((FileResource<?>) res).getContentsAsByteBuffer(), out);
+               continue;
+            }
+
             InputStream is = null;
             try
             {
@@ -81,4 +93,33 @@ public class ConcatenatePlugin implements Plugin
       return s;
 
    }
+
+   private static String writeOutToConsole(ByteBuffer buffer, PipeOut out)
+   {
+      CharsetDecoder decoder = Charset.defaultCharset().newDecoder()
+               .onMalformedInput(CodingErrorAction.REPLACE)
+               .onUnmappableCharacter(CodingErrorAction.REPLACE);
+      ByteBuffer in = buffer.duplicate();
+      CharBuffer chars = CharBuffer.allocate(8192);
+      String s = null;
+
+      boolean more = true;
+      while (more)
+      {
+         more = decoder.decode(in, chars, true).isOverflow();
+         if (!more)
+         {
+            decoder.flush(chars);
+         }
+
+         chars.flip();
+         if (chars.hasRemaining())
+         {
+            out.print(s = chars.toString());
+         }
+         chars.clear();
+      }
+
+      return s;
+   }
 }
@@ -14,6 +14,7 @@ import org.jboss.forge.project.services.ResourceFactory;
 import org.jboss.forge.resources.DirectoryResource;
 import org.jboss.forge.resources.FileResource;
 import org.jboss.forge.resources.Resource;
+import org.jboss.forge.shell.Wait;
 import org.jboss.forge.shell.plugins.Alias;
 import org.jboss.forge.shell.plugins.Current;
 import org.jboss.forge.shell.plugins.DefaultCommand;
@@ -43,11 +44,13 @@ public class CopyPlugin implements Plugin
    Resource<?> directory;
 
    private final ResourceFactory resourceFactory;
+   private final Wait wait;
 
    @Inject
-   public CopyPlugin(final ResourceFactory resourceFactory)
+   public CopyPlugin(final ResourceFactory resourceFactory, final Wait wait)
    {
       this.resourceFactory = resourceFactory;
+      this.wait = wait;
    }
 
    @DefaultCommand
@@ -72,71 +75,45 @@ public class CopyPlugin implements Plugin
 
    private void copy(final Resource<?> source, Resource<?> directory, final String target)
    {
-      List<Resource<?>> results = new PathspecParser(resourceFactory, directory, target).resolve();
-
-      if (results.size() > 1)
-      {
-         throw new RuntimeException("ambiguous target file name: " + target);
-      }
-      else
+      Resource<?> targetResource = resolveTarget(directory, target);
+      if (targetResource.exists())
       {
-         Resource<?> targetResource = results.get(0);
-         if (targetResource.exists())
+         if (isDirectory(targetResource))
          {
-            if (isDirectory(targetResource))
-            {
-               targetResource = targetResource.getChild(source.getName());
-            }
+            targetResource = targetResource.getChild(source.getName());
          }
-         ((FileResource<?>) targetResource).setContents(source.getResourceInputStream());
       }
+      ((FileResource<?>) source).copyTo((FileResource<?>) targetResource);
    }
 
    private void copyRecursively(final Resource<?> source, Resource<?> directory, final String target)
    {
-      List<Resource<?>> results = new PathspecParser(resourceFactory, directory, target).resolve();
+      Resource<?> targetResource = resolveTarget(directory, target);
+      if (targetResource.exists())
+      {
+         targetResource = ((DirectoryResource) targetResource).getChildDirectory(source.getName());
+      }
 
-      if (results.size() > 1)
+      wait.start("Copying " + source.getName());
+      try
       {
-         throw new RuntimeException("ambiguous target file name: " + target);
+         ((FileResource<?>) source).copyTo((FileResource<?>) targetResource);
       }
-      else
+      finally
       {
-         Resource<?> targetResource = results.get(0);
-         Resource<?> newTargetDir = null;
+         wait.stop();
+      }
+   }
 
-         if (isDirectory(source))
-         {
-            if (!targetResource.exists())
-            {
-               newTargetDir = ((DirectoryResource) targetResource.getParent()).getOrCreateChildDirectory(targetResource
-                        .getName());
-            }
-            else
-            {
-               newTargetDir = ((DirectoryResource) targetResource).getOrCreateChildDirectory(source.getName());
-            }
-            for (Resource<?> resource : source.listResources())
-            {
-               copyRecursively(resource, directory, newTargetDir.getFullyQualifiedName());
-            }
-         }
-         else if (isFile(source))
-         {
-            Resource<?> child = targetResource.getChild(source.getName());
-
-            if (child == null)
-            {
-               ((DirectoryResource) targetResource).getOrCreateChildDirectory(source.getName()).setContents(
-                        source.getResourceInputStream());
-            }
-            else
-            {
-               ((FileResource<?>) child).setContents(source.getResourceInputStream());
-            }
-            newTargetDir = targetResource;
-         }
+   private Resource<?> resolveTarget(Resource<?> directory, final String target)
+   {
+      List<Resource<?>> results = new PathspecParser(resourceFactory, directory, target).resolve();
+
+      if (results.size() > 1)
+      {
+         throw new RuntimeException("ambiguous target file name: " + target);
       }
+      return results.get(0);
    }
 
    private boolean isFile(Resource<?> source)
@@ -7,9 +7,9 @@
 package org.jboss.forge.shell.plugins.builtin;
 
 import java.io.IOException;
-import java.util.List;
 
 import org.jboss.forge.resources.Resource;
+import org.jboss.forge.resources.ResourceTraversal;
 import org.jboss.forge.shell.plugins.Alias;
 import org.jboss.forge.shell.plugins.DefaultCommand;
 import org.jboss.forge.shell.plugins.Help;
@@ -38,14 +38,10 @@ public class FindPlugin implements Plugin
 
    private void listResources(PipeOut out, Resource<?> r)
    {
-      List<Resource<?>> list = r.listResources();
       out.println(r.getFullyQualifiedName());
-      if (list != null && !list.isEmpty())
+      for (Resource<?> resource : ResourceTraversal.from(r))
       {
-         for (Resource<?> resource : list)
-         {
-            listResources(out, resource);
-         }
+         out.println(resource.getFullyQualifiedName());
       }
    }
 }
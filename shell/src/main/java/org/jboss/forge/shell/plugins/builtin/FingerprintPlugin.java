@@ -11,6 +11,7 @@ import java.io.InputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
+import org.jboss.forge.resources.FileResource;
 import org.jboss.forge.resources.Resource;
 import org.jboss.forge.resources.ResourceFlag;
 import org.jboss.forge.shell.plugins.Alias;
@@ -62,6 +63,12 @@ public class FingerprintPlugin implements Plugin
                   continue;
 
                names.append(r.getName()).append(" ");
+               if (r instanceof FileResource<?>)
+               {
+                  md.update(((FileResource<?>) r).getContentsAsByteBuffer());
+                  continue;
+               }
+
                try
                {
                   fingerprint(inputStream = r.getResourceInputStream(), md);
@@ -97,10 +104,11 @@ public class FingerprintPlugin implements Plugin
 
    private void fingerprint(InputStream instream, MessageDigest md) throws IOException
    {
-      byte b;
-      while ((b = (byte) instream.read()) != -1)
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = instream.read(buffer)) != -1)
       {
-         md.update(b);
+         md.update(buffer, 0, read);
       }
    }
 }
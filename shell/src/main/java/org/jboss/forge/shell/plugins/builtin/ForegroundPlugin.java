@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.plugins.builtin;
+
+import javax.inject.Inject;
+
+import org.jboss.forge.shell.jobs.Job;
+import org.jboss.forge.shell.jobs.JobManager;
+import org.jboss.forge.shell.plugins.Alias;
+import org.jboss.forge.shell.plugins.DefaultCommand;
+import org.jboss.forge.shell.plugins.Help;
+import org.jboss.forge.shell.plugins.Option;
+import org.jboss.forge.shell.plugins.PipeOut;
+import org.jboss.forge.shell.plugins.Plugin;
+import org.jboss.forge.shell.plugins.Topic;
+
+@Alias("fg")
+@Topic("Shell Environment")
+@Help("Waits for a background job to complete, showing its output.")
+public class ForegroundPlugin implements Plugin
+{
+   @Inject
+   private JobManager jobs;
+
+   @DefaultCommand
+   public void run(
+            @Option(description = "job", help = "the job, as %n; the most recent job if omitted") final String spec,
+            final PipeOut out) throws Exception
+   {
+      Job job = jobs.getJob(spec);
+      if (job == null)
+      {
+         throw new RuntimeException("no such job: " + (spec == null ? "%%" : spec));
+      }
+
+      jobs.foreground(job, out);
+      rethrow(job);
+   }
+
+   static void rethrow(final Job job) throws Exception
+   {
+      Throwable failure = job.getFailure();
+      if (failure instanceof Exception)
+      {
+         throw (Exception) failure;
+      }
+      else if (failure instanceof Error)
+      {
+         throw (Error) failure;
+      }
+   }
+}
@@ -725,7 +725,7 @@ public class ForgePlugin implements Plugin
    private List<DependencyResource> getPluginDependencies(final Project project, Node module)
    {
       DependencyFacet deps = project.getFacet(DependencyFacet.class);
-      List<DependencyResource> pluginDependencies = new ArrayList<DependencyResource>();
+      List<Dependency> pluginJars = new ArrayList<Dependency>();
       List<Dependency> effectiveDependenciesInScopes = deps.getEffectiveDependenciesInScopes(ScopeType.COMPILE,
                ScopeType.RUNTIME);
       for (Dependency d : effectiveDependenciesInScopes)
@@ -733,8 +733,7 @@ public class ForgePlugin implements Plugin
          if (d.getPackagingTypeEnum().equals(PackagingType.JAR)
                   && !d.getGroupId().equals("org.jboss.forge"))
          {
-            List<DependencyResource> artifacts = resolveArtifacts(project, d);
-            pluginDependencies.addAll(artifacts);
+            pluginJars.add(d);
          }
          // TODO encapsulate this?
          if (DependencyBuilder.areEquivalent(d, DependencyBuilder.create("org.jboss.forge:forge-javaee-api")))
@@ -768,7 +767,7 @@ public class ForgePlugin implements Plugin
                               + "] - this is not allowed and may cause failures.");
          }
       }
-      return pluginDependencies;
+      return resolveArtifacts(project, pluginJars);
    }
 
    private void writeResourceRoots(
@@ -816,32 +815,41 @@ public class ForgePlugin implements Plugin
       moduleXml.setContents(XMLParser.toXMLString(module));
    }
 
-   private List<DependencyResource> resolveArtifacts(final Project project, final Dependency dep)
+   /**
+    * Resolve the artifacts of all given dependencies in one batch, so that they are downloaded concurrently.
+    */
+   private List<DependencyResource> resolveArtifacts(final Project project, final List<Dependency> dependencies)
    {
-      Dependency d = dep;
-
-      List<DependencyResource> artifacts = new ArrayList<DependencyResource>();
       DependencyFacet deps = project.getFacet(DependencyFacet.class);
+      List<Dependency> declared = deps.getDependencies();
 
-      for (Dependency d2 : deps.getDependencies())
+      List<Dependency> queries = new ArrayList<Dependency>();
+      for (Dependency dep : dependencies)
       {
-         if (DependencyBuilder.areEquivalent(d, d2) && (d2.getVersion() != null))
+         Dependency d = dep;
+         for (Dependency d2 : declared)
          {
-            d = d2;
-            break;
+            if (DependencyBuilder.areEquivalent(d, d2) && (d2.getVersion() != null))
+            {
+               d = d2;
+               break;
+            }
          }
+         queries.add(d);
       }
 
-      if (artifacts.size() != 1)
+      List<DependencyResource> result = new ArrayList<DependencyResource>();
+      List<List<DependencyResource>> resolved = resolver.resolveArtifacts(queries, deps.getRepositories());
+      for (int i = 0; i < queries.size(); i++)
       {
-         artifacts = resolver.resolveArtifacts(d, deps.getRepositories());
-      }
-      if (artifacts.size() != 1)
-      {
-         ShellMessages.warn(writer, "Could not resolve dependency [" + d.toCoordinates() + "]");
+         List<DependencyResource> artifacts = resolved.get(i);
+         if (artifacts.size() != 1)
+         {
+            ShellMessages.warn(writer, "Could not resolve dependency [" + queries.get(i).toCoordinates() + "]");
+         }
+         result.addAll(artifacts);
       }
-
-      return artifacts;
+      return result;
    }
 
    public void registerPlugin(final String pluginName, final String pluginSlot, final String apiVersion)
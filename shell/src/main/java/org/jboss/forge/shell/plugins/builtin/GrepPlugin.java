@@ -8,8 +8,10 @@ package org.jboss.forge.shell.plugins.builtin;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.regex.Pattern;
 
+import org.jboss.forge.resources.FileResource;
 import org.jboss.forge.resources.Resource;
 import org.jboss.forge.shell.plugins.Alias;
 import org.jboss.forge.shell.plugins.DefaultCommand;
@@ -67,6 +69,12 @@ public class GrepPlugin implements Plugin
       {
          for (Resource<?> r : resources)
          {
+            if (r instanceof FileResource<?>)
+            {
+               match(((FileResource<?>) r).getContentsAsByteBuffer(), matchPattern, pipeOut, ignoreCase);
+               continue;
+            }
+
             InputStream inputStream = r.getResourceInputStream();
             try
             {
@@ -99,12 +107,7 @@ public class GrepPlugin implements Plugin
          {
          case '\r':
          case '\n':
-            String s = caseInsensitive ? buf.toString().toLowerCase() : buf.toString();
-
-            if (pattern.matcher(s).matches())
-            {
-               out.println(s);
-            }
+            matchLine(buf.toString(), pattern, out, caseInsensitive);
             buf.reset();
             break;
          default:
@@ -113,4 +116,74 @@ public class GrepPlugin implements Plugin
          }
       }
    }
+
+   private void match(ByteBuffer buffer, Pattern pattern, PipeOut out, boolean caseInsensitive)
+   {
+      int start = buffer.position();
+      for (int i = start; i < buffer.limit(); i++)
+      {
+         byte c = buffer.get(i);
+         if ((c == '\r') || (c == '\n'))
+         {
+            matchLine(new ByteSequence(buffer, start, i), pattern, out, caseInsensitive);
+            start = i + 1;
+         }
+      }
+   }
+
+   private void matchLine(CharSequence line, Pattern pattern, PipeOut out, boolean caseInsensitive)
+   {
+      CharSequence s = caseInsensitive ? line.toString().toLowerCase() : line;
+
+      if (pattern.matcher(s).matches())
+      {
+         out.println(s.toString());
+      }
+   }
+
+   /**
+    * A line of a buffer, read one byte per character without copying it.
+    */
+   private static class ByteSequence implements CharSequence
+   {
+      private final ByteBuffer buffer;
+      private final int start;
+      private final int end;
+
+      ByteSequence(ByteBuffer buffer, int start, int end)
+      {
+         this.buffer = buffer;
+         this.start = start;
+         this.end = end;
+      }
+
+      @Override
+      public int length()
+      {
+         return end - start;
+      }
+
+      @Override
+      public char charAt(int index)
+      {
+         return (char) (buffer.get(start + index) & 0xFF);
+      }
+
+      @Override
+      public CharSequence subSequence(int from, int to)
+      {
+         return new ByteSequence(buffer, start + from, start + to);
+      }
+
+      @Override
+      public String toString()
+      {
+         char[] chars = new char[length()];
+         for (int i = 0; i < chars.length; i++)
+         {
+            chars[i] = charAt(i);
+         }
+         return new String(chars);
+      }
+   }
 }
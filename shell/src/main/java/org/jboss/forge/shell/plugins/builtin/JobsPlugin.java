@@ -0,0 +1,37 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.plugins.builtin;
+
+import javax.inject.Inject;
+
+import org.jboss.forge.shell.jobs.Job;
+import org.jboss.forge.shell.jobs.JobManager;
+import org.jboss.forge.shell.plugins.Alias;
+import org.jboss.forge.shell.plugins.DefaultCommand;
+import org.jboss.forge.shell.plugins.Help;
+import org.jboss.forge.shell.plugins.PipeOut;
+import org.jboss.forge.shell.plugins.Plugin;
+import org.jboss.forge.shell.plugins.Topic;
+
+@Alias("jobs")
+@Topic("Shell Environment")
+@Help("Lists the commands started in the background with '&'.")
+public class JobsPlugin implements Plugin
+{
+   @Inject
+   private JobManager jobs;
+
+   @DefaultCommand
+   public void run(final PipeOut out)
+   {
+      for (Job job : jobs.getJobs())
+      {
+         out.println("[" + job.getId() + "]  " + job.getStatus() + "  " + job.getCommand());
+         jobs.remove(job);
+      }
+   }
+}
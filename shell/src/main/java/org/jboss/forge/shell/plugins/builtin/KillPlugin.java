@@ -0,0 +1,45 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.plugins.builtin;
+
+import javax.inject.Inject;
+
+import org.jboss.forge.shell.jobs.Job;
+import org.jboss.forge.shell.jobs.JobManager;
+import org.jboss.forge.shell.plugins.Alias;
+import org.jboss.forge.shell.plugins.DefaultCommand;
+import org.jboss.forge.shell.plugins.Help;
+import org.jboss.forge.shell.plugins.Option;
+import org.jboss.forge.shell.plugins.PipeOut;
+import org.jboss.forge.shell.plugins.Plugin;
+import org.jboss.forge.shell.plugins.Topic;
+
+@Alias("kill")
+@Topic("Shell Environment")
+@Help("Interrupts background jobs.")
+public class KillPlugin implements Plugin
+{
+   @Inject
+   private JobManager jobs;
+
+   @DefaultCommand
+   public void run(
+            @Option(description = "jobs", help = "the jobs to interrupt, as %n", required = true) final String[] specs,
+            final PipeOut out)
+   {
+      for (String spec : specs)
+      {
+         Job job = jobs.getJob(spec);
+         if (job == null)
+         {
+            throw new RuntimeException("no such job: " + spec);
+         }
+         jobs.kill(job);
+         out.println("[" + job.getId() + "]  " + job.getStatus() + "  " + job.getCommand());
+      }
+   }
+}
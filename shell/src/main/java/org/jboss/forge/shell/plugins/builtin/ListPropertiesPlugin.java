@@ -6,6 +6,7 @@
  */
 package org.jboss.forge.shell.plugins.builtin;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -41,6 +42,10 @@ public class ListPropertiesPlugin implements Plugin
    public void listProperties()
    {
       Map<String, Object> properties = forge.getProperties();
+      synchronized (properties)
+      {
+         properties = new LinkedHashMap<String, Object>(properties);
+      }
 
       for (Entry<String, Object> entry : properties.entrySet())
       {
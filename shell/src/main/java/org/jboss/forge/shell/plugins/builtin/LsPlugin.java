@@ -26,6 +26,7 @@ import javax.inject.Inject;
 import org.jboss.forge.resources.DirectoryResource;
 import org.jboss.forge.resources.Resource;
 import org.jboss.forge.resources.ResourceFlag;
+import org.jboss.forge.resources.ResourceTraversal;
 import org.jboss.forge.shell.Shell;
 import org.jboss.forge.shell.ShellColor;
 import org.jboss.forge.shell.plugins.Alias;
@@ -90,7 +91,7 @@ public class LsPlugin implements Plugin
 
       for (Resource<?> resource : paths)
       {
-         List<Resource<?>> childResources;
+         Iterable<Resource<?>> childResources;
 
          /**
           * Check to see if the way this resource was resolved was by a wildcard, in which case we don't expand into
@@ -98,7 +99,7 @@ public class LsPlugin implements Plugin
           */
          if (!resource.isFlagSet(ResourceFlag.AmbiguouslyQualified) && resource.isFlagSet(ResourceFlag.Node))
          {
-            childResources = resource.listResources();
+            childResources = ResourceTraversal.from(resource).setMaxDepth(1);
          }
          else
          {
@@ -16,6 +16,7 @@ import java.util.regex.Pattern;
 import javax.inject.Inject;
 
 import org.fusesource.jansi.Ansi;
+import org.jboss.forge.resources.FileResource;
 import org.jboss.forge.resources.Resource;
 import org.jboss.forge.shell.Shell;
 import org.jboss.forge.shell.ShellColor;
@@ -26,6 +27,7 @@ import org.jboss.forge.shell.plugins.PipeIn;
 import org.jboss.forge.shell.plugins.PipeOut;
 import org.jboss.forge.shell.plugins.Plugin;
 import org.jboss.forge.shell.plugins.Topic;
+import org.jboss.forge.shell.util.Streams;
 
 /**
  * Implementation of more & less, but called more. "More is less".
@@ -60,7 +62,11 @@ public class MorePlugin implements Plugin
             final PipeOut pipeOut)
             throws IOException
    {
-      if (file != null)
+      if (file instanceof FileResource<?>)
+      {
+         more(Streams.fromBuffer(((FileResource<?>) file).getContentsAsByteBuffer()), pipeOut, noAutoExit);
+      }
+      else if (file != null)
       {
          InputStream fileInstream = null;
          try
@@ -11,9 +11,11 @@ import java.util.List;
 import javax.inject.Inject;
 
 import org.jboss.forge.resources.DeletionAware;
+import org.jboss.forge.resources.DirectoryResource;
 import org.jboss.forge.resources.Resource;
 import org.jboss.forge.shell.Shell;
 import org.jboss.forge.shell.ShellMessages;
+import org.jboss.forge.shell.Wait;
 import org.jboss.forge.shell.plugins.Alias;
 import org.jboss.forge.shell.plugins.DefaultCommand;
 import org.jboss.forge.shell.plugins.Help;
@@ -30,11 +32,13 @@ import org.jboss.forge.shell.plugins.Topic;
 public class RmPlugin implements Plugin
 {
    private final Shell shell;
+   private final Wait wait;
 
    @Inject
-   public RmPlugin(final Shell shell)
+   public RmPlugin(final Shell shell, final Wait wait)
    {
       this.shell = shell;
+      this.wait = wait;
    }
 
    @DefaultCommand
@@ -61,7 +65,25 @@ public class RmPlugin implements Plugin
                || shell.promptBoolean("delete: " + resource.getName() + ": are you sure?",
                         true))
       {
-         if (!resource.delete(recursive))
+         boolean deleted;
+         if (recursive && (resource instanceof DirectoryResource))
+         {
+            wait.start("Deleting " + resource.getName());
+            try
+            {
+               deleted = resource.delete(recursive);
+            }
+            finally
+            {
+               wait.stop();
+            }
+         }
+         else
+         {
+            deleted = resource.delete(recursive);
+         }
+
+         if (!deleted)
          {
             throw new RuntimeException("error deleting " + resource);
          }
@@ -6,6 +6,7 @@
  */
 package org.jboss.forge.shell.plugins.builtin;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import javax.inject.Inject;
@@ -56,7 +57,12 @@ public class SetPlugin implements Plugin
 
    private void listVars()
    {
-      for (Map.Entry<String, Object> entry : forge.getProperties().entrySet())
+      Map<String, Object> properties = forge.getProperties();
+      synchronized (properties)
+      {
+         properties = new LinkedHashMap<String, Object>(properties);
+      }
+      for (Map.Entry<String, Object> entry : properties.entrySet())
       {
          writer.println(entry.getKey() + "=" + entry.getValue());
       }
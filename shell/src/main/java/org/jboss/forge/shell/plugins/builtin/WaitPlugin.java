@@ -6,12 +6,19 @@
  */
 package org.jboss.forge.shell.plugins.builtin;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.inject.Inject;
 
 import org.jboss.forge.shell.Shell;
+import org.jboss.forge.shell.jobs.Job;
+import org.jboss.forge.shell.jobs.JobManager;
 import org.jboss.forge.shell.plugins.Alias;
 import org.jboss.forge.shell.plugins.DefaultCommand;
 import org.jboss.forge.shell.plugins.Help;
+import org.jboss.forge.shell.plugins.Option;
+import org.jboss.forge.shell.plugins.PipeOut;
 import org.jboss.forge.shell.plugins.Plugin;
 import org.jboss.forge.shell.plugins.Topic;
 
@@ -20,20 +27,58 @@ import org.jboss.forge.shell.plugins.Topic;
  */
 @Alias("wait")
 @Topic("Shell Environment")
-@Help("Wait for ENTER.")
+@Help("Wait for ENTER, or for background jobs to complete.")
 public class WaitPlugin implements Plugin
 {
    private final Shell shell;
+   private final JobManager jobs;
 
    @Inject
-   public WaitPlugin(final Shell shell)
+   public WaitPlugin(final Shell shell, final JobManager jobs)
    {
       this.shell = shell;
+      this.jobs = jobs;
    }
 
    @DefaultCommand
-   public void waitCommand()
+   public void waitCommand(
+            @Option(description = "jobs", help = "the background jobs to wait for, as %n") final String[] specs,
+            @Option(name = "jobs", shortName = "j", help = "wait for all background jobs", flagOnly = true) final boolean all,
+            final PipeOut out) throws Exception
+   {
+      if (all)
+      {
+         waitFor(jobs.getJobs(), out);
+      }
+      else if ((specs != null) && (specs.length > 0))
+      {
+         List<Job> selected = new ArrayList<Job>();
+         for (String spec : specs)
+         {
+            Job job = jobs.getJob(spec);
+            if (job == null)
+            {
+               throw new RuntimeException("no such job: " + spec);
+            }
+            selected.add(job);
+         }
+         waitFor(selected, out);
+      }
+      else
+      {
+         shell.prompt("Press <ENTER> to continue...");
+      }
+   }
+
+   private void waitFor(final List<Job> selected, final PipeOut out) throws Exception
    {
-      shell.prompt("Press <ENTER> to continue...");
+      for (Job job : selected)
+      {
+         jobs.foreground(job, out);
+      }
+      for (Job job : selected)
+      {
+         ForegroundPlugin.rethrow(job);
+      }
    }
 }
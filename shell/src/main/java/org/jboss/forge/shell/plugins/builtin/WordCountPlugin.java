@@ -8,10 +8,12 @@ package org.jboss.forge.shell.plugins.builtin;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.jboss.forge.resources.DirectoryResource;
+import org.jboss.forge.resources.FileResource;
 import org.jboss.forge.resources.Resource;
 import org.jboss.forge.shell.plugins.Alias;
 import org.jboss.forge.shell.plugins.DefaultCommand;
@@ -60,6 +62,14 @@ public class WordCountPlugin implements Plugin
                continue;
             }
 
+            if (r instanceof FileResource<?>)
+            {
+               Results countResults = new Results(lineCount, wordCount, charCount);
+               countResults.count(((FileResource<?>) r).getContentsAsByteBuffer());
+               results.addAll(countResults.getResults(r.getName()));
+               continue;
+            }
+
             InputStream instream = r.getResourceInputStream();
             try
             {
@@ -71,11 +81,7 @@ public class WordCountPlugin implements Plugin
                instream.close();
             }
          }
-         Results x = new Results();
-         x.countLines = lineCount;
-         x.countWords = wordCount;
-         x.countChars = charCount;
-
+         Results x = new Results(lineCount, wordCount, charCount);
          printOutResults(out, x.getColumns(), results);
       }
       else if (pipeIn != null)
@@ -100,29 +106,54 @@ public class WordCountPlugin implements Plugin
    private static Results count(InputStream stream, boolean lines, boolean words, boolean chars)
             throws IOException
    {
-      byte[] buffer = new byte[1024];
+      byte[] buffer = new byte[8192];
       int read;
 
-      Results res = new Results();
-      res.countLines = lines;
-      res.countWords = words;
-      res.countChars = chars;
+      Results res = new Results(lines, words, chars);
+      while ((read = stream.read(buffer)) != -1)
+      {
+         res.count(ByteBuffer.wrap(buffer, 0, read));
+      }
 
-      boolean capture = false;
+      return res;
+   }
 
-      byte c;
+   private static class Results
+   {
+      int words;
+      int characters;
+      int lines;
 
-      while ((read = stream.read(buffer)) != -1)
+      boolean countWords;
+      boolean countChars;
+      boolean countLines;
+
+      private boolean capture;
+
+      Results(boolean countLines, boolean countWords, boolean countChars)
+      {
+         this.countLines = countLines;
+         this.countWords = countWords;
+         this.countChars = countChars;
+      }
+
+      /**
+       * Add the remaining bytes of the given buffer to the counts. A word may continue from the previous buffer.
+       */
+      void count(ByteBuffer buffer)
       {
-         res.characters += read;
-         for (int i = 0; i < read; i++)
+         int limit = buffer.limit();
+         characters += buffer.remaining();
+
+         byte c;
+         for (int i = buffer.position(); i < limit; i++)
          {
-            if (Character.isWhitespace(c = buffer[i]))
+            if (Character.isWhitespace(c = buffer.get(i)))
             {
                if (capture)
                {
                   capture = false;
-                  res.words++;
+                  words++;
                }
 
                /**
@@ -130,7 +161,7 @@ public class WordCountPlugin implements Plugin
                 */
                if (c == '\r')
                {
-                  if ((i + 1 < read) && (buffer[i + 1] == '\n'))
+                  if ((i + 1 < limit) && (buffer.get(i + 1) == '\n'))
                   {
                      i++;
                      c = '\n';
@@ -139,7 +170,7 @@ public class WordCountPlugin implements Plugin
 
                if (c == '\n')
                {
-                  res.lines++;
+                  lines++;
                }
             }
             else
@@ -149,19 +180,6 @@ public class WordCountPlugin implements Plugin
          }
       }
 
-      return res;
-   }
-
-   private static class Results
-   {
-      int words;
-      int characters;
-      int lines;
-
-      boolean countWords;
-      boolean countChars;
-      boolean countLines;
-
       int getColumns()
       {
          int cols = countWords ? 1 : 0;
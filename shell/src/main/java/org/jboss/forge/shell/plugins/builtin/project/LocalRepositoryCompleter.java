@@ -0,0 +1,74 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.plugins.builtin.project;
+
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.jboss.forge.maven.dependencies.LocalRepositoryIndex;
+import org.jboss.forge.maven.dependencies.RepositorySessionPool;
+import org.jboss.forge.shell.completer.CommandCompleter;
+import org.jboss.forge.shell.completer.CommandCompleterState;
+
+/**
+ * Provides completion for dependency identifiers [groupId:artifactId:version] from the artifacts installed in the
+ * local repository.
+ */
+public class LocalRepositoryCompleter implements CommandCompleter
+{
+   @Inject
+   private RepositorySessionPool sessions;
+
+   @Override
+   public void complete(final CommandCompleterState state)
+   {
+      String peek = state.getTokens().peek();
+      if (state.getTokens().size() > 1)
+      {
+         return;
+      }
+      if (peek == null)
+      {
+         peek = "";
+      }
+
+      LocalRepositoryIndex index = sessions.getLocalRepositoryIndex();
+      String[] segments = peek.split(":", -1);
+      List<String> candidates = state.getCandidates();
+
+      if (segments.length == 1)
+      {
+         for (String groupId : index.getGroupIds(segments[0]))
+         {
+            candidates.add(groupId + ":");
+         }
+      }
+      else if (segments.length == 2)
+      {
+         for (String artifactId : index.getArtifactIds(segments[0], segments[1]))
+         {
+            candidates.add(segments[0] + ":" + artifactId + ":");
+         }
+      }
+      else if (segments.length == 3)
+      {
+         for (String version : index.getVersions(segments[0], segments[1]))
+         {
+            if (version.startsWith(segments[2]))
+            {
+               candidates.add(segments[0] + ":" + segments[1] + ":" + version);
+            }
+         }
+      }
+
+      if (!candidates.isEmpty())
+      {
+         state.setIndex(state.getOriginalIndex() - peek.length());
+      }
+   }
+}
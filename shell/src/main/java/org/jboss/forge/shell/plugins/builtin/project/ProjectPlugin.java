@@ -26,6 +26,7 @@ import org.jboss.forge.project.dependencies.DependencyQueryBuilder;
 import org.jboss.forge.project.dependencies.DependencyRepository;
 import org.jboss.forge.project.dependencies.NonSnapshotDependencyFilter;
 import org.jboss.forge.project.dependencies.ScopeType;
+import org.jboss.forge.project.dependencies.events.RefreshDependencyMetadata;
 import org.jboss.forge.project.facets.DependencyFacet;
 import org.jboss.forge.project.facets.DependencyFacet.KnownRepository;
 import org.jboss.forge.project.facets.FacetNotFoundException;
@@ -67,6 +68,7 @@ public class ProjectPlugin implements Plugin
    private Event<InstallFacets> installFacets;
    private Event<RemoveFacets> removeFacets;
    private DependencyInstaller dependencyInstaller;
+   private Event<RefreshDependencyMetadata> refreshMetadata;
 
    public ProjectPlugin()
    {
@@ -75,7 +77,7 @@ public class ProjectPlugin implements Plugin
    @Inject
    public ProjectPlugin(final Project project, final Shell shell, final FacetFactory factory,
             final Event<InstallFacets> installFacets, final Event<RemoveFacets> removeFacets,
-            final DependencyInstaller installer)
+            final DependencyInstaller installer, final Event<RefreshDependencyMetadata> refreshMetadata)
    {
       this.project = project;
       this.shell = shell;
@@ -83,6 +85,7 @@ public class ProjectPlugin implements Plugin
       this.installFacets = installFacets;
       this.removeFacets = removeFacets;
       this.dependencyInstaller = installer;
+      this.refreshMetadata = refreshMetadata;
    }
 
    @DefaultCommand
@@ -142,14 +145,21 @@ public class ProjectPlugin implements Plugin
             @Option(required = true,
                      type = PromptType.DEPENDENCY_ID,
                      description = "[ groupId:artifactId {:version :scope :packaging} ]",
-                     help = "dependency identifier, ex: \"org.jboss.forge:forge-api:1.0.0\"") Dependency gav,
+                     help = "dependency identifier, ex: \"org.jboss.forge:forge-api:1.0.0\"",
+                     completer = LocalRepositoryCompleter.class) Dependency gav,
             @Option(type = PromptType.DEPENDENCY_ID,
                      name = "exclude",
                      description = "[ groupId:artifactId ]",
                      help = "exclusion identifier, ex: \"org.jboss.forge:forge-api\"") final Dependency exclusion,
+            @Option(required = false,
+                     flagOnly = true,
+                     help = "Ignore cached repository metadata and query the repositories again",
+                     name = "refresh"
+            ) final boolean refresh,
             final PipeOut out
             )
    {
+      refreshDependencyMetadata(refresh);
       final DependencyFacet deps = project.getFacet(DependencyFacet.class);
       final boolean hasEffectiveManagedDependency = deps.hasEffectiveManagedDependency(gav);
       Dependency gavCopy = DependencyBuilder.create(gav);
@@ -176,11 +186,18 @@ public class ProjectPlugin implements Plugin
             @Option(required = true,
                      help = "dependency identifier, ex: \"org.jboss.forge:forge-api:1.0.0\"",
                      description = "[ groupId:artifactId {:version:scope:packaging} ]",
-                     type = PromptType.DEPENDENCY_ID
+                     type = PromptType.DEPENDENCY_ID,
+                     completer = LocalRepositoryCompleter.class
             ) Dependency gav,
+            @Option(required = false,
+                     flagOnly = true,
+                     help = "Ignore cached repository metadata and query the repositories again",
+                     name = "refresh"
+            ) final boolean refresh,
             final PipeOut out
             )
    {
+      refreshDependencyMetadata(refresh);
       DependencyFacet deps = project.getFacet(DependencyFacet.class);
       if ((gav.getVersion() == null) || gav.getVersion().trim().isEmpty())
       {
@@ -199,6 +216,14 @@ public class ProjectPlugin implements Plugin
       }
    }
 
+   private void refreshDependencyMetadata(final boolean refresh)
+   {
+      if (refresh)
+      {
+         refreshMetadata.fire(new RefreshDependencyMetadata());
+      }
+   }
+
    @Command(value = "remove-dependency", help = "Remove a dependency from this project")
    public void removeDep(
             @Option(required = true,
@@ -239,10 +264,17 @@ public class ProjectPlugin implements Plugin
             @Option(required = true,
                      type = PromptType.DEPENDENCY_ID,
                      description = "[ groupId :artifactId {:version :scope :packaging} ]",
-                     help = "managed dependency identifier, ex: \"org.jboss.forge:forge-api:1.0.0\"") Dependency gav,
+                     help = "managed dependency identifier, ex: \"org.jboss.forge:forge-api:1.0.0\"",
+                     completer = LocalRepositoryCompleter.class) Dependency gav,
+            @Option(required = false,
+                     flagOnly = true,
+                     help = "Ignore cached repository metadata and query the repositories again",
+                     name = "refresh"
+            ) final boolean refresh,
             final PipeOut out
             )
    {
+      refreshDependencyMetadata(refresh);
       DependencyFacet manDeps = project.getFacet(DependencyFacet.class);
 
       if (!manDeps.hasEffectiveManagedDependency(gav)
@@ -294,16 +326,23 @@ public class ProjectPlugin implements Plugin
             @Option(required = true,
                      help = "managed dependency identifier, ex: \"org.jboss.forge:forge-api:1.0.0\"",
                      description = "[ groupId:artifactId {:version:scope:packaging} ]",
-                     type = PromptType.DEPENDENCY_ID
+                     type = PromptType.DEPENDENCY_ID,
+                     completer = LocalRepositoryCompleter.class
             ) Dependency gav,
             @Option(required = false,
                      flagOnly = true,
                      help = "Perform a search only within the locally configured repository",
                      name = "offlineSearch"
             ) final boolean offline,
+            @Option(required = false,
+                     flagOnly = true,
+                     help = "Ignore cached repository metadata and query the repositories again",
+                     name = "refresh"
+            ) final boolean refresh,
             final PipeOut out
             )
    {
+      refreshDependencyMetadata(refresh);
       DependencyFacet manDeps = project.getFacet(DependencyFacet.class);
       if ((gav.getVersion() == null) || gav.getVersion().trim().isEmpty())
       {
@@ -10,6 +10,8 @@ import java.util.List;
 
 import javax.inject.Inject;
 
+import org.jboss.forge.maven.MavenCoreFacet;
+import org.jboss.forge.maven.PomTransaction;
 import org.jboss.forge.parser.java.util.Strings;
 import org.jboss.forge.project.Project;
 import org.jboss.forge.project.dependencies.Dependency;
@@ -58,6 +60,21 @@ public class DependencyInstallerImpl implements DependencyInstaller
 
    @Override
    public Dependency install(Project project, Dependency dependency, ScopeType type, DependencyFilter filter)
+   {
+      PomTransaction transaction = beginTransaction(project);
+      try
+      {
+         Dependency result = doInstall(project, dependency, type, filter);
+         commit(transaction);
+         return result;
+      }
+      finally
+      {
+         rollback(transaction);
+      }
+   }
+
+   private Dependency doInstall(Project project, Dependency dependency, ScopeType type, DependencyFilter filter)
    {
       DependencyFacet deps = project.getFacet(DependencyFacet.class);
 
@@ -133,13 +150,23 @@ public class DependencyInstallerImpl implements DependencyInstaller
    {
       DependencyFacet deps = project.getFacet(DependencyFacet.class);
 
-      if (Strings.isNullOrEmpty(dependency.getVersion()))
-         // we didn't request a specific version
-         return promptAndUpdateManaged(deps, dependency, filter);
-      else
-         // we requested a specific version
-         updateManagedDependency(deps, dependency);
-      return dependency;
+      PomTransaction transaction = beginTransaction(project);
+      try
+      {
+         Dependency result = dependency;
+         if (Strings.isNullOrEmpty(dependency.getVersion()))
+            // we didn't request a specific version
+            result = promptAndUpdateManaged(deps, dependency, filter);
+         else
+            // we requested a specific version
+            updateManagedDependency(deps, dependency);
+         commit(transaction);
+         return result;
+      }
+      finally
+      {
+         rollback(transaction);
+      }
    }
 
    @Override
@@ -154,13 +181,23 @@ public class DependencyInstallerImpl implements DependencyInstaller
       DependencyFacet deps = project.getFacet(DependencyFacet.class);
       DependencyBuilder withScopeType = getWithScopeType(dependency, type);
 
-      if (Strings.isNullOrEmpty(dependency.getVersion()))
-         // we didn't request a specific version
-         return promptAndUpdateManaged(deps, withScopeType, filter);
-      else
-         // we requested a specific version
-         updateManagedDependency(deps, withScopeType);
-      return withScopeType;
+      PomTransaction transaction = beginTransaction(project);
+      try
+      {
+         Dependency result = withScopeType;
+         if (Strings.isNullOrEmpty(dependency.getVersion()))
+            // we didn't request a specific version
+            result = promptAndUpdateManaged(deps, withScopeType, filter);
+         else
+            // we requested a specific version
+            updateManagedDependency(deps, withScopeType);
+         commit(transaction);
+         return result;
+      }
+      finally
+      {
+         rollback(transaction);
+      }
    }
 
    @Override
@@ -173,6 +210,35 @@ public class DependencyInstallerImpl implements DependencyInstaller
    /*
     * Helpers
     */
+
+   /**
+    * Group the POM edits of a single install into one write, when the project is backed by a Maven POM.
+    */
+   private PomTransaction beginTransaction(final Project project)
+   {
+      if (project.hasFacet(MavenCoreFacet.class))
+      {
+         return project.getFacet(MavenCoreFacet.class).beginTransaction();
+      }
+      return null;
+   }
+
+   private void commit(final PomTransaction transaction)
+   {
+      if (transaction != null)
+      {
+         transaction.commit();
+      }
+   }
+
+   private void rollback(final PomTransaction transaction)
+   {
+      if (transaction != null)
+      {
+         transaction.rollback();
+      }
+   }
+
    private DependencyBuilder getUnversioned(final Dependency dependency, final ScopeType type)
    {
       return getWithScopeType(dependency, type).setVersion(null);
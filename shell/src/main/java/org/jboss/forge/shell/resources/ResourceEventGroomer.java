@@ -7,11 +7,11 @@
 package org.jboss.forge.shell.resources;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.jboss.forge.bus.spi.EventBusGroomer;
-import org.jboss.forge.resources.Resource;
-import org.jboss.forge.resources.VirtualResource;
 import org.jboss.forge.resources.events.ResourceEvent;
 
 /**
@@ -21,70 +21,29 @@ import org.jboss.forge.resources.events.ResourceEvent;
  */
 public class ResourceEventGroomer implements EventBusGroomer
 {
+   /**
+    * Keep only the last event queued for each resource, in the position of that last event. Events about other things
+    * are kept as they are.
+    */
    @Override
    public List<Object> groom(final List<Object> events)
    {
-      List<Resource<?>> seen = new ArrayList<Resource<?>>();
-      List<Object> result = new ArrayList<Object>();
+      Map<Object, Object> result = new LinkedHashMap<Object, Object>();
 
       for (Object e : events)
       {
          if (e instanceof ResourceEvent)
          {
-            Resource<?> resource = ((ResourceEvent) e).getResource();
-            if (seen.contains(resource))
-            {
-               result.remove(seen.indexOf(resource));
-               seen.remove(seen.indexOf(resource));
-            }
-            result.add(e);
-            seen.add(resource);
+            String path = ((ResourceEvent) e).getResource().getFullyQualifiedName();
+            result.remove(path);
+            result.put(path, e);
          }
          else
          {
-            result.add(e);
-            seen.add(new Placeholder(null));
+            result.put(new Object(), e);
          }
       }
 
-      return result;
-   }
-
-   private final class Placeholder extends VirtualResource<Object>
-   {
-      private Placeholder(final Resource<?> parent)
-      {
-         super(null);
-      }
-
-      @Override
-      public boolean delete() throws UnsupportedOperationException
-      {
-         return true;
-      }
-
-      @Override
-      public boolean delete(final boolean recursive) throws UnsupportedOperationException
-      {
-         return true;
-      }
-
-      @Override
-      public String getName()
-      {
-         return "";
-      }
-
-      @Override
-      protected List<Resource<?>> doListResources()
-      {
-         return new ArrayList<Resource<?>>();
-      }
-
-      @Override
-      public Object getUnderlyingResourceObject()
-      {
-         return new Object();
-      }
+      return new ArrayList<Object>(result.values());
    }
 }
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.resources;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.jboss.forge.ForgeEnvironment;
+import org.jboss.forge.project.Project;
+import org.jboss.forge.project.services.ResourceFactory;
+import org.jboss.forge.shell.events.PreShutdown;
+import org.jboss.forge.shell.events.ProjectChanged;
+
+/**
+ * Watches the directories of the current project from a background thread, when the {@value #PROP_WATCH_PROJECT}
+ * property is set to <code>true</code>, and reports added and removed files to the {@link ResourceFactory}. Directory
+ * listings within the project are then served from memory without checking the directory on each read, while changes
+ * made outside the shell are still picked up within about {@value #POLL_INTERVAL} milliseconds.
+ */
+@Singleton
+public class ResourceWatcher
+{
+   public static final String PROP_WATCH_PROJECT = "WATCH_PROJECT";
+
+   private static final long POLL_INTERVAL = 1000;
+
+   /**
+    * Coarsest last-modified resolution we expect from a file system. A directory modified this recently may change
+    * again without its timestamp changing, so it is reported again on the next poll.
+    */
+   private static final long TIMESTAMP_RESOLUTION = 2000;
+
+   /**
+    * Build output and version control directories; their contents change often and are of no interest to the shell, so
+    * they are neither polled nor trusted.
+    */
+   static final Set<String> IGNORED_DIRECTORIES = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(
+            "target", ".git", ".svn", ".hg", ".bzr", "CVS")));
+
+   private static final FileFilter DIRECTORIES = new FileFilter()
+   {
+      @Override
+      public boolean accept(final File file)
+      {
+         return !IGNORED_DIRECTORIES.contains(file.getName()) && file.isDirectory();
+      }
+   };
+
+   @Inject
+   private ResourceFactory factory;
+
+   @Inject
+   private ForgeEnvironment environment;
+
+   private Poller poller;
+
+   public synchronized void projectChanged(@Observes final ProjectChanged event)
+   {
+      stop();
+      Project project = event.getNewProject();
+      if ((project != null) && "true".equalsIgnoreCase(String.valueOf(environment.getProperty(PROP_WATCH_PROJECT))))
+      {
+         poller = new Poller(factory, project.getProjectRoot().getUnderlyingResourceObject().getAbsoluteFile());
+         poller.start();
+      }
+   }
+
+   public synchronized void shutdown(@Observes final PreShutdown event)
+   {
+      stop();
+   }
+
+   private void stop()
+   {
+      if (poller != null)
+      {
+         synchronized (poller)
+         {
+            poller.running = false;
+            factory.unwatch(poller.root);
+         }
+         poller.interrupt();
+         poller = null;
+      }
+   }
+
+   /**
+    * Polls the timestamp of every directory of the tree. Only a directory whose timestamp has changed is listed again;
+    * the sub-directories of all others are taken from the previous pass, so an idle tree costs one stat per directory.
+    */
+   static class Poller extends Thread
+   {
+      private final ResourceFactory factory;
+      private final File root;
+      private Map<String, Directory> directories = new HashMap<String, Directory>();
+      private boolean scanned;
+      volatile boolean running = true;
+
+      Poller(final ResourceFactory factory, final File root)
+      {
+         super("Forge resource watcher [" + root + "]");
+         setDaemon(true);
+         this.factory = factory;
+         this.root = root;
+      }
+
+      @Override
+      public void run()
+      {
+         while (running)
+         {
+            poll();
+            try
+            {
+               Thread.sleep(POLL_INTERVAL);
+            }
+            catch (InterruptedException e)
+            {
+               return;
+            }
+         }
+      }
+
+      /**
+       * Check the tree once, reporting changed directories to the {@link ResourceFactory}. The first pass reports every
+       * directory, since listings read before it were checked against timestamps that are only now being recorded, and
+       * then starts trusting listings beneath the root.
+       */
+      void poll()
+      {
+         boolean initial = !scanned;
+         Map<String, Directory> previous = directories;
+         directories = new HashMap<String, Directory>();
+         scan(root, previous, System.currentTimeMillis(), initial);
+
+         for (String removed : previous.keySet())
+         {
+            factory.invalidate(new File(removed));
+         }
+
+         if (initial)
+         {
+            synchronized (this)
+            {
+               if (running)
+               {
+                  factory.watch(root, IGNORED_DIRECTORIES);
+                  scanned = true;
+               }
+            }
+         }
+      }
+
+      private void scan(final File directory, final Map<String, Directory> previous, final long now,
+               final boolean initial)
+      {
+         if (!running)
+         {
+            return;
+         }
+
+         String path = directory.getPath();
+         long modified = directory.lastModified();
+         Directory recorded = previous.remove(path);
+
+         File[] children;
+         if (initial || (recorded == null) || (recorded.modified != modified))
+         {
+            factory.directoryChanged(directory);
+            children = directory.listFiles(DIRECTORIES);
+            if (children == null)
+            {
+               children = new File[0];
+            }
+         }
+         else
+         {
+            children = recorded.children;
+         }
+         directories.put(path, new Directory(now - modified < TIMESTAMP_RESOLUTION ? -1 : modified, children));
+
+         for (File child : children)
+         {
+            scan(child, previous, now, initial);
+         }
+      }
+   }
+
+   private static class Directory
+   {
+      private final long modified;
+      private final File[] children;
+
+      public Directory(final long modified, final File[] children)
+      {
+         this.modified = modified;
+         this.children = children;
+      }
+   }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+
+/**
+ * A bounded byte channel between two threads. Writes block while the buffer is full and reads block while it is
+ * empty, so a producer never gets more than {@link #DEFAULT_CAPACITY} bytes ahead of its consumer.
+ * <p>
+ * Closing the {@link #getOutputStream() output} marks the end of the data; the input reads what remains and then
+ * returns -1. Closing the {@link #getInputStream() input} means nobody is reading any more: pending and later writes
+ * are discarded rather than blocking the producer.
+ */
+public class Pipe
+{
+   public static final int DEFAULT_CAPACITY = 1 << 16;
+
+   private final byte[] buffer;
+   private int head;
+   private int count;
+   private boolean writerClosed;
+   private boolean readerClosed;
+
+   private final InputStream input = new Source();
+   private final OutputStream output = new Sink();
+
+   public Pipe()
+   {
+      this(DEFAULT_CAPACITY);
+   }
+
+   public Pipe(final int capacity)
+   {
+      this.buffer = new byte[capacity];
+   }
+
+   public InputStream getInputStream()
+   {
+      return input;
+   }
+
+   public OutputStream getOutputStream()
+   {
+      return output;
+   }
+
+   private synchronized int read(final byte[] b, final int offset, final int length) throws IOException
+   {
+      while ((count == 0) && !writerClosed && !readerClosed)
+      {
+         await();
+      }
+      if (readerClosed)
+      {
+         throw new IOException("Pipe closed");
+      }
+      if (count == 0)
+      {
+         return -1;
+      }
+
+      int read = 0;
+      while ((read < length) && (count > 0))
+      {
+         int chunk = Math.min(Math.min(length - read, count), buffer.length - head);
+         System.arraycopy(buffer, head, b, offset + read, chunk);
+         head = (head + chunk) % buffer.length;
+         count -= chunk;
+         read += chunk;
+      }
+      notifyAll();
+      return read;
+   }
+
+   private synchronized void write(final byte[] b, final int offset, final int length) throws IOException
+   {
+      if (writerClosed)
+      {
+         throw new IOException("Pipe closed");
+      }
+
+      int written = 0;
+      while ((written < length) && !readerClosed)
+      {
+         while ((count == buffer.length) && !readerClosed)
+         {
+            await();
+         }
+         if (readerClosed)
+         {
+            break;
+         }
+
+         int tail = (head + count) % buffer.length;
+         int chunk = Math.min(Math.min(length - written, buffer.length - count), buffer.length - tail);
+         System.arraycopy(b, offset + written, buffer, tail, chunk);
+         count += chunk;
+         written += chunk;
+         notifyAll();
+      }
+   }
+
+   private synchronized int available()
+   {
+      return count;
+   }
+
+   private synchronized void closeWriter()
+   {
+      writerClosed = true;
+      notifyAll();
+   }
+
+   private synchronized void closeReader()
+   {
+      readerClosed = true;
+      count = 0;
+      notifyAll();
+   }
+
+   private void await() throws InterruptedIOException
+   {
+      try
+      {
+         wait();
+      }
+      catch (InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+         throw new InterruptedIOException();
+      }
+   }
+
+   private class Source extends InputStream
+   {
+      @Override
+      public int read() throws IOException
+      {
+         byte[] b = new byte[1];
+         return Pipe.this.read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+      }
+
+      @Override
+      public int read(final byte[] b, final int offset, final int length) throws IOException
+      {
+         if (length == 0)
+         {
+            return 0;
+         }
+         return Pipe.this.read(b, offset, length);
+      }
+
+      @Override
+      public int available()
+      {
+         return Pipe.this.available();
+      }
+
+      @Override
+      public void close()
+      {
+         closeReader();
+      }
+   }
+
+   private class Sink extends OutputStream
+   {
+      @Override
+      public void write(final int b) throws IOException
+      {
+         Pipe.this.write(new byte[] { (byte) b }, 0, 1);
+      }
+
+      @Override
+      public void write(final byte[] b, final int offset, final int length) throws IOException
+      {
+         Pipe.this.write(b, offset, length);
+      }
+
+      @Override
+      public void close()
+      {
+         closeWriter();
+      }
+   }
+}
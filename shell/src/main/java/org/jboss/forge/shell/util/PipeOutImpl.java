@@ -6,30 +6,56 @@
  */
 package org.jboss.forge.shell.util;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
 import org.jboss.forge.shell.Shell;
 import org.jboss.forge.shell.ShellColor;
 import org.jboss.forge.shell.plugins.PipeOut;
 
 /**
+ * Writes to the shell, or when piped, to an in-memory buffer or to the {@link OutputStream} feeding the next command of
+ * a pipeline. Text is written to the stream as UTF-8.
+ * 
  * @author Mike Brock .
  */
 public class PipeOutImpl implements PipeOut
 {
+   private static final Charset UTF_8 = Charset.forName("UTF-8");
+
    private final StringBuilder buffer = new StringBuilder();
    private final Shell shell;
+   private final OutputStream stream;
    private boolean piped = false;
 
    public PipeOutImpl(final Shell shell)
    {
       this.shell = shell;
+      this.stream = null;
+   }
+
+   /**
+    * Create a piped {@link PipeOut} writing to the given stream. Nothing is buffered, so {@link #getBuffer()} is always
+    * empty.
+    */
+   public PipeOutImpl(final Shell shell, final OutputStream stream)
+   {
+      this.shell = shell;
+      this.stream = stream;
+      this.piped = true;
    }
 
    @Override
    public void write(int b)
    {
-      if (piped)
+      if (piped && (stream != null))
+      {
+         pipe(new byte[] { (byte) b }, 0, 1);
+      }
+      else if (piped)
       {
-         buffer.append(b);
+         buffer.append((char) b);
       }
       else
       {
@@ -40,7 +66,11 @@ public class PipeOutImpl implements PipeOut
    @Override
    public void write(final byte b)
    {
-      if (piped)
+      if (piped && (stream != null))
+      {
+         pipe(new byte[] { b }, 0, 1);
+      }
+      else if (piped)
       {
          buffer.append((char) b);
       }
@@ -53,7 +83,11 @@ public class PipeOutImpl implements PipeOut
    @Override
    public void write(byte[] b)
    {
-      if (piped)
+      if (piped && (stream != null))
+      {
+         pipe(b, 0, b.length);
+      }
+      else if (piped)
       {
          buffer.append(new String(b));
       }
@@ -66,7 +100,11 @@ public class PipeOutImpl implements PipeOut
    @Override
    public void write(byte[] b, int offset, int length)
    {
-      if (piped)
+      if (piped && (stream != null))
+      {
+         pipe(b, offset, length);
+      }
+      else if (piped)
       {
          buffer.append(new String(b, offset, length));
       }
@@ -79,7 +117,11 @@ public class PipeOutImpl implements PipeOut
    @Override
    public void print(final String s)
    {
-      if (piped)
+      if (piped && (stream != null))
+      {
+         pipe(s);
+      }
+      else if (piped)
       {
          buffer.append(s);
       }
@@ -92,7 +134,11 @@ public class PipeOutImpl implements PipeOut
    @Override
    public void println(final String s)
    {
-      if (piped)
+      if (piped && (stream != null))
+      {
+         pipe(s + "\n");
+      }
+      else if (piped)
       {
          buffer.append(s).append("\n");
       }
@@ -105,7 +151,11 @@ public class PipeOutImpl implements PipeOut
    @Override
    public void println()
    {
-      if (piped)
+      if (piped && (stream != null))
+      {
+         pipe("\n");
+      }
+      else if (piped)
       {
          buffer.append("\n");
       }
@@ -156,4 +206,22 @@ public class PipeOutImpl implements PipeOut
    {
       shell.flush();
    }
+
+   private void pipe(final String s)
+   {
+      byte[] bytes = s.getBytes(UTF_8);
+      pipe(bytes, 0, bytes.length);
+   }
+
+   private void pipe(final byte[] b, final int offset, final int length)
+   {
+      try
+      {
+         stream.write(b, offset, length);
+      }
+      catch (IOException e)
+      {
+         throw new RuntimeException("Could not write to pipe", e);
+      }
+   }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell;
+
+import java.io.ByteArrayOutputStream;
+
+import javax.inject.Inject;
+
+import org.jboss.forge.shell.buffers.StreamScreenBuffer;
+import org.jboss.forge.test.AbstractShellTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EvaluateListenerTest extends AbstractShellTest
+{
+   @Inject
+   private EvaluateListener listener;
+
+   @Inject
+   private Shell shell;
+
+   @Test
+   public void testOutputIsFlushedBeforeExit() throws Exception
+   {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      shell.registerBufferManager(new StreamScreenBuffer(out));
+
+      Assert.assertEquals(0, listener.evaluate("echo evaluated"));
+      Assert.assertTrue(out.toString("UTF-8").contains("evaluated"));
+   }
+
+   @Test
+   public void testFailedCommandExitsWithError() throws Exception
+   {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      shell.registerBufferManager(new StreamScreenBuffer(out));
+      shell.setExceptionHandlingEnabled(true);
+
+      Assert.assertEquals(1, listener.evaluate("qqzzxxyyww"));
+   }
+}
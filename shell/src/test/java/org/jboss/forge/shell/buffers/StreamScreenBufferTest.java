@@ -0,0 +1,82 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.buffers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+
+import org.jboss.forge.shell.console.jline.UnsupportedTerminal;
+import org.jboss.forge.shell.integration.BufferManager;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Compares the batch mode output path with the terminal one, and prints the time each takes.
+ */
+public class StreamScreenBufferTest
+{
+   private static final int COMMANDS = 2000;
+   private static final int LINES_PER_COMMAND = 20;
+
+   @Test
+   public void testOutputIsBufferedUntilFlushed() throws Exception
+   {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      StreamScreenBuffer buffer = new StreamScreenBuffer(out);
+      buffer.write("héllo");
+      buffer.write('\n');
+      Assert.assertEquals(0, out.size());
+
+      buffer.flushBuffer();
+      Assert.assertEquals("héllo\n", out.toString("UTF-8"));
+
+      buffer.directWrite("now");
+      Assert.assertEquals("héllo\nnow", out.toString("UTF-8"));
+   }
+
+   @Test
+   public void testPerCommandOverhead() throws Exception
+   {
+      File terminalLog = File.createTempFile("forge", ".log");
+      File batchLog = File.createTempFile("forge", ".log");
+      terminalLog.deleteOnExit();
+      batchLog.deleteOnExit();
+
+      OutputStream terminalOut = new FileOutputStream(terminalLog);
+      OutputStream batchOut = new FileOutputStream(batchLog);
+      try
+      {
+         long terminal = runCommands(new JLineScreenBuffer(new UnsupportedTerminal(), terminalOut));
+         long batch = runCommands(new StreamScreenBuffer(batchOut));
+         System.out.println("Output of " + COMMANDS + " commands: terminal " + terminal / 1000000 + "ms, batch "
+                  + batch / 1000000 + "ms");
+      }
+      finally
+      {
+         terminalOut.close();
+         batchOut.close();
+      }
+      Assert.assertEquals(terminalLog.length(), batchLog.length());
+   }
+
+   private long runCommands(final BufferManager buffer)
+   {
+      long start = System.nanoTime();
+      for (int i = 0; i < COMMANDS; i++)
+      {
+         for (int j = 0; j < LINES_PER_COMMAND; j++)
+         {
+            buffer.write("line " + j + " of command " + i);
+            buffer.write("\n".getBytes());
+         }
+         buffer.flushBuffer();
+      }
+      return System.nanoTime() - start;
+   }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.command.fshparser;
+
+import java.io.Serializable;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParseTest
+{
+   @Test
+   public void testCompiledExpressionsAreReused() throws Exception
+   {
+      Serializable compiled = Parse.compile("n = n + 1");
+      Assert.assertSame(compiled, Parse.compile("n = n + 1"));
+      Assert.assertNotSame(compiled, Parse.compile("n = n + 2"));
+   }
+
+   @Test
+   public void testLeastRecentlyUsedExpressionsAreEvicted() throws Exception
+   {
+      Serializable first = Parse.compile("m = 0");
+      Serializable second = Parse.compile("m = 1");
+      for (int i = 0; i < 1000; i++)
+      {
+         Parse.compile("m = " + (i + 2));
+         // keeps the first expression the most recently used
+         Assert.assertSame(first, Parse.compile("m = 0"));
+      }
+      Assert.assertNotSame(second, Parse.compile("m = 1"));
+   }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.jobs;
+
+import java.io.OutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JobTest
+{
+   @Test
+   public void testOnlyRecentOutputIsKept() throws Exception
+   {
+      Job job = new Job(1, "chatty");
+      OutputStream out = job.getOutputStream();
+      for (int i = 0; i < 5 * Job.MAX_OUTPUT; i++)
+      {
+         out.write('a' + i % 26);
+      }
+      out.write("last line".getBytes("UTF-8"));
+
+      String output = job.takeOutput();
+      Assert.assertEquals(Job.MAX_OUTPUT, output.length());
+      Assert.assertTrue(output.endsWith("last line"));
+      Assert.assertEquals("", job.takeOutput());
+   }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.resources;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.forge.resources.Resource;
+import org.jboss.forge.resources.UnknownFileResource;
+import org.jboss.forge.resources.events.ResourceCreated;
+import org.jboss.forge.resources.events.ResourceEvent;
+import org.jboss.forge.resources.events.ResourceModified;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ResourceEventGroomerTest
+{
+   private final ResourceEventGroomer groomer = new ResourceEventGroomer();
+
+   @Test
+   public void testLastEventPerResourceWins()
+   {
+      Resource<?> a = resource("a");
+      Resource<?> b = resource("b");
+      Object created = new ResourceCreated(a);
+      Object other = "not a resource event";
+      Object modifiedB = new ResourceModified(b);
+      Object modifiedA = new ResourceModified(resource("a"));
+
+      List<Object> result = groomer.groom(Arrays.asList(created, other, modifiedB, other, modifiedA));
+      Assert.assertEquals(Arrays.asList(other, modifiedB, other, modifiedA), result);
+   }
+
+   @Test
+   public void testGroomsManyEvents()
+   {
+      int files = 1000;
+      List<Object> events = new ArrayList<Object>();
+      for (int i = 0; i < 10000; i++)
+      {
+         events.add(new ResourceModified(resource("file" + (i % files))));
+      }
+
+      List<Object> result = groomer.groom(events);
+      Assert.assertEquals(files, result.size());
+      for (int i = 0; i < files; i++)
+      {
+         Assert.assertSame(events.get(events.size() - files + i), result.get(i));
+         Assert.assertEquals("file" + i, ((ResourceEvent) result.get(i)).getResource().getName());
+      }
+   }
+
+   private Resource<?> resource(final String name)
+   {
+      return new UnknownFileResource(null, new File(new File("target", "groomer"), name).getAbsoluteFile());
+   }
+}
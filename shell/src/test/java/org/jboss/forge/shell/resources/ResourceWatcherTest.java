@@ -0,0 +1,77 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.resources;
+
+import java.io.File;
+
+import javax.inject.Inject;
+
+import org.jboss.forge.project.services.ResourceFactory;
+import org.jboss.forge.resources.DirectoryResource;
+import org.jboss.forge.test.AbstractShellTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ResourceWatcherTest extends AbstractShellTest
+{
+   @Inject
+   private ResourceFactory factory;
+
+   @Test
+   public void testDirectoryCreatedOutsideShellIsSeenAfterOnePoll() throws Exception
+   {
+      File root = createTempFolder().getUnderlyingResourceObject();
+      new File(root, "a").mkdir();
+      DirectoryResource dir = (DirectoryResource) factory.getResourceFrom(root);
+
+      ResourceWatcher.Poller poller = new ResourceWatcher.Poller(factory, root);
+      try
+      {
+         poller.poll();
+         Assert.assertTrue(factory.isWatched(root));
+         DirectoryResource a = (DirectoryResource) factory.getResourceFrom(new File(root, "a"));
+         Assert.assertEquals(1, dir.listResources().size());
+         Assert.assertTrue(a.listResources().isEmpty());
+
+         new File(root, "b").mkdir();
+         new File(root, "a/c").mkdir();
+         Assert.assertEquals(1, dir.listResources().size());
+         Assert.assertTrue(a.listResources().isEmpty());
+
+         poller.poll();
+         Assert.assertEquals(2, dir.listResources().size());
+         Assert.assertEquals(1, a.listResources().size());
+      }
+      finally
+      {
+         poller.running = false;
+         factory.unwatch(root);
+      }
+   }
+
+   @Test
+   public void testBuildOutputIsNotWatched() throws Exception
+   {
+      File root = createTempFolder().getUnderlyingResourceObject();
+      File classes = new File(root, "target/classes");
+      classes.mkdirs();
+
+      ResourceWatcher.Poller poller = new ResourceWatcher.Poller(factory, root);
+      try
+      {
+         poller.poll();
+         Assert.assertTrue(factory.isWatched(root));
+         Assert.assertFalse(factory.isWatched(new File(root, "target")));
+         Assert.assertFalse(factory.isWatched(classes));
+      }
+      finally
+      {
+         poller.running = false;
+         factory.unwatch(root);
+      }
+   }
+}
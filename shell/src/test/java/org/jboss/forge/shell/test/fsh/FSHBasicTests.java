@@ -11,8 +11,10 @@ import javax.inject.Inject;
 import org.jboss.arquillian.junit.Arquillian;
 import org.jboss.forge.shell.command.fshparser.FSHParser;
 import org.jboss.forge.shell.command.fshparser.FSHRuntime;
+import org.jboss.forge.shell.command.fshparser.Node;
 import org.jboss.forge.shell.command.fshparser.Parse;
 import org.jboss.forge.test.AbstractShellTest;
+import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -46,6 +48,19 @@ public class FSHBasicTests extends AbstractShellTest
       runtime.run("@dir = '/'; for (i=0;i<4;i++) { ls -l $dir }");
    }
 
+   @Test
+   public void testParsedLinesAreReused()
+   {
+      Node tree = runtime.parse("echo hello | wc -w");
+      String original = tree.toString();
+      Assert.assertSame(tree, runtime.parse("echo hello | wc -w"));
+
+      runtime.run("echo hello | wc -w");
+      runtime.run("echo hello | wc -w");
+      Assert.assertEquals(original, tree.toString());
+      Assert.assertSame(tree, runtime.parse("echo hello | wc -w"));
+   }
+
    @Test
    public void testSimple2()
    {
@@ -378,6 +378,33 @@ public class CopyPluginTest extends AbstractShellTest
       assertTrue(copySubFolder2.exists());
    }
 
+   @Test
+   public void testCopyAndDeleteLargeFolder() throws Exception
+   {
+      initializeJavaProject();
+      Shell shell = getShell();
+      DirectoryResource testFolder = shell.getCurrentDirectory().getChildDirectory("testFolder");
+      for (int i = 0; i < 300; i++)
+      {
+         ((FileResource<?>) testFolder.getChildDirectory("sub" + (i % 4)).getChild("file" + i)).setContents("" + i);
+      }
+
+      shell.execute("cp testFolder newFolder");
+
+      DirectoryResource copy = shell.getCurrentDirectory().getChildDirectory("newFolder");
+      assertTrue(copy.isDirectory());
+      for (int i = 0; i < 300; i++)
+      {
+         FileResource<?> original = (FileResource<?>) testFolder.getChildDirectory("sub" + (i % 4)).getChild("file" + i);
+         FileResource<?> copied = (FileResource<?>) copy.getChildDirectory("sub" + (i % 4)).getChild("file" + i);
+         assertTrue(compareFiles(original.getUnderlyingResourceObject(), copied.getUnderlyingResourceObject()));
+      }
+
+      shell.execute("rm -rf newFolder");
+      assertTrue(!copy.exists());
+      assertTrue(testFolder.getChildDirectory("sub3").getChild("file299").exists());
+   }
+
    @SuppressWarnings("resource")
    private boolean compareFiles(File f1, File f2)
    {
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.test.plugins.builtin;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.project.Project;
+import org.jboss.forge.shell.jobs.Job;
+import org.jboss.forge.shell.jobs.JobManager;
+import org.jboss.forge.test.AbstractShellTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class JobControlTest extends AbstractShellTest
+{
+   @Inject
+   private JobManager jobs;
+
+   @Test
+   public void testBackgroundOutputIsShownByForeground() throws Exception
+   {
+      getShell().execute("echo background job &");
+      Job job = jobs.getJob("%%");
+      Assert.assertNotNull(job);
+      Assert.assertEquals("echo background job", job.getCommand());
+      Assert.assertTrue(getOutput().contains("[" + job.getId() + "] echo background job"));
+      int started = getOutput().length();
+
+      getShell().execute("fg %" + job.getId());
+      Assert.assertTrue(getOutput().substring(started).contains("background job\n"));
+      Assert.assertEquals(Job.Status.DONE, job.getStatus());
+      Assert.assertNull(jobs.getJob("%" + job.getId()));
+   }
+
+   @Test
+   public void testJobsRunSideBySide() throws Exception
+   {
+      int running = jobs.getJobs().size();
+      getShell().execute("@a = 0; while (a < 2000) { @a++ } &");
+      getShell().execute("@b = 0; while (b < 2000) { @b++ } &");
+      Assert.assertEquals(running + 2, jobs.getJobs().size());
+
+      getShell().execute("jobs");
+      Assert.assertTrue(getOutput().contains("while (a < 2000)"));
+      Assert.assertTrue(getOutput().contains("while (b < 2000)"));
+
+      getShell().execute("wait --jobs");
+      Assert.assertTrue(jobs.getJobs().isEmpty());
+      Assert.assertEquals("2000", String.valueOf(getShell().getEnvironment().getProperty("a")));
+      Assert.assertEquals("2000", String.valueOf(getShell().getEnvironment().getProperty("b")));
+   }
+
+   @Test
+   public void testJobCannotPrompt() throws Exception
+   {
+      Project project = initializeJavaProject();
+      getShell().execute("mkdir prompting");
+      getShell().execute("rm prompting &");
+      Job job = jobs.getJob("%%");
+      Assert.assertTrue(job.await(10000));
+      Assert.assertEquals(Job.Status.FAILED, job.getStatus());
+      Assert.assertTrue(project.getProjectRoot().getChild("prompting").exists());
+      jobs.remove(job);
+   }
+
+   @Test
+   public void testKill() throws Exception
+   {
+      getShell().execute("@k = 0; while (k < 1000000) { @k++ } &");
+      Job job = jobs.getJob("%%");
+      getShell().execute("kill %" + job.getId());
+      Assert.assertEquals(Job.Status.KILLED, job.getStatus());
+      Assert.assertTrue(getOutput().contains("Killed"));
+
+      // still listed until its thread has returned
+      Job listed = jobs.getJob("%" + job.getId());
+      Assert.assertTrue(listed == job || job.isDone());
+      Assert.assertTrue(job.await(60000));
+      jobs.remove(job);
+      Assert.assertNull(jobs.getJob("%" + job.getId()));
+   }
+}
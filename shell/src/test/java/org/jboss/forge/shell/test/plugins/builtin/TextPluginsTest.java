@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.test.plugins.builtin;
+
+import java.io.File;
+
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.resources.DirectoryResource;
+import org.jboss.forge.resources.FileResource;
+import org.jboss.forge.test.AbstractShellTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class TextPluginsTest extends AbstractShellTest
+{
+   private static final String CONTENTS = "first line\r\nsecond line\nthird\n";
+
+   @Test
+   public void testReadsMappedAndHeapBuffers() throws Exception
+   {
+      FileResource<?> file = createFile();
+      Assert.assertFalse(file.getContentsAsByteBuffer().isDirect());
+      Assert.assertTrue(file.getContentsAsByteBuffer(0).isDirect());
+      Assert.assertTrue(file.getContentsAsByteBuffer(0).isReadOnly());
+      Assert.assertEquals(CONTENTS.length(), file.mapContents().remaining());
+   }
+
+   @Test
+   public void testGrep() throws Exception
+   {
+      FileResource<?> file = createFile();
+      getShell().execute("grep line " + file.getFullyQualifiedName());
+      Assert.assertTrue(getOutput().contains("first line"));
+      Assert.assertTrue(getOutput().contains("second line"));
+      Assert.assertFalse(getOutput().contains("third"));
+   }
+
+   @Test
+   public void testWordCount() throws Exception
+   {
+      FileResource<?> file = createFile();
+      getShell().execute("wc -l -w " + file.getFullyQualifiedName());
+      Assert.assertTrue(getOutput(), getOutput().matches("(?s).*\\s3\\s+5\\s+" + file.getName() + "\\s.*"));
+   }
+
+   @Test
+   public void testCat() throws Exception
+   {
+      FileResource<?> file = createFile();
+      getShell().execute("cat " + file.getFullyQualifiedName());
+      Assert.assertTrue(getOutput().contains("second line\nthird\n"));
+   }
+
+   @Test
+   public void testPipeline() throws Exception
+   {
+      StringBuilder contents = new StringBuilder();
+      int matching = 0;
+      for (int i = 0; i < 100000; i++)
+      {
+         String line = "line " + i;
+         contents.append(line).append('\n');
+         if (line.contains("42"))
+         {
+            matching++;
+         }
+      }
+      FileResource<?> file = createFile();
+      file.setContents(contents.toString());
+
+      getShell().execute("cat " + file.getFullyQualifiedName() + " | grep 42 | wc -l");
+      Assert.assertTrue(getOutput(), getOutput().matches("(?s).*\\b" + matching + "\\b.*"));
+   }
+
+   private FileResource<?> createFile()
+   {
+      DirectoryResource dir = getShell().getCurrentDirectory().createTempResource();
+      dir.deleteOnExit();
+      FileResource<?> file = (FileResource<?>) dir.getChild("text.txt");
+      file.setContents(CONTENTS);
+      file.getUnderlyingResourceObject().deleteOnExit();
+      Assert.assertTrue(new File(file.getFullyQualifiedName()).isFile());
+      return file;
+   }
+}
@@ -6,7 +6,12 @@
  */
 package org.jboss.forge.shell.test.resources;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import javax.inject.Inject;
@@ -15,10 +20,14 @@ import javax.inject.Singleton;
 import org.jboss.arquillian.junit.Arquillian;
 import org.jboss.forge.project.services.ResourceFactory;
 import org.jboss.forge.resources.DirectoryResource;
+import org.jboss.forge.resources.FileResource;
 import org.jboss.forge.resources.Resource;
+import org.jboss.forge.resources.ResourceFilter;
+import org.jboss.forge.resources.ResourceTraversal;
 import org.jboss.forge.shell.util.OSUtils;
 import org.jboss.forge.shell.util.PathspecParser;
 import org.jboss.forge.shell.util.ResourceUtil;
+import org.jboss.forge.shell.util.Streams;
 import org.jboss.forge.test.AbstractShellTest;
 import org.junit.Assert;
 import org.junit.Test;
@@ -130,4 +139,185 @@ public class ResourceAPITests extends AbstractShellTest
       }
    }
 
+   @Test
+   public void testFileResourceIdentity()
+   {
+      File file = new File(new File("pom.xml").getAbsoluteFile().getParentFile(), "pom.xml");
+      Resource<File> first = factory.getResourceFrom(file);
+      Resource<File> second = factory.getResourceFrom(new File("pom.xml"));
+
+      Assert.assertSame(first.getParent(), first.getParent());
+      Assert.assertSame(first.getFullyQualifiedName(), first.getFullyQualifiedName());
+      Assert.assertEquals(first.getParent().getFullyQualifiedName() + "/pom.xml", first.getFullyQualifiedName());
+      Assert.assertEquals(first, second);
+      Assert.assertEquals(first.hashCode(), second.hashCode());
+      Assert.assertFalse(first.equals(first.getParent()));
+   }
+
+   @Test
+   public void testDirectoryListingIsSorted()
+   {
+      DirectoryResource dir = new DirectoryResource(factory, new File("")).createTempResource();
+      dir.mkdirs();
+      try
+      {
+         for (String name : new String[] { "b.txt", "c", "a.java", "B.xml" })
+         {
+            ((FileResource<?>) dir.getChild(name)).createNewFile();
+         }
+
+         List<Resource<?>> listing = dir.listResources();
+         Assert.assertEquals(4, listing.size());
+         for (int i = 1; i < listing.size(); i++)
+         {
+            Assert.assertTrue(listing.get(i - 1).getName().compareTo(listing.get(i).getName()) < 0);
+         }
+
+         listing.clear();
+         Assert.assertEquals(4, dir.listResources().size());
+         Assert.assertEquals(1, dir.listResources(new ResourceFilter()
+         {
+            @Override
+            public boolean accept(final Resource<?> resource)
+            {
+               return resource.getName().endsWith(".java");
+            }
+         }).size());
+      }
+      finally
+      {
+         dir.delete(true);
+      }
+   }
+
+   @Test
+   public void testWatchedListingsAreTrusted() throws Exception
+   {
+      DirectoryResource dir = new DirectoryResource(factory, new File("")).createTempResource();
+      dir.mkdirs();
+      dir = (DirectoryResource) factory.getResourceFrom(dir.getUnderlyingResourceObject());
+      factory.watch(dir.getUnderlyingResourceObject());
+      try
+      {
+         Assert.assertTrue(dir.listResources().isEmpty());
+         new File(dir.getUnderlyingResourceObject(), "outside.txt").createNewFile();
+         Assert.assertTrue(dir.listResources().isEmpty());
+
+         factory.directoryChanged(dir.getUnderlyingResourceObject());
+         Assert.assertEquals(1, dir.listResources().size());
+
+         ((FileResource<?>) dir.getChildDirectory("a").getChild("b.txt")).createNewFile();
+         Assert.assertEquals(2, dir.listResources().size());
+      }
+      finally
+      {
+         factory.unwatch(dir.getUnderlyingResourceObject());
+         dir.delete(true);
+      }
+   }
+
+   @Test
+   public void testSetContentsSkipsUnchangedFiles() throws Exception
+   {
+      DirectoryResource dir = new DirectoryResource(factory, new File("")).createTempResource();
+      dir.mkdirs();
+      try
+      {
+         FileResource<?> file = (FileResource<?>) dir.getChildDirectory("a").getChild("file.txt");
+         file.setContents("caf\u00e9");
+         Assert.assertEquals("caf\u00e9", Streams.toString(file.getResourceInputStream()));
+         Assert.assertEquals(5L, file.getUnderlyingResourceObject().length());
+
+         File underlying = file.getUnderlyingResourceObject();
+         Assert.assertTrue(underlying.setLastModified(1000000L));
+         file.setContents("caf\u00e9");
+         file.setContents(new ByteArrayInputStream("caf\u00e9".getBytes("UTF-8")));
+         Assert.assertEquals(1000000L, underlying.lastModified());
+
+         file.setContents("caf\u00e9", Charset.forName("ISO-8859-1"));
+         Assert.assertEquals(4L, file.getUnderlyingResourceObject().length());
+         Assert.assertTrue(underlying.lastModified() != 1000000L);
+
+         file.setContents(new ByteArrayInputStream(new byte[0]));
+         Assert.assertEquals(0L, file.getUnderlyingResourceObject().length());
+         Assert.assertEquals(1, dir.getChildDirectory("a").listResources().size());
+      }
+      finally
+      {
+         dir.delete(true);
+      }
+   }
+
+   @Test
+   public void testTraversal() throws Exception
+   {
+      DirectoryResource dir = new DirectoryResource(factory, new File("")).createTempResource();
+      try
+      {
+         ((FileResource<?>) dir.getChildDirectory("b").getChildDirectory("c").getChild("d.txt")).createNewFile();
+         ((FileResource<?>) dir.getChildDirectory("b").getChild("e.txt")).createNewFile();
+         ((FileResource<?>) dir.getChild("a.txt")).createNewFile();
+
+         List<String> names = new ArrayList<String>();
+         for (Resource<?> resource : ResourceTraversal.from(dir))
+         {
+            names.add(resource.getName());
+         }
+         Assert.assertEquals(Arrays.asList("a.txt", "b", "c", "d.txt", "e.txt"), names);
+
+         names.clear();
+         for (Resource<?> resource : ResourceTraversal.from(dir).setMaxDepth(2).setSorted(false)
+                  .setFilter(new ResourceFilter()
+                  {
+                     @Override
+                     public boolean accept(final Resource<?> resource)
+                     {
+                        return resource.getName().endsWith(".txt");
+                     }
+                  }))
+         {
+            names.add(resource.getName());
+         }
+         Collections.sort(names);
+         Assert.assertEquals(Arrays.asList("a.txt", "e.txt"), names);
+
+         Assert.assertFalse(ResourceTraversal.from(dir).setMaxDepth(0).iterator().hasNext());
+      }
+      finally
+      {
+         dir.delete(true);
+      }
+   }
+
+   @Test
+   public void testResourcesAreReused()
+   {
+      DirectoryResource temp = new DirectoryResource(factory, new File("")).createTempResource();
+      temp.mkdirs();
+      try
+      {
+         Assert.assertSame(factory.getResourceFrom(temp.getUnderlyingResourceObject()),
+                  factory.getResourceFrom(temp.getUnderlyingResourceObject()));
+
+         DirectoryResource dir = (DirectoryResource) factory.getResourceFrom(temp.getUnderlyingResourceObject());
+         Assert.assertTrue(dir.listResources().isEmpty());
+
+         FileResource<?> child = (FileResource<?>) dir.getChild("child");
+         Assert.assertSame(child, dir.getChild("child"));
+         Assert.assertSame(dir, child.getParent());
+         child.createNewFile();
+         Assert.assertEquals(1, dir.listResources().size());
+
+         child.delete();
+         Assert.assertTrue(dir.listResources().isEmpty());
+         dir.getChildDirectory("child").mkdir();
+         Assert.assertTrue(dir.getChild("child") instanceof DirectoryResource);
+         Assert.assertEquals(1, dir.listResources().size());
+      }
+      finally
+      {
+         temp.delete(true);
+      }
+   }
+
 }
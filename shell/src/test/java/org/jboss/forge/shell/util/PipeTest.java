@@ -0,0 +1,82 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.util;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PipeTest
+{
+   @Test
+   public void testWriterIsHeldBackByReader() throws Exception
+   {
+      final Pipe pipe = new Pipe(16);
+      final AtomicInteger written = new AtomicInteger();
+      Thread writer = new Thread()
+      {
+         @Override
+         public void run()
+         {
+            try
+            {
+               OutputStream out = pipe.getOutputStream();
+               for (int i = 0; i < 1000; i++)
+               {
+                  out.write(i);
+                  written.set(i + 1);
+               }
+               out.close();
+            }
+            catch (Exception e)
+            {
+               throw new RuntimeException(e);
+            }
+         }
+      };
+      writer.start();
+
+      InputStream in = pipe.getInputStream();
+      long deadline = System.currentTimeMillis() + 10000;
+      while ((in.available() < 16) || (writer.getState() != Thread.State.WAITING))
+      {
+         Assert.assertTrue("writer did not fill the pipe in time", System.currentTimeMillis() < deadline);
+         Thread.sleep(5);
+      }
+      Assert.assertTrue(writer.isAlive());
+      Assert.assertEquals(16, written.get());
+      Assert.assertEquals(16, in.available());
+
+      byte[] buffer = new byte[10];
+      int total = 0;
+      int read;
+      while ((read = in.read(buffer)) != -1)
+      {
+         for (int i = 0; i < read; i++)
+         {
+            Assert.assertEquals((byte) (total + i), buffer[i]);
+         }
+         total += read;
+      }
+      Assert.assertEquals(1000, total);
+      writer.join(10000);
+      Assert.assertFalse(writer.isAlive());
+   }
+
+   @Test
+   public void testClosedReaderDiscardsWrites() throws Exception
+   {
+      Pipe pipe = new Pipe(16);
+      pipe.getInputStream().close();
+      pipe.getOutputStream().write(new byte[100]);
+      pipe.getOutputStream().close();
+      Assert.assertEquals(0, pipe.getInputStream().available());
+   }
+}